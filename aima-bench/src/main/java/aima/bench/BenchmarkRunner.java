@@ -0,0 +1,32 @@
+package aima.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled, which reports allocation
+ * rates (bytes per operation) and collection counts for each benchmark. The
+ * optional argument is a regular expression which selects the benchmarks to be
+ * run, e.g. <code>EightPuzzleBenchmark.aStarGraphSearch$</code>. Results are
+ * written to <code>jmh-result.json</code>, so they can be compared between
+ * versions.
+ * <p>
+ * The same can be achieved with
+ * <code>java -jar target/benchmarks.jar -prof gc -rf json [regexp]</code>.
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(args.length > 0 ? args[0] : "aima\\.bench\\..*")
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result("jmh-result.json")
+				.build();
+		new Runner(options).run();
+	}
+}
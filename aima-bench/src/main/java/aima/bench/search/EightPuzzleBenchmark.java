@@ -0,0 +1,109 @@
+package aima.bench.search;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.BidirectionalEightPuzzleProblem;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.EightPuzzleFunctions;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.GraphSearch4e;
+import aima.core.search.framework.qsearch.GraphSearchReducedFrontier;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.CompactAStarSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Solves all eight puzzle instances of one difficulty level with informed
+ * graph search strategies. Each benchmark operation solves the complete
+ * instance set, so scores of different difficulty levels are not directly
+ * comparable. Only the weighted Manhattan heuristics are used here, as the
+ * other heuristics underestimate the <code>2^tile</code> step costs too much
+ * for the hard instances (see {@link WeakHeuristicEightPuzzleBenchmark} and
+ * {@link RecursiveBestFirstEightPuzzleBenchmark}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EightPuzzleBenchmark {
+
+	/** The heuristic functions provided by {@link EightPuzzleFunctions}. */
+	public enum Heuristic {
+		MANHATTAN(EightPuzzleFunctions::getManhattanDistance),
+		WEIGHTED_MANHATTAN(EightPuzzleFunctions::getWeightedManhattanDistance),
+		EPSILON_WEIGHTED_MANHATTAN(EightPuzzleFunctions::getEpsilonWeightedManhattanDistance),
+		MISPLACED_TILES(EightPuzzleFunctions::getNumberOfMisplacedTiles),
+		WEIGHTED_MISPLACED_TILES(EightPuzzleFunctions::getWeightedNumberOfMisplacedTiles),
+		WEIGHTED_NON_CONSISTENT(EightPuzzleFunctions::getWeightedNonConsistent);
+
+		final ToDoubleFunction<Node<EightPuzzleBoard, Action>> function;
+
+		Heuristic(ToDoubleFunction<Node<EightPuzzleBoard, Action>> function) {
+			this.function = function;
+		}
+	}
+
+	@Param({"5", "10", "15", "20", "25", "30"})
+	public int moves;
+
+	@Param({"WEIGHTED_MANHATTAN", "EPSILON_WEIGHTED_MANHATTAN"})
+	public Heuristic heuristic;
+
+	private List<Problem<EightPuzzleBoard, Action>> problems;
+
+	@Setup
+	public void setup() {
+		problems = new ArrayList<>();
+		for (EightPuzzleBoard board : EightPuzzleInstances.getBoards(moves))
+			problems.add(new BidirectionalEightPuzzleProblem(board));
+	}
+
+	@Benchmark
+	public void aStarGraphSearch(Blackhole bh) {
+		solveAll(() -> new AStarSearch<>(new GraphSearch<>(), heuristic.function), bh);
+	}
+
+	@Benchmark
+	public void aStarGraphSearch4e(Blackhole bh) {
+		solveAll(() -> new AStarSearch<>(new GraphSearch4e<>(), heuristic.function), bh);
+	}
+
+	@Benchmark
+	public void aStarGraphSearchReducedFrontier(Blackhole bh) {
+		solveAll(() -> new AStarSearch<>(new GraphSearchReducedFrontier<>(), heuristic.function), bh);
+	}
+
+	@Benchmark
+	public void compactAStarSearch(Blackhole bh) {
+		solveAll(() -> new CompactAStarSearch<>(heuristic.function), bh);
+	}
+
+	private void solveAll(Supplier<SearchForActions<EightPuzzleBoard, Action>> searchFactory, Blackhole bh) {
+		for (Problem<EightPuzzleBoard, Action> problem : problems) {
+			SearchForActions<EightPuzzleBoard, Action> search = searchFactory.get();
+			bh.consume(search.findActions(problem));
+			bh.consume(search.getMetrics());
+		}
+	}
+}
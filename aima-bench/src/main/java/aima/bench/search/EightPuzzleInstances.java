@@ -0,0 +1,105 @@
+package aima.bench.search;
+
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Eight puzzle start boards grouped by the length of their optimal solutions
+ * (goal {1, 2, 3, 8, 0, 4, 7, 6, 5}). The boards are the ones listed in
+ * <code>aima.gui.demo.search.EightPuzzleDemo</code>.
+ */
+public final class EightPuzzleInstances {
+
+	private static final int[][] MOVES_5 = {
+			{1, 0, 3, 8, 2, 5, 7, 4, 6},
+			{1, 4, 2, 0, 8, 3, 7, 6, 5},
+			{1, 3, 4, 8, 6, 2, 7, 0, 5},
+			{1, 2, 3, 7, 8, 0, 6, 5, 4},
+			{1, 4, 2, 8, 3, 0, 7, 6, 5},
+			{1, 2, 3, 0, 8, 6, 7, 5, 4},
+			{1, 2, 3, 0, 4, 5, 8, 7, 6},
+			{1, 0, 2, 8, 6, 3, 7, 5, 4},
+			{2, 8, 3, 1, 6, 4, 7, 0, 5}
+	};
+
+	private static final int[][] MOVES_10 = {
+			{8, 2, 1, 7, 0, 3, 6, 5, 4},
+			{1, 4, 0, 8, 5, 2, 7, 3, 6},
+			{8, 1, 3, 7, 0, 5, 4, 2, 6},
+			{8, 1, 2, 4, 0, 6, 7, 5, 3},
+			{0, 1, 3, 7, 2, 5, 4, 8, 6},
+			{1, 4, 0, 7, 8, 2, 6, 5, 3},
+			{3, 8, 4, 1, 6, 2, 0, 7, 5},
+			{1, 3, 4, 6, 7, 2, 0, 8, 5},
+			{3, 2, 4, 1, 0, 5, 8, 7, 6},
+			{8, 1, 0, 2, 5, 3, 7, 4, 6}
+	};
+
+	private static final int[][] MOVES_15 = {
+			{4, 8, 2, 6, 3, 5, 1, 0, 7},
+			{1, 4, 5, 2, 7, 0, 8, 6, 3},
+			{1, 3, 8, 6, 7, 4, 2, 0, 5},
+			{2, 0, 8, 7, 5, 3, 4, 1, 6},
+			{7, 1, 3, 4, 5, 0, 8, 2, 6},
+			{1, 3, 6, 7, 2, 0, 4, 5, 8},
+			{7, 0, 3, 5, 1, 8, 2, 6, 4},
+			{6, 3, 5, 2, 1, 0, 8, 4, 7},
+			{6, 0, 3, 8, 1, 5, 4, 2, 7},
+			{7, 8, 3, 1, 5, 0, 4, 2, 6}
+	};
+
+	private static final int[][] MOVES_20 = {
+			{6, 2, 7, 4, 5, 1, 0, 8, 3},
+			{4, 7, 2, 1, 0, 6, 3, 5, 8},
+			{7, 1, 5, 4, 0, 8, 2, 6, 3},
+			{5, 1, 6, 4, 0, 3, 8, 7, 2},
+			{7, 1, 4, 5, 0, 6, 3, 2, 8},
+			{2, 4, 0, 6, 3, 1, 7, 8, 5},
+			{3, 5, 6, 2, 4, 7, 0, 1, 8},
+			{1, 4, 7, 6, 8, 5, 0, 3, 2},
+			{6, 4, 0, 2, 8, 1, 7, 3, 5},
+			{4, 1, 3, 7, 2, 8, 5, 6, 0}
+	};
+
+	private static final int[][] MOVES_25 = {
+			{6, 7, 4, 0, 5, 1, 3, 2, 8},
+			{6, 0, 7, 5, 4, 1, 3, 8, 2},
+			{3, 4, 8, 5, 7, 1, 6, 0, 2},
+			{4, 5, 3, 7, 6, 2, 8, 0, 1},
+			{2, 7, 8, 5, 4, 0, 3, 1, 6}
+	};
+
+	private static final int[][] MOVES_30 = {
+			{5, 6, 7, 2, 8, 4, 0, 3, 1},
+			{5, 6, 7, 4, 0, 8, 3, 2, 1},
+			{5, 4, 7, 6, 0, 3, 8, 2, 1},
+			{3, 8, 7, 4, 0, 6, 5, 2, 1},
+			{5, 6, 3, 4, 0, 2, 7, 8, 1}
+	};
+
+	private EightPuzzleInstances() {
+	}
+
+	/**
+	 * Returns new boards whose optimal solutions have the specified number of
+	 * moves (5, 10, 15, 20, 25 or 30).
+	 */
+	public static List<EightPuzzleBoard> getBoards(int moves) {
+		int[][] boards;
+		switch (moves) {
+			case 5: boards = MOVES_5; break;
+			case 10: boards = MOVES_10; break;
+			case 15: boards = MOVES_15; break;
+			case 20: boards = MOVES_20; break;
+			case 25: boards = MOVES_25; break;
+			case 30: boards = MOVES_30; break;
+			default: throw new IllegalArgumentException("No instances with " + moves + " moves.");
+		}
+		List<EightPuzzleBoard> result = new ArrayList<>();
+		for (int[] board : boards)
+			result.add(new EightPuzzleBoard(board.clone()));
+		return result;
+	}
+}
@@ -0,0 +1,97 @@
+package aima.bench.search;
+
+import aima.core.environment.nqueens.NQueensBoard;
+import aima.core.environment.nqueens.NQueensFunctions;
+import aima.core.environment.nqueens.QueenAction;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.GreedyBestFirstSearch;
+import aima.core.util.datastructure.XYLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Benchmarks the heuristic functions of {@link NQueensFunctions}. The search
+ * benchmarks use the incremental formulation, the evaluation benchmark
+ * evaluates the heuristic for a fixed set of random complete-state boards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NQueensBenchmark {
+
+	private static final int EVALUATED_BOARDS = 100;
+
+	/** The heuristic functions provided by {@link NQueensFunctions}. */
+	public enum Heuristic {
+		PROBABILISTIC_ESTIMATION(NQueensFunctions::getHeuristicProbabilisticEstimationOfSolution),
+		ATTACKING_PAIRS(NQueensFunctions::getNumberOfAttackingPairs),
+		ATTACKED_QUEENS(NQueensFunctions::getNumberOfAttackedQueens),
+		MAX_ALIGNED_MINUS_ONE(NQueensFunctions::getMaximumNumberOfQueensAlignedMinusOne);
+
+		final ToDoubleFunction<Node<NQueensBoard, QueenAction>> function;
+
+		Heuristic(ToDoubleFunction<Node<NQueensBoard, QueenAction>> function) {
+			this.function = function;
+		}
+	}
+
+	@Param({"6", "8"})
+	public int boardSize;
+
+	@Param
+	public Heuristic heuristic;
+
+	private Problem<NQueensBoard, QueenAction> problem;
+	private List<Node<NQueensBoard, QueenAction>> nodes;
+
+	@Setup
+	public void setup() {
+		problem = NQueensFunctions.createIncrementalFormulationProblem(boardSize);
+		Random random = new Random(42);
+		nodes = new ArrayList<>();
+		for (int i = 0; i < EVALUATED_BOARDS; i++) {
+			NQueensBoard board = new NQueensBoard(boardSize);
+			for (int col = 0; col < boardSize; col++)
+				board.addQueenAt(new XYLocation(col, random.nextInt(boardSize)));
+			nodes.add(new Node<>(board));
+		}
+	}
+
+	@Benchmark
+	public Object aStarGraphSearch() {
+		return new AStarSearch<>(new GraphSearch<>(), heuristic.function).findActions(problem);
+	}
+
+	@Benchmark
+	public Object greedyBestFirstGraphSearch() {
+		return new GreedyBestFirstSearch<>(new GraphSearch<>(), heuristic.function).findActions(problem);
+	}
+
+	@Benchmark
+	public void evaluation(Blackhole bh) {
+		for (Node<NQueensBoard, QueenAction> node : nodes)
+			bh.consume(heuristic.function.applyAsDouble(node));
+	}
+}
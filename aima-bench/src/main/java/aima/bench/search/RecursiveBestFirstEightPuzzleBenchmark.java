@@ -0,0 +1,70 @@
+package aima.bench.search;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.BidirectionalEightPuzzleProblem;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.RecursiveBestFirstSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Solves the easy eight puzzle instances with recursive best-first search.
+ * As the search regenerates forgotten subtrees, it is restricted to the
+ * heuristics which take the <code>2^tile</code> step costs into account. With
+ * the other heuristics, already the instances of 5 moves take more than ten
+ * seconds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecursiveBestFirstEightPuzzleBenchmark {
+
+	@Param({"5", "10"})
+	public int moves;
+
+	@Param({"WEIGHTED_MANHATTAN", "EPSILON_WEIGHTED_MANHATTAN", "WEIGHTED_MISPLACED_TILES"})
+	public EightPuzzleBenchmark.Heuristic heuristic;
+
+	private List<Problem<EightPuzzleBoard, Action>> problems;
+
+	@Setup
+	public void setup() {
+		problems = new ArrayList<>();
+		for (EightPuzzleBoard board : EightPuzzleInstances.getBoards(moves))
+			problems.add(new BidirectionalEightPuzzleProblem(board));
+	}
+
+	@Benchmark
+	public void recursiveBestFirstSearch(Blackhole bh) {
+		solveAll(() -> new RecursiveBestFirstSearch<>(AStarSearch.createEvalFn(heuristic.function), true), bh);
+	}
+
+	private void solveAll(Supplier<SearchForActions<EightPuzzleBoard, Action>> searchFactory, Blackhole bh) {
+		for (Problem<EightPuzzleBoard, Action> problem : problems) {
+			SearchForActions<EightPuzzleBoard, Action> search = searchFactory.get();
+			bh.consume(search.findActions(problem));
+			bh.consume(search.getMetrics());
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package aima.bench.search;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.BidirectionalEightPuzzleProblem;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.BidirectionalSearch;
+import aima.core.search.framework.qsearch.GraphSearchBFS;
+import aima.core.search.uninformed.BreadthFirstSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Solves all eight puzzle instances of one difficulty level with breadth-first
+ * search, using the graph search variant for breadth-first search and
+ * bidirectional search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UninformedEightPuzzleBenchmark {
+
+	@Param({"5", "10", "15", "20", "25", "30"})
+	public int moves;
+
+	private List<Problem<EightPuzzleBoard, Action>> problems;
+
+	@Setup
+	public void setup() {
+		problems = new ArrayList<>();
+		for (EightPuzzleBoard board : EightPuzzleInstances.getBoards(moves))
+			problems.add(new BidirectionalEightPuzzleProblem(board));
+	}
+
+	@Benchmark
+	public void breadthFirstGraphSearchBFS(Blackhole bh) {
+		solveAll(() -> new BreadthFirstSearch<>(new GraphSearchBFS<>()), bh);
+	}
+
+	@Benchmark
+	public void bidirectionalSearch(Blackhole bh) {
+		solveAll(() -> new BreadthFirstSearch<>(new BidirectionalSearch<>()), bh);
+	}
+
+	private void solveAll(Supplier<SearchForActions<EightPuzzleBoard, Action>> searchFactory, Blackhole bh) {
+		for (Problem<EightPuzzleBoard, Action> problem : problems) {
+			SearchForActions<EightPuzzleBoard, Action> search = searchFactory.get();
+			bh.consume(search.findActions(problem));
+			bh.consume(search.getMetrics());
+		}
+	}
+}
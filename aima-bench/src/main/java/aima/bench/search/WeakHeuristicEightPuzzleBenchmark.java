@@ -0,0 +1,88 @@
+package aima.bench.search;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.BidirectionalEightPuzzleProblem;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.GraphSearch4e;
+import aima.core.search.framework.qsearch.GraphSearchReducedFrontier;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.CompactAStarSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Solves the easy eight puzzle instances with informed graph search strategies
+ * and the heuristics of {@link EightPuzzleBenchmark.Heuristic}, which do not
+ * take the <code>2^tile</code> step costs into account or are not consistent.
+ * With these heuristics, solving the instances of 15 and more moves takes
+ * seconds per search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeakHeuristicEightPuzzleBenchmark {
+
+	@Param({"5", "10"})
+	public int moves;
+
+	@Param({"MANHATTAN", "MISPLACED_TILES", "WEIGHTED_MISPLACED_TILES", "WEIGHTED_NON_CONSISTENT"})
+	public EightPuzzleBenchmark.Heuristic heuristic;
+
+	private List<Problem<EightPuzzleBoard, Action>> problems;
+
+	@Setup
+	public void setup() {
+		problems = new ArrayList<>();
+		for (EightPuzzleBoard board : EightPuzzleInstances.getBoards(moves))
+			problems.add(new BidirectionalEightPuzzleProblem(board));
+	}
+
+	@Benchmark
+	public void aStarGraphSearch(Blackhole bh) {
+		solveAll(() -> new AStarSearch<>(new GraphSearch<>(), heuristic.function), bh);
+	}
+
+	@Benchmark
+	public void aStarGraphSearch4e(Blackhole bh) {
+		solveAll(() -> new AStarSearch<>(new GraphSearch4e<>(), heuristic.function), bh);
+	}
+
+	@Benchmark
+	public void aStarGraphSearchReducedFrontier(Blackhole bh) {
+		solveAll(() -> new AStarSearch<>(new GraphSearchReducedFrontier<>(), heuristic.function), bh);
+	}
+
+	@Benchmark
+	public void compactAStarSearch(Blackhole bh) {
+		solveAll(() -> new CompactAStarSearch<>(heuristic.function), bh);
+	}
+
+	private void solveAll(Supplier<SearchForActions<EightPuzzleBoard, Action>> searchFactory, Blackhole bh) {
+		for (Problem<EightPuzzleBoard, Action> problem : problems) {
+			SearchForActions<EightPuzzleBoard, Action> search = searchFactory.get();
+			bh.consume(search.findActions(problem));
+			bh.consume(search.getMetrics());
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package aima.core.environment.eightpuzzle;
+
+import aima.core.agent.Action;
+import aima.core.search.framework.Node;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Combines pattern databases of disjoint tile sets to an admissible heuristic
+ * for sliding-tile puzzles. The heuristic value of a state is the sum of the
+ * values stored in the pattern databases. It dominates the Manhattan distance
+ * and is O(1) and allocation-free to evaluate.
+ * <p>
+ * Note that the databases count moves. For problems with other step costs,
+ * the heuristic is admissible as long as each move costs at least one.
+ */
+public class AdditivePatternDatabase {
+
+	/** Default partition of the eight puzzle tiles. */
+	public static final int[][] PARTITION_3x3 = { { 1, 2, 3, 4 }, { 5, 6, 7, 8 } };
+
+	/** Default 5-5-5 partition of the fifteen puzzle tiles. */
+	public static final int[][] PARTITION_4x4 = { { 1, 2, 3, 4, 7 }, { 5, 6, 9, 10, 13 }, { 8, 11, 12, 14, 15 } };
+
+	private final PatternDatabase[] databases;
+
+	public AdditivePatternDatabase(PatternDatabase... databases) {
+		this.databases = databases.clone();
+	}
+
+	/**
+	 * Loads the pattern databases for the specified goal and partition from
+	 * the given directory. Missing databases are computed and saved first.
+	 */
+	public static AdditivePatternDatabase loadOrBuild(Path directory, PackedPuzzleBoard goal, int[][] partition)
+			throws IOException {
+		Files.createDirectories(directory);
+		PatternDatabase[] databases = new PatternDatabase[partition.length];
+		for (int i = 0; i < partition.length; i++) {
+			Path file = directory.resolve(getFileName(goal, partition[i]));
+			if (!Files.exists(file))
+				PatternDatabase.build(goal, partition[i]).save(file);
+			databases[i] = PatternDatabase.load(file);
+			if (databases[i].getGoalTiles() != goal.getTiles())
+				throw new IOException("Pattern database " + file + " was built for another goal.");
+		}
+		return new AdditivePatternDatabase(databases);
+	}
+
+	/**
+	 * Loads (or builds) the databases for {@link EightPuzzleFunctions#GOAL_STATE}
+	 * using {@link #PARTITION_3x3}.
+	 */
+	public static AdditivePatternDatabase loadOrBuildForEightPuzzle(Path directory) throws IOException {
+		return loadOrBuild(directory, PackedPuzzleFunctions.GOAL_STATE_3x3, PARTITION_3x3);
+	}
+
+	/** Returns the sum of the pattern database values for the given state. */
+	public int getValue(PackedPuzzleBoard state) {
+		return getValueOfPositions(PatternDatabase.toPositions(state));
+	}
+
+	/** Returns the sum of the pattern database values for the given state. */
+	public int getValue(EightPuzzleBoard state) {
+		return getValueOfPositions(PatternDatabase.toPositions(state.getState()));
+	}
+
+	/** Returns a heuristic function for nodes with packed states. */
+	public ToDoubleFunction<Node<PackedPuzzleBoard, Action>> getPackedHeuristicFunction() {
+		return node -> getValue(node.getState());
+	}
+
+	/** Returns a heuristic function for nodes with eight puzzle boards. */
+	public ToDoubleFunction<Node<EightPuzzleBoard, Action>> getHeuristicFunction() {
+		return node -> getValue(node.getState());
+	}
+
+	private int getValueOfPositions(long positions) {
+		int result = 0;
+		for (PatternDatabase db : databases)
+			result += db.getValue(positions);
+		return result;
+	}
+
+	private static String getFileName(PackedPuzzleBoard goal, int[] tiles) {
+		return "pdb-" + goal.getDimension() + "x" + goal.getDimension() + "-" + Long.toHexString(goal.getTiles())
+				+ "-" + Arrays.stream(tiles).mapToObj(String::valueOf).collect(Collectors.joining("_")) + ".bin";
+	}
+}
@@ -19,10 +19,18 @@ public class BidirectionalEightPuzzleProblem extends GeneralProblem<EightPuzzleB
 	public BidirectionalEightPuzzleProblem(EightPuzzleBoard initialState) {
 		super(initialState, EightPuzzleFunctions::getActions, EightPuzzleFunctions::getResult,
 				Predicate.isEqual(EightPuzzleFunctions.GOAL_STATE), EightPuzzleFunctions::stepCostFunction);
+		setIntegerStepCosts(true);
+		setStateFingerprinter(InPlaceEightPuzzleProblem::getFingerprint);
+		setStateIndexer(EightPuzzleFunctions.createStateIndexer(initialState));
 
-		reverseProblem = new GeneralProblem<>(EightPuzzleFunctions.GOAL_STATE,
+		// moving a tile back costs as much as moving it forth
+		GeneralProblem<EightPuzzleBoard, Action> reverseProblem = new GeneralProblem<>(EightPuzzleFunctions.GOAL_STATE,
 				EightPuzzleFunctions::getActions, EightPuzzleFunctions::getResult,
-				Predicate.isEqual(initialState));
+				Predicate.isEqual(initialState), EightPuzzleFunctions::stepCostFunction);
+		reverseProblem.setIntegerStepCosts(true);
+		reverseProblem.setStateFingerprinter(InPlaceEightPuzzleProblem::getFingerprint);
+		reverseProblem.setStateIndexer(EightPuzzleFunctions.createStateIndexer(EightPuzzleFunctions.GOAL_STATE));
+		this.reverseProblem = reverseProblem;
 	}
 
 	public Problem<EightPuzzleBoard, Action> getOriginalProblem() {
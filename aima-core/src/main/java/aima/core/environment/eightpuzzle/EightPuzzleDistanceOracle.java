@@ -0,0 +1,202 @@
+package aima.core.environment.eightpuzzle;
+
+import aima.core.agent.Action;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.StateIndexer;
+import aima.core.search.uninformed.DenseGraphSearch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Table of the exact number of moves from each of the 181440 solvable boards
+ * to {@link EightPuzzleFunctions#GOAL_STATE}. The table is computed once by a
+ * backward breadth-first search from the goal state (see
+ * {@link DenseGraphSearch#exploreStateSpace(aima.core.search.framework.problem.Problem)}),
+ * as moves can be reversed. It is indexed by the permutation rank of the board
+ * (see {@link EightPuzzleFunctions#createStateIndexer(EightPuzzleBoard)}) and
+ * stores one byte per board. Tables can be saved as files and memory-mapped on
+ * load, either immediately or on the first query (see {@link #lazy(Path)}).
+ * <p>
+ * Queries for the optimal solution length are O(1). Based on them, the oracle
+ * provides a heuristic and move sequences of minimal length for each board.
+ * All this refers to unit step costs, i.e. the number of moves. For problems
+ * with other step costs like {@link EightPuzzleFunctions#stepCostFunction}
+ * (see {@link BidirectionalEightPuzzleProblem}), the heuristic is still
+ * consistent if every move costs at least 1, but not exact, and the move
+ * sequences are not necessarily cost-optimal. Unsolvable boards are rejected
+ * with an {@link IllegalArgumentException} (see
+ * {@link EightPuzzleFunctions#isSolvable(EightPuzzleBoard)}).
+ */
+public class EightPuzzleDistanceOracle {
+
+	private static final int MAGIC = 0x45384F52; // "E8OR"
+	private static final int HEADER_SIZE = 8;
+
+	private static final StateIndexer<EightPuzzleBoard> INDEXER = EightPuzzleFunctions
+			.createStateIndexer(EightPuzzleFunctions.GOAL_STATE);
+
+	private final Path file;
+	private volatile ByteBuffer table;
+
+	private EightPuzzleDistanceOracle(Path file, ByteBuffer table) {
+		this.file = file;
+		this.table = table;
+	}
+
+	/** Computes the distance table by backward breadth-first search from the goal state. */
+	public static EightPuzzleDistanceOracle build() {
+		GeneralProblem<EightPuzzleBoard, Action> problem = new GeneralProblem<>(EightPuzzleFunctions.GOAL_STATE,
+				EightPuzzleFunctions::getActions, EightPuzzleFunctions::getResult, state -> false);
+		problem.setStateIndexer(INDEXER);
+		DenseGraphSearch<EightPuzzleBoard, Action> search = new DenseGraphSearch<>(
+				DenseGraphSearch.Strategy.BREADTH_FIRST);
+		search.exploreStateSpace(problem);
+		byte[] result = new byte[INDEXER.getIndexCount()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = (byte) search.getPathCost(INDEXER.getState(i));
+		return new EightPuzzleDistanceOracle(null, ByteBuffer.wrap(result));
+	}
+
+	/**
+	 * Writes the table to the specified file. The file is written to a
+	 * temporary sibling first and then moved into place.
+	 */
+	public void save(Path file) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+		header.putInt(MAGIC).putInt(INDEXER.getIndexCount());
+		header.flip();
+		ByteBuffer data = getTable().duplicate();
+		data.clear();
+
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (header.hasRemaining())
+				channel.write(header);
+			while (data.hasRemaining())
+				channel.write(data);
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/** Memory-maps a table which was written by {@link #save(Path)}. */
+	public static EightPuzzleDistanceOracle load(Path file) throws IOException {
+		return new EightPuzzleDistanceOracle(file, map(file));
+	}
+
+	/** Loads the table from the specified file, which is built and saved first if it does not exist. */
+	public static EightPuzzleDistanceOracle loadOrBuild(Path file) throws IOException {
+		if (!Files.exists(file))
+			build().save(file);
+		return load(file);
+	}
+
+	/**
+	 * Returns an oracle, which loads (or builds) the table from the specified
+	 * file when it is queried for the first time. I/O errors are reported by
+	 * {@link UncheckedIOException}.
+	 */
+	public static EightPuzzleDistanceOracle lazy(Path file) {
+		return new EightPuzzleDistanceOracle(file, null);
+	}
+
+	/**
+	 * Returns the minimal number of moves which is needed to reach the goal
+	 * state.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the board is not solvable.
+	 */
+	public int getDistance(EightPuzzleBoard board) {
+		return getTable().get(INDEXER.getIndex(board)) & 0xFF;
+	}
+
+	/**
+	 * Returns a heuristic function, which computes the number of moves to the
+	 * goal state. It is exact for unit step costs and consistent for step
+	 * costs of at least 1.
+	 */
+	public ToDoubleFunction<Node<EightPuzzleBoard, Action>> getHeuristicFunction() {
+		return node -> getDistance(node.getState());
+	}
+
+	/**
+	 * Returns the first move of a solution with a minimal number of moves, or
+	 * empty if the board is the goal state.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the board is not solvable.
+	 */
+	public Optional<Action> getOptimalAction(EightPuzzleBoard board) {
+		int distance = getDistance(board);
+		if (distance > 0) {
+			for (Action action : EightPuzzleFunctions.getActions(board))
+				if (getDistance(EightPuzzleFunctions.getResult(board, action)) == distance - 1)
+					return Optional.of(action);
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns the moves of a solution with a minimal number of moves.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the board is not solvable.
+	 */
+	public List<Action> getOptimalActions(EightPuzzleBoard board) {
+		List<Action> result = new ArrayList<>();
+		Optional<Action> action;
+		while ((action = getOptimalAction(board)).isPresent()) {
+			result.add(action.get());
+			board = EightPuzzleFunctions.getResult(board, action.get());
+		}
+		return result;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private ByteBuffer getTable() {
+		ByteBuffer result = table;
+		if (result == null) {
+			synchronized (this) {
+				result = table;
+				if (result == null) {
+					try {
+						if (!Files.exists(file))
+							build().save(file);
+						table = result = map(file);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private static ByteBuffer map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC)
+				throw new IOException("Not an 8-puzzle distance table: " + file);
+			if (buffer.getInt() != INDEXER.getIndexCount() || buffer.remaining() != INDEXER.getIndexCount())
+				throw new IOException("Corrupt 8-puzzle distance table: " + file);
+			return buffer.slice();
+		}
+	}
+}
@@ -1,10 +1,13 @@
 package aima.core.environment.eightpuzzle;
 
 import aima.core.agent.Action;
+import aima.core.search.framework.IncrementalHeuristicFunction;
 import aima.core.search.framework.Node;
+import aima.core.search.framework.problem.StateIndexer;
 import aima.core.util.datastructure.XYLocation;
 
 import java.util.List;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -16,6 +19,14 @@ public class EightPuzzleFunctions {
 
 	public static final EightPuzzleBoard GOAL_STATE = new EightPuzzleBoard(new int[] { 1, 2, 3, 8, 0, 4, 7, 6, 5 });
 
+	// index: tile, value: position in goal state
+	private static final int[] GOAL_POSITIONS = new int[9];
+
+	static {
+		for (int pos = 0; pos < 9; pos++)
+			GOAL_POSITIONS[GOAL_STATE.getState()[pos]] = pos;
+	}
+
 	public static List<Action> getActions(EightPuzzleBoard state) {
 		return Stream.of(EightPuzzleBoard.UP, EightPuzzleBoard.DOWN, EightPuzzleBoard.LEFT, EightPuzzleBoard.RIGHT).
 				filter(state::canMoveGap).collect(Collectors.toList());
@@ -38,11 +49,23 @@ public class EightPuzzleFunctions {
 	}
 
 	public static double getManhattanDistance(Node<EightPuzzleBoard, Action> node) {
-		EightPuzzleBoard currState = node.getState();
+		return getManhattanDistance(node.getState(), GOAL_STATE);
+	}
+
+	/**
+	 * Returns a heuristic function which computes the Manhattan distance to the
+	 * given board (e.g. the initial state for searches on reverse problems).
+	 */
+	public static ToDoubleFunction<Node<EightPuzzleBoard, Action>> createManhattanHeuristicFunction
+			(EightPuzzleBoard goal) {
+		return node -> getManhattanDistance(node.getState(), goal);
+	}
+
+	public static double getManhattanDistance(EightPuzzleBoard currState, EightPuzzleBoard goal) {
 		int result = 0;
 		for (int val = 1; val <= 8; val++) {
 			XYLocation locCurr = currState.getLocationOf(val);
-			XYLocation locGoal = GOAL_STATE.getLocationOf(val);
+			XYLocation locGoal = goal.getLocationOf(val);
 			result += Math.abs(locGoal.getX() - locCurr.getX());
 			result += Math.abs(locGoal.getY() - locCurr.getY());
 		}
@@ -66,6 +89,50 @@ public class EightPuzzleFunctions {
 		return (1 + epsilon) * getWeightedManhattanDistance(node);
 	}
 
+	/**
+	 * Returns an incremental version of {@link #getManhattanDistance(Node)}. A
+	 * move changes the distance of one tile only.
+	 */
+	public static IncrementalHeuristicFunction<EightPuzzleBoard, Action> createIncrementalManhattanHeuristicFunction() {
+		return IncrementalHeuristicFunction.of(state -> getManhattanDistance(state, GOAL_STATE),
+				(value, parent, action, state) -> value + getTileDistanceDelta(parent, state, 1));
+	}
+
+	/** Returns an incremental version of {@link #getWeightedManhattanDistance(Node)}. */
+	public static IncrementalHeuristicFunction<EightPuzzleBoard, Action>
+	createIncrementalWeightedManhattanHeuristicFunction() {
+		return IncrementalHeuristicFunction.of(state -> getWeightedManhattanDistance(new Node<>(state)),
+				(value, parent, action, state) -> value + getTileDistanceDelta(parent, state, 2));
+	}
+
+	/** Returns an incremental version of {@link #getEpsilonWeightedManhattanDistance(Node)}. */
+	public static IncrementalHeuristicFunction<EightPuzzleBoard, Action>
+	createIncrementalEpsilonWeightedManhattanHeuristicFunction() {
+		double epsilon = 0.1;
+		return IncrementalHeuristicFunction.of(state -> getEpsilonWeightedManhattanDistance(new Node<>(state)),
+				(value, parent, action, state) -> value + (1 + epsilon) * getTileDistanceDelta(parent, state, 2));
+	}
+
+	/**
+	 * Computes the change of the Manhattan distance of the moved tile, weighted
+	 * by <code>base^tile</code>.
+	 */
+	private static double getTileDistanceDelta(EightPuzzleBoard parent, EightPuzzleBoard state, int base) {
+		int[] parentTiles = parent.getState();
+		int[] tiles = state.getState();
+		int from = 0;
+		while (tiles[from] != 0)
+			from++;
+		int to = 0;
+		while (parentTiles[to] != 0)
+			to++;
+		int tile = parentTiles[from];
+		int goalPos = GOAL_POSITIONS[tile];
+		int delta = Math.abs(to % 3 - goalPos % 3) + Math.abs(to / 3 - goalPos / 3)
+				- Math.abs(from % 3 - goalPos % 3) - Math.abs(from / 3 - goalPos / 3);
+		return delta * Math.pow(base, tile);
+	}
+
 
 	public static int getNumberOfMisplacedTiles(Node<EightPuzzleBoard, Action> node) {
 		EightPuzzleBoard currState = node.getState();
@@ -106,4 +173,98 @@ public class EightPuzzleFunctions {
 		
 		return (long) Math.pow(2, s1.getState()[i]);
 	}
+
+	/**
+	 * Returns an indexer for the 9!/2 boards, which can be reached from the
+	 * given board. Indices are ranks (Lehmer codes) of the tile positions
+	 * (position of the gap, of tile 1, ..., of tile 8) divided by two. Boards
+	 * which differ in the positions of tiles 7 and 8 only get the same index,
+	 * but only one of them is reachable. Computing an index needs no
+	 * allocations: positions are packed into a long, and used positions are
+	 * tracked by a bit mask.
+	 */
+	public static StateIndexer<EightPuzzleBoard> createStateIndexer(EightPuzzleBoard reference) {
+		final boolean parity = getInversionParity(reference.getState());
+		return new StateIndexer<EightPuzzleBoard>() {
+			@Override
+			public int getIndexCount() {
+				return FACTORIALS[9] / 2;
+			}
+
+			@Override
+			public int getIndex(EightPuzzleBoard state) {
+				int[] tiles = state.getState();
+				long positions = 0; // 4 bits per tile
+				for (int pos = 0; pos < 9; pos++)
+					positions |= (long) pos << (4 * tiles[pos]);
+				int rank = 0;
+				int digitSum = 0;
+				int used = 0;
+				for (int i = 0; i < 8; i++) {
+					int pos = (int) (positions >>> (4 * i)) & 0xF;
+					// number of positions of tiles j > i, which are smaller than pos
+					int smaller = pos - Integer.bitCount(used & ((1 << pos) - 1));
+					used |= 1 << pos;
+					rank += smaller * FACTORIALS[8 - i];
+					digitSum += smaller;
+				}
+				// the digit sum is the number of inversions including the gap, which is in
+				// wrong order with all tiles in front of it
+				int gapPos = (int) positions & 0xF;
+				if ((((digitSum + gapPos) & 1) == 1) != parity)
+					throw new IllegalArgumentException("Board " + state + " is not reachable.");
+				return rank / 2;
+			}
+
+			@Override
+			public EightPuzzleBoard getState(int index) {
+				int[] tiles = unrank(2 * index);
+				if (getInversionParity(tiles) != parity)
+					tiles = unrank(2 * index + 1);
+				return new EightPuzzleBoard(tiles);
+			}
+		};
+	}
+
+	/**
+	 * Checks whether the goal state can be reached from the given board. Moves
+	 * do not change the parity of the number of tile pairs in wrong order, and
+	 * all boards with the same parity as the goal state are reachable.
+	 */
+	public static boolean isSolvable(EightPuzzleBoard board) {
+		return getInversionParity(board.getState()) == getInversionParity(GOAL_STATE.getState());
+	}
+
+	private static final int[] FACTORIALS = { 1, 1, 2, 6, 24, 120, 720, 5040, 40320, 362880 };
+
+	// inverse of the ranking in createStateIndexer
+	private static int[] unrank(int rank) {
+		boolean[] used = new boolean[9];
+		int[] tiles = new int[9];
+		for (int i = 0; i < 9; i++) {
+			int smaller = rank / FACTORIALS[8 - i];
+			rank %= FACTORIALS[8 - i];
+			// the position is the free position with the given number of smaller free positions
+			int pos = 0;
+			for (; used[pos] || smaller > 0; pos++)
+				if (!used[pos])
+					smaller--;
+			used[pos] = true;
+			tiles[pos] = i;
+		}
+		return tiles;
+	}
+
+	/**
+	 * Returns the parity of the number of tile pairs in wrong order, which is
+	 * not changed by moves.
+	 */
+	private static boolean getInversionParity(int[] tiles) {
+		boolean result = false;
+		for (int i = 0; i < 9; i++)
+			for (int j = i + 1; j < 9; j++)
+				if (tiles[i] != 0 && tiles[j] != 0 && tiles[j] < tiles[i])
+					result = !result;
+		return result;
+	}
 }
\ No newline at end of file
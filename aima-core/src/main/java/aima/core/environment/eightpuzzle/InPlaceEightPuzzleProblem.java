@@ -0,0 +1,100 @@
+package aima.core.environment.eightpuzzle;
+
+import aima.core.agent.Action;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.InPlaceProblem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Eight puzzle problem with unit step costs, which supports moving the gap of
+ * a working board in place. Boards are mutable, so moves are applied and
+ * undone without creating new boards or action lists.
+ */
+public class InPlaceEightPuzzleProblem extends GeneralProblem<EightPuzzleBoard, Action>
+		implements InPlaceProblem<EightPuzzleBoard, Action> {
+
+	// applicable actions by gap position
+	private static final List<List<Action>> ACTIONS = new ArrayList<>();
+
+	static {
+		for (int pos = 0; pos < 9; pos++) {
+			int[] tiles = new int[9];
+			for (int i = 0; i < 9; i++)
+				tiles[i] = i < pos ? i + 1 : i;
+			tiles[pos] = 0;
+			ACTIONS.add(Collections.unmodifiableList(EightPuzzleFunctions.getActions(new EightPuzzleBoard(tiles))));
+		}
+	}
+
+	public InPlaceEightPuzzleProblem(EightPuzzleBoard initialState) {
+		super(initialState, EightPuzzleFunctions::getActions, EightPuzzleFunctions::getResult,
+				Predicate.isEqual(EightPuzzleFunctions.GOAL_STATE));
+		setStateFingerprinter(InPlaceEightPuzzleProblem::getFingerprint);
+	}
+
+	/** Returns a shared list of the applicable actions without creating a new one. */
+	@Override
+	public List<Action> getActions(EightPuzzleBoard state) {
+		int[] tiles = state.getState();
+		int gapPos = 0;
+		while (tiles[gapPos] != 0)
+			gapPos++;
+		return ACTIONS.get(gapPos);
+	}
+
+	@Override
+	public EightPuzzleBoard copyState(EightPuzzleBoard state) {
+		return state.clone();
+	}
+
+	@Override
+	public void doAction(EightPuzzleBoard state, Action action) {
+		moveGap(state, action);
+	}
+
+	@Override
+	public void undoAction(EightPuzzleBoard state, Action action) {
+		moveGap(state, getInverse(action));
+	}
+
+	@Override
+	public double getStepCosts(EightPuzzleBoard state, Action action) {
+		return 1;
+	}
+
+	@Override
+	public boolean isInverse(Action action, Action previousAction) {
+		return previousAction != null && action == getInverse(previousAction);
+	}
+
+	/** Returns a unique fingerprint of the board (see {@link PackedPuzzleBoard#pack(int[])}). */
+	public static long getFingerprint(EightPuzzleBoard state) {
+		return PackedPuzzleBoard.pack(state.getState());
+	}
+
+	private static void moveGap(EightPuzzleBoard state, Action action) {
+		if (action == EightPuzzleBoard.UP)
+			state.moveGapUp();
+		else if (action == EightPuzzleBoard.DOWN)
+			state.moveGapDown();
+		else if (action == EightPuzzleBoard.LEFT)
+			state.moveGapLeft();
+		else if (action == EightPuzzleBoard.RIGHT)
+			state.moveGapRight();
+	}
+
+	private static Action getInverse(Action action) {
+		if (action == EightPuzzleBoard.UP)
+			return EightPuzzleBoard.DOWN;
+		else if (action == EightPuzzleBoard.DOWN)
+			return EightPuzzleBoard.UP;
+		else if (action == EightPuzzleBoard.LEFT)
+			return EightPuzzleBoard.RIGHT;
+		else
+			return EightPuzzleBoard.LEFT;
+	}
+}
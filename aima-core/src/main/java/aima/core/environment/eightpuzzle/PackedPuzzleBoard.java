@@ -0,0 +1,205 @@
+package aima.core.environment.eightpuzzle;
+
+import aima.core.agent.Action;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable and compact representation of sliding-tile puzzle states (3x3 or
+ * 4x4). All tiles are packed into one <code>long</code> value with four bits per
+ * square (square 0 in the lowest bits, row by row) and the position of the gap
+ * is cached. Successor states are computed by shifts and masks without cloning
+ * arrays or creating intermediate location objects. Equality checks and hash
+ * codes only depend on the packed value, which makes the class well suited as
+ * key for explored sets and reached tables.
+ *
+ * The moves are named after the movement of the gap, see
+ * {@link EightPuzzleBoard#UP}, {@link EightPuzzleBoard#DOWN},
+ * {@link EightPuzzleBoard#LEFT}, and {@link EightPuzzleBoard#RIGHT}.
+ */
+public final class PackedPuzzleBoard {
+
+	private final long tiles;
+	private final byte dimension;
+	private final byte gapPos;
+
+	/**
+	 * Creates a board from an array which contains the tile numbers row by row
+	 * (0 stands for the gap). Supported lengths are 9 and 16.
+	 */
+	public PackedPuzzleBoard(int[] state) {
+		this(pack(state), dimensionOf(state.length), findGap(state));
+	}
+
+	/** Creates a packed copy of the given 3x3 board. */
+	public PackedPuzzleBoard(EightPuzzleBoard board) {
+		this(board.getState());
+	}
+
+	private PackedPuzzleBoard(long tiles, int dimension, int gapPos) {
+		this.tiles = tiles;
+		this.dimension = (byte) dimension;
+		this.gapPos = (byte) gapPos;
+	}
+
+	/**
+	 * Creates a board from a packed tile value as returned by
+	 * {@link #getTiles()}.
+	 */
+	public static PackedPuzzleBoard valueOf(long tiles, int dimension) {
+		int size = dimension * dimension;
+		dimensionOf(size);
+		for (int pos = 0; pos < size; pos++)
+			if (((tiles >>> (pos << 2)) & 0xF) == 0)
+				return new PackedPuzzleBoard(tiles, dimension, pos);
+		throw new IllegalArgumentException("No gap found in " + Long.toHexString(tiles));
+	}
+
+	/** Returns the number of rows (and columns) of the board. */
+	public int getDimension() {
+		return dimension;
+	}
+
+	/** Returns the number of squares of the board. */
+	public int getSize() {
+		return dimension * dimension;
+	}
+
+	/** Returns the packed tile value (4 bits per square, square 0 lowest). */
+	public long getTiles() {
+		return tiles;
+	}
+
+	public int getGapPosition() {
+		return gapPos;
+	}
+
+	/** Returns the tile at the specified square (row by row, starting with 0). */
+	public int getValueAt(int pos) {
+		return (int) ((tiles >>> (pos << 2)) & 0xF);
+	}
+
+	public int getValueAt(int x, int y) {
+		return getValueAt(x + dimension * y);
+	}
+
+	/** Returns the square which contains the given tile (0 stands for the gap). */
+	public int getPositionOf(int val) {
+		if (val == 0)
+			return gapPos;
+		int size = getSize();
+		for (int pos = 0; pos < size; pos++)
+			if (((tiles >>> (pos << 2)) & 0xF) == val)
+				return pos;
+		return -1;
+	}
+
+	public boolean canMoveGap(Action action) {
+		return getGapTarget(action) != -1;
+	}
+
+	/**
+	 * Returns the board which results from moving the gap in the specified
+	 * direction. If the move is not possible, the board itself is returned.
+	 */
+	public PackedPuzzleBoard moveGap(Action action) {
+		int target = getGapTarget(action);
+		return target != -1 ? moveGapTo(target) : this;
+	}
+
+	/**
+	 * Swaps the gap with the tile at the specified (neighbor) square. The gap
+	 * bits are zero, so the tile just needs to be cleared at its old square and
+	 * or-ed in at the old gap square.
+	 */
+	private PackedPuzzleBoard moveGapTo(int target) {
+		int shift = target << 2;
+		long val = (tiles >>> shift) & 0xF;
+		long result = (tiles & ~(0xFL << shift)) | (val << (gapPos << 2));
+		return new PackedPuzzleBoard(result, dimension, target);
+	}
+
+	/** Returns the square the gap moves to or -1 if the move is not possible. */
+	private int getGapTarget(Action action) {
+		int x = gapPos % dimension;
+		int y = gapPos / dimension;
+		if (action == EightPuzzleBoard.UP || EightPuzzleBoard.UP.equals(action))
+			return y != 0 ? gapPos - dimension : -1;
+		if (action == EightPuzzleBoard.DOWN || EightPuzzleBoard.DOWN.equals(action))
+			return y != dimension - 1 ? gapPos + dimension : -1;
+		if (action == EightPuzzleBoard.LEFT || EightPuzzleBoard.LEFT.equals(action))
+			return x != 0 ? gapPos - 1 : -1;
+		if (action == EightPuzzleBoard.RIGHT || EightPuzzleBoard.RIGHT.equals(action))
+			return x != dimension - 1 ? gapPos + 1 : -1;
+		return -1;
+	}
+
+	/** Returns the tiles row by row as new array. */
+	public int[] toArray() {
+		int[] result = new int[getSize()];
+		for (int pos = 0; pos < result.length; pos++)
+			result[pos] = getValueAt(pos);
+		return result;
+	}
+
+	/** Converts a 3x3 board into the standard representation. */
+	public EightPuzzleBoard toEightPuzzleBoard() {
+		if (dimension != 3)
+			throw new UnsupportedOperationException("Only 3x3 boards can be converted.");
+		return new EightPuzzleBoard(toArray());
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o != null && getClass() == o.getClass()) {
+			PackedPuzzleBoard aBoard = (PackedPuzzleBoard) o;
+			return tiles == aBoard.tiles && dimension == aBoard.dimension;
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		// tiles use only the lower 36 bits on 3x3 boards, so mix before folding.
+		return (int) ((tiles * 0x9E3779B97F4A7C15L) >>> 32);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.stream(toArray()).mapToObj(String::valueOf).collect(Collectors.joining(" "));
+	}
+
+	/**
+	 * Packs a tile array into the representation returned by
+	 * {@link #getTiles()}. The result is a unique fingerprint of the state.
+	 */
+	public static long pack(int[] state) {
+		long result = 0;
+		for (int pos = 0; pos < state.length; pos++) {
+			if (state[pos] < 0 || state[pos] >= state.length)
+				throw new IllegalArgumentException("Illegal tile value " + state[pos] + ".");
+			result |= ((long) state[pos]) << (pos << 2);
+		}
+		return result;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private static int dimensionOf(int size) {
+		if (size == 9)
+			return 3;
+		if (size == 16)
+			return 4;
+		throw new IllegalArgumentException("Only 3x3 and 4x4 boards are supported.");
+	}
+
+	private static int findGap(int[] state) {
+		for (int pos = 0; pos < state.length; pos++)
+			if (state[pos] == 0)
+				return pos;
+		throw new IllegalArgumentException("No gap found in " + Arrays.toString(state));
+	}
+}
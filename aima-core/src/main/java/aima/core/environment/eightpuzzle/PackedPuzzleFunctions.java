@@ -0,0 +1,148 @@
+package aima.core.environment.eightpuzzle;
+
+import aima.core.agent.Action;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Useful functions for solving sliding-tile puzzles based on
+ * {@link PackedPuzzleBoard} states. The action lists are precomputed for every
+ * gap position, so neither action generation nor successor generation
+ * allocates anything but the resulting board.
+ */
+public class PackedPuzzleFunctions {
+
+	/** The 3x3 goal state, same as {@link EightPuzzleFunctions#GOAL_STATE}. */
+	public static final PackedPuzzleBoard GOAL_STATE_3x3 = new PackedPuzzleBoard(EightPuzzleFunctions.GOAL_STATE);
+
+	/** The usual 4x4 goal state with the gap in the lower right corner. */
+	public static final PackedPuzzleBoard GOAL_STATE_4x4 = new PackedPuzzleBoard(new int[] { 1, 2, 3, 4, 5, 6, 7, 8,
+			9, 10, 11, 12, 13, 14, 15, 0 });
+
+	// index: dimension - 3, gap position
+	private static final List<List<List<Action>>> ACTIONS = new ArrayList<>();
+
+	static {
+		for (int dim = 3; dim <= 4; dim++) {
+			List<List<Action>> actionsByGap = new ArrayList<>();
+			for (int gapPos = 0; gapPos < dim * dim; gapPos++) {
+				List<Action> actions = new ArrayList<>(4);
+				int x = gapPos % dim;
+				int y = gapPos / dim;
+				if (y != 0)
+					actions.add(EightPuzzleBoard.UP);
+				if (y != dim - 1)
+					actions.add(EightPuzzleBoard.DOWN);
+				if (x != 0)
+					actions.add(EightPuzzleBoard.LEFT);
+				if (x != dim - 1)
+					actions.add(EightPuzzleBoard.RIGHT);
+				actionsByGap.add(Collections.unmodifiableList(actions));
+			}
+			ACTIONS.add(actionsByGap);
+		}
+	}
+
+	/**
+	 * Creates a problem with unit step costs which has the goal state of the
+	 * corresponding board size as goal. Packed tiles are used as state
+	 * fingerprints.
+	 */
+	public static Problem<PackedPuzzleBoard, Action> createProblem(PackedPuzzleBoard initialState) {
+		GeneralProblem<PackedPuzzleBoard, Action> result = new GeneralProblem<>(initialState,
+				PackedPuzzleFunctions::getActions, PackedPuzzleFunctions::getResult,
+				Predicate.isEqual(getGoalState(initialState.getDimension())));
+		result.setStateFingerprinter(PackedPuzzleBoard::getTiles);
+		return result;
+	}
+
+	/**
+	 * Returns a codec which serializes boards of the given dimension to their
+	 * packed tiles (8 bytes).
+	 */
+	public static StateCodec<PackedPuzzleBoard> createStateCodec(int dimension) {
+		return new StateCodec<PackedPuzzleBoard>() {
+			@Override
+			public int getRecordSize() {
+				return Long.BYTES;
+			}
+
+			@Override
+			public void encode(PackedPuzzleBoard state, ByteBuffer buffer) {
+				buffer.putLong(state.getTiles());
+			}
+
+			@Override
+			public PackedPuzzleBoard decode(ByteBuffer buffer) {
+				return PackedPuzzleBoard.valueOf(buffer.getLong(), dimension);
+			}
+		};
+	}
+
+	public static PackedPuzzleBoard getGoalState(int dimension) {
+		return dimension == 3 ? GOAL_STATE_3x3 : GOAL_STATE_4x4;
+	}
+
+	/**
+	 * Returns the applicable actions (same order as in
+	 * {@link EightPuzzleFunctions#getActions(EightPuzzleBoard)}). The result is
+	 * shared and must not be modified.
+	 */
+	public static List<Action> getActions(PackedPuzzleBoard state) {
+		return ACTIONS.get(state.getDimension() - 3).get(state.getGapPosition());
+	}
+
+	public static PackedPuzzleBoard getResult(PackedPuzzleBoard state, Action action) {
+		return state.moveGap(action);
+	}
+
+	/**
+	 * Sum of Manhattan distances of all tiles to their positions in the goal
+	 * state of the corresponding board size.
+	 */
+	public static double getManhattanDistance(Node<PackedPuzzleBoard, Action> node) {
+		PackedPuzzleBoard state = node.getState();
+		return state.getDimension() == 3
+				? MANHATTAN_3x3.applyAsDouble(node) : MANHATTAN_4x4.applyAsDouble(node);
+	}
+
+	/**
+	 * Returns a Manhattan distance heuristic for the specified goal. Goal
+	 * coordinates are looked up in a precomputed table, tile positions are
+	 * read directly from the packed value.
+	 */
+	public static ToDoubleFunction<Node<PackedPuzzleBoard, Action>> createManhattanHeuristicFunction
+	(PackedPuzzleBoard goal) {
+		final int dim = goal.getDimension();
+		final int size = goal.getSize();
+		final int[] goalPos = new int[size];
+		for (int pos = 0; pos < size; pos++)
+			goalPos[goal.getValueAt(pos)] = pos;
+		return node -> {
+			long tiles = node.getState().getTiles();
+			int result = 0;
+			for (int pos = 0; pos < size; pos++, tiles >>>= 4) {
+				int val = (int) (tiles & 0xF);
+				if (val != 0) {
+					int gPos = goalPos[val];
+					result += Math.abs(gPos % dim - pos % dim) + Math.abs(gPos / dim - pos / dim);
+				}
+			}
+			return result;
+		};
+	}
+
+	private static final ToDoubleFunction<Node<PackedPuzzleBoard, Action>> MANHATTAN_3x3 =
+			createManhattanHeuristicFunction(GOAL_STATE_3x3);
+	private static final ToDoubleFunction<Node<PackedPuzzleBoard, Action>> MANHATTAN_4x4 =
+			createManhattanHeuristicFunction(GOAL_STATE_4x4);
+}
@@ -0,0 +1,334 @@
+package aima.core.environment.eightpuzzle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Pattern database for one subset of tiles of a 3x3 or 4x4 sliding-tile
+ * puzzle. For every placement of the pattern tiles it stores the minimal
+ * number of moves of pattern tiles which is needed to bring them to their goal
+ * positions. Moves of other tiles are not counted, so the values of pattern
+ * databases for disjoint tile sets can be added to obtain an admissible
+ * heuristic (see {@link AdditivePatternDatabase}).
+ * <p>
+ * Tables are computed once by a backward breadth-first search from the goal
+ * state. The search runs in the abstract state space consisting of pattern
+ * tile positions and gap position (0-1 BFS, as moves of non-pattern tiles are
+ * free). Afterwards the gap position is projected out. Tables can be saved as
+ * compact byte files (one byte per placement) and memory-mapped on load.
+ * Lookups are O(1) and allocation-free.
+ */
+public class PatternDatabase {
+
+	private static final int MAGIC = 0x41504442; // "APDB"
+	private static final int UNKNOWN = 0xFF;
+
+	private final int dimension;
+	private final int[] tiles;
+	private final long goalTiles;
+	private final ByteBuffer table;
+
+	private PatternDatabase(int dimension, int[] tiles, long goalTiles, ByteBuffer table) {
+		this.dimension = dimension;
+		this.tiles = tiles;
+		this.goalTiles = goalTiles;
+		this.table = table;
+	}
+
+	/**
+	 * Computes a new pattern database by backward breadth-first search from the
+	 * specified goal state.
+	 *
+	 * @param goal
+	 *            the goal state.
+	 * @param tiles
+	 *            the tiles (values between 1 and size-1) which form the
+	 *            pattern.
+	 */
+	public static PatternDatabase build(PackedPuzzleBoard goal, int... tiles) {
+		int n = goal.getSize();
+		int k = tiles.length;
+		long placements = countPlacements(n, k);
+		if (placements * n > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("Pattern with " + k + " tiles is too large.");
+
+		byte[] dist = new byte[(int) placements * n];
+		Arrays.fill(dist, (byte) UNKNOWN);
+		BitSet closed = new BitSet(dist.length);
+		IntDeque deque = new IntDeque(1024);
+
+		int[] pos = new int[k];
+		int[] occupant = new int[n]; // pattern tile index + 1 or 0
+		for (int i = 0; i < k; i++)
+			pos[i] = goal.getPositionOf(tiles[i]);
+		int start = rank(pos, n) * n + goal.getGapPosition();
+		dist[start] = 0;
+		deque.addLast(start);
+
+		while (!deque.isEmpty()) {
+			int idx = deque.pollFirst();
+			if (closed.get(idx))
+				continue;
+			closed.set(idx);
+			int d = dist[idx] & 0xFF;
+			int rank = idx / n;
+			int gap = idx % n;
+			unrank(rank, n, pos);
+			Arrays.fill(occupant, 0);
+			for (int i = 0; i < k; i++)
+				occupant[pos[i]] = i + 1;
+
+			int x = gap % goal.getDimension();
+			int y = gap / goal.getDimension();
+			for (int dir = 0; dir < 4; dir++) {
+				int nb;
+				if (dir == 0 && y > 0)
+					nb = gap - goal.getDimension();
+				else if (dir == 1 && y < goal.getDimension() - 1)
+					nb = gap + goal.getDimension();
+				else if (dir == 2 && x > 0)
+					nb = gap - 1;
+				else if (dir == 3 && x < goal.getDimension() - 1)
+					nb = gap + 1;
+				else
+					continue;
+				int next;
+				int cost;
+				int j = occupant[nb] - 1;
+				if (j == -1) {
+					next = rank * n + nb;
+					cost = 0;
+				} else {
+					pos[j] = gap;
+					next = rank(pos, n) * n + nb;
+					pos[j] = nb;
+					cost = 1;
+				}
+				int nd = d + cost;
+				if (nd >= UNKNOWN)
+					throw new IllegalStateException("Distance exceeds byte range.");
+				if (nd < (dist[next] & 0xFF)) {
+					dist[next] = (byte) nd;
+					if (cost == 0)
+						deque.addFirst(next);
+					else
+						deque.addLast(next);
+				}
+			}
+		}
+
+		// project out the gap position
+		byte[] result = new byte[(int) placements];
+		for (int r = 0; r < result.length; r++) {
+			int min = UNKNOWN;
+			for (int gap = 0; gap < n; gap++)
+				min = Math.min(min, dist[r * n + gap] & 0xFF);
+			result[r] = (byte) min;
+		}
+		return new PatternDatabase(goal.getDimension(), tiles.clone(), goal.getTiles(), ByteBuffer.wrap(result));
+	}
+
+	/**
+	 * Writes the database to the specified file. The file is written to a
+	 * temporary sibling first and then moved into place.
+	 */
+	public void save(Path file) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(getHeaderSize(tiles.length)).order(ByteOrder.BIG_ENDIAN);
+		header.putInt(MAGIC).putInt(dimension).putInt(tiles.length);
+		for (int tile : tiles)
+			header.putInt(tile);
+		header.putLong(goalTiles);
+		header.flip();
+		ByteBuffer data = table.duplicate();
+		data.clear();
+
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (header.hasRemaining())
+				channel.write(header);
+			while (data.hasRemaining())
+				channel.write(data);
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/** Memory-maps a database which was written by {@link #save(Path)}. */
+	public static PatternDatabase load(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < 12 || buffer.getInt() != MAGIC)
+				throw new IOException("Not a pattern database: " + file);
+			int dimension = buffer.getInt();
+			int k = buffer.getInt();
+			int[] tiles = new int[k];
+			for (int i = 0; i < k; i++)
+				tiles[i] = buffer.getInt();
+			long goalTiles = buffer.getLong();
+			long placements = countPlacements(dimension * dimension, k);
+			if (buffer.remaining() != placements)
+				throw new IOException("Corrupt pattern database: " + file);
+			return new PatternDatabase(dimension, tiles, goalTiles, buffer.slice());
+		}
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/** Returns a copy of the pattern tiles. */
+	public int[] getTiles() {
+		return tiles.clone();
+	}
+
+	/** Returns the packed value of the goal state the database was built for. */
+	public long getGoalTiles() {
+		return goalTiles;
+	}
+
+	/**
+	 * Returns the stored number of pattern tile moves.
+	 *
+	 * @param positions
+	 *            packed inverse representation of a state: bits
+	 *            <code>4*tile</code> to <code>4*tile+3</code> contain the
+	 *            position of <code>tile</code>.
+	 */
+	public int getValue(long positions) {
+		int n = dimension * dimension;
+		int used = 0;
+		int index = 0;
+		for (int i = 0; i < tiles.length; i++) {
+			int p = (int) ((positions >>> (tiles[i] << 2)) & 0xF);
+			index = index * (n - i) + p - Integer.bitCount(used & ((1 << p) - 1));
+			used |= 1 << p;
+		}
+		return table.get(index) & 0xFF;
+	}
+
+	/** Returns the stored number of pattern tile moves for the given state. */
+	public int getValue(PackedPuzzleBoard state) {
+		return getValue(toPositions(state));
+	}
+
+	/**
+	 * Computes the packed inverse representation (position per tile) of a
+	 * state as expected by {@link #getValue(long)}.
+	 */
+	public static long toPositions(PackedPuzzleBoard state) {
+		long tiles = state.getTiles();
+		long result = 0;
+		for (int pos = 0, size = state.getSize(); pos < size; pos++, tiles >>>= 4)
+			result |= ((long) pos) << ((tiles & 0xF) << 2);
+		return result;
+	}
+
+	/** Same as {@link #toPositions(PackedPuzzleBoard)} for plain tile arrays. */
+	public static long toPositions(int[] state) {
+		long result = 0;
+		for (int pos = 0; pos < state.length; pos++)
+			result |= ((long) pos) << (state[pos] << 2);
+		return result;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private static int getHeaderSize(int k) {
+		return 12 + 4 * k + 8;
+	}
+
+	// number of ways to place k distinct tiles on n squares
+	private static long countPlacements(int n, int k) {
+		long result = 1;
+		for (int i = 0; i < k; i++)
+			result *= n - i;
+		return result;
+	}
+
+	// ranks a k-permutation of positions 0..n-1 (same order as getValue)
+	private static int rank(int[] pos, int n) {
+		int used = 0;
+		int index = 0;
+		for (int i = 0; i < pos.length; i++) {
+			int p = pos[i];
+			index = index * (n - i) + p - Integer.bitCount(used & ((1 << p) - 1));
+			used |= 1 << p;
+		}
+		return index;
+	}
+
+	private static void unrank(int index, int n, int[] pos) {
+		int k = pos.length;
+		for (int i = k - 1; i >= 0; i--) {
+			pos[i] = index % (n - i);
+			index /= n - i;
+		}
+		int used = 0;
+		for (int i = 0; i < k; i++) {
+			// pos[i] currently holds the number of smaller unused positions
+			int p = -1;
+			for (int count = pos[i]; count >= 0; count--) {
+				p++;
+				while ((used & (1 << p)) != 0)
+					p++;
+			}
+			pos[i] = p;
+			used |= 1 << p;
+		}
+	}
+
+	/** Growable ring buffer of ints which supports 0-1 BFS. */
+	private static class IntDeque {
+		private int[] data;
+		private int head;
+		private int size;
+
+		IntDeque(int capacity) {
+			data = new int[capacity];
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		void addFirst(int value) {
+			ensureCapacity();
+			head = (head - 1 + data.length) % data.length;
+			data[head] = value;
+			size++;
+		}
+
+		void addLast(int value) {
+			ensureCapacity();
+			data[(head + size) % data.length] = value;
+			size++;
+		}
+
+		int pollFirst() {
+			int result = data[head];
+			head = (head + 1) % data.length;
+			size--;
+			return result;
+		}
+
+		private void ensureCapacity() {
+			if (size == data.length) {
+				int[] newData = new int[data.length * 2];
+				for (int i = 0; i < size; i++)
+					newData[i] = data[(head + i) % data.length];
+				data = newData;
+				head = 0;
+			}
+		}
+	}
+}
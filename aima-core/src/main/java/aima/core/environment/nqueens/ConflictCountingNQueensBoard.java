@@ -0,0 +1,265 @@
+package aima.core.environment.nqueens;
+
+import aima.core.util.datastructure.XYLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Quadratic board with at most one queen per column, which is designed for
+ * large complete-state formulations of the n-queens problem. For each column,
+ * the row of its queen is stored. Additionally, the board maintains the number
+ * of queens in each row, diagonal, and anti-diagonal, and the number of
+ * attacking pairs. So placing, moving, and removing queens, as well as
+ * counting attacks on a square and computing the effect of a move on the
+ * number of attacking pairs take constant time. Memory usage is linear in the
+ * board size.
+ * <p>
+ * The meaning of the methods corresponds to the methods of
+ * {@link NQueensBoard} with the same name.
+ */
+public class ConflictCountingNQueensBoard {
+
+	/** Row value of columns without queen. */
+	public static final int EMPTY = -1;
+
+	private final int[] rows;
+	private final int[] rowCounts;
+	// index: col - row + size - 1
+	private final int[] diagonalCounts;
+	// index: col + row
+	private final int[] antiDiagonalCounts;
+	private int numberOfQueens;
+	private long numberOfAttackingPairs;
+
+	/** Creates an empty board with <code>size</code> rows and size columns. */
+	public ConflictCountingNQueensBoard(int size) {
+		rows = new int[size];
+		Arrays.fill(rows, EMPTY);
+		rowCounts = new int[size];
+		diagonalCounts = new int[Math.max(2 * size - 1, 0)];
+		antiDiagonalCounts = new int[Math.max(2 * size - 1, 0)];
+	}
+
+	/**
+	 * Creates a board with <code>size</code> rows and size columns.
+	 *
+	 * @param config
+	 *            Controls whether the board is initially empty or contains some
+	 *            queens.
+	 */
+	public ConflictCountingNQueensBoard(int size, NQueensBoard.Config config) {
+		this(size);
+		Random r = new Random();
+		if (config == NQueensBoard.Config.QUEENS_IN_FIRST_ROW) {
+			for (int col = 0; col < size; col++)
+				addQueenAt(col, 0);
+		} else if (config == NQueensBoard.Config.QUEEN_IN_EVERY_COL) {
+			for (int col = 0; col < size; col++)
+				addQueenAt(col, r.nextInt(size));
+		} else if (config == NQueensBoard.Config.QUEEN_IN_EVERY_COL_ROW) {
+			int[] queensPos = new int[size];
+			for (int i = 0; i < size; i++) {
+				int j = r.nextInt(i + 1);
+				queensPos[i] = queensPos[j];
+				queensPos[j] = i;
+			}
+			for (int col = 0; col < size; col++)
+				addQueenAt(col, queensPos[col]);
+		}
+	}
+
+	/**
+	 * Creates a board with one column per array entry.
+	 *
+	 * @param rows
+	 *            the row of the queen of each column or {@link #EMPTY}.
+	 */
+	public ConflictCountingNQueensBoard(int[] rows) {
+		this(rows.length);
+		for (int col = 0; col < rows.length; col++)
+			if (rows[col] != EMPTY)
+				addQueenAt(col, rows[col]);
+	}
+
+	/**
+	 * Creates a copy of a board of the common representation.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if a column of the board contains more than one queen.
+	 */
+	public ConflictCountingNQueensBoard(NQueensBoard board) {
+		this(board.getSize());
+		board.getQueenPositions().forEach(this::addQueenAt);
+	}
+
+	/** Creates a copy of the given board. */
+	public ConflictCountingNQueensBoard(ConflictCountingNQueensBoard board) {
+		rows = board.rows.clone();
+		rowCounts = board.rowCounts.clone();
+		diagonalCounts = board.diagonalCounts.clone();
+		antiDiagonalCounts = board.antiDiagonalCounts.clone();
+		numberOfQueens = board.numberOfQueens;
+		numberOfAttackingPairs = board.numberOfAttackingPairs;
+	}
+
+	public int getSize() {
+		return rows.length;
+	}
+
+	/** Returns the row of the queen in the specified column or {@link #EMPTY}. */
+	public int getQueenRow(int col) {
+		return rows[col];
+	}
+
+	/**
+	 * Column and row indices start with 0!
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the column already contains a queen.
+	 */
+	public void addQueenAt(XYLocation l) {
+		addQueenAt(l.getX(), l.getY());
+	}
+
+	public void removeQueenFrom(XYLocation l) {
+		if (queenExistsAt(l))
+			removeQueen(l.getX());
+	}
+
+	/**
+	 * Moves the queen in the specified column (x-value of <code>l</code>) to
+	 * the specified row (y-value of <code>l</code>). If the column is empty, a
+	 * queen is placed.
+	 */
+	public void moveQueenTo(XYLocation l) {
+		int col = l.getX();
+		if (rows[col] != l.getY()) {
+			if (rows[col] != EMPTY)
+				removeQueen(col);
+			addQueenAt(col, l.getY());
+		}
+	}
+
+	public boolean queenExistsAt(XYLocation l) {
+		return rows[l.getX()] == l.getY();
+	}
+
+	public int getNumberOfQueensOnBoard() {
+		return numberOfQueens;
+	}
+
+	public List<XYLocation> getQueenPositions() {
+		List<XYLocation> result = new ArrayList<>(numberOfQueens);
+		for (int col = 0; col < rows.length; col++)
+			if (rows[col] != EMPTY)
+				result.add(new XYLocation(col, rows[col]));
+		return result;
+	}
+
+	public long getNumberOfAttackingPairs() {
+		return numberOfAttackingPairs;
+	}
+
+	public int getNumberOfAttacksOn(XYLocation l) {
+		return getNumberOfAttacksOn(l.getX(), l.getY());
+	}
+
+	/** Returns the number of queens, which attack the specified square. */
+	public int getNumberOfAttacksOn(int col, int row) {
+		int result = rowCounts[row] + diagonalCounts[col - row + rows.length - 1] + antiDiagonalCounts[col + row];
+		if (rows[col] == row)
+			result -= 3; // the queen itself
+		else if (rows[col] != EMPTY)
+			result++; // vertical attack
+		return result;
+	}
+
+	public boolean isSquareUnderAttack(XYLocation l) {
+		return getNumberOfAttacksOn(l.getX(), l.getY()) > 0;
+	}
+
+	/**
+	 * Returns the change of the number of attacking pairs, which would be
+	 * caused by {@link #moveQueenTo(XYLocation)}.
+	 */
+	public long getMoveDelta(XYLocation l) {
+		int col = l.getX();
+		int row = l.getY();
+		int oldRow = rows[col];
+		if (oldRow == row)
+			return 0;
+		int size = rows.length;
+		long result = rowCounts[row] + diagonalCounts[col - row + size - 1] + antiDiagonalCounts[col + row];
+		if (oldRow != EMPTY)
+			result -= rowCounts[oldRow] + diagonalCounts[col - oldRow + size - 1]
+					+ antiDiagonalCounts[col + oldRow] - 3;
+		return result;
+	}
+
+	/** Returns a copy in the common representation. */
+	public NQueensBoard toNQueensBoard() {
+		NQueensBoard result = new NQueensBoard(rows.length);
+		result.setQueensAt(getQueenPositions());
+		return result;
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(rows);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o != null && getClass() == o.getClass()
+				&& Arrays.equals(rows, ((ConflictCountingNQueensBoard) o).rows);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int row = 0; row < getSize(); row++) {
+			for (int col = 0; col < getSize(); col++) {
+				if (rows[col] == row)
+					builder.append('Q');
+				else
+					builder.append('-');
+			}
+			builder.append("\n");
+		}
+		return builder.toString();
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void addQueenAt(int col, int row) {
+		if (row < 0 || row >= rows.length)
+			throw new IndexOutOfBoundsException("Row " + row + " is not on the board.");
+		if (rows[col] != EMPTY)
+			throw new IllegalArgumentException("Column " + col + " already contains a queen.");
+		int d = col - row + rows.length - 1;
+		int a = col + row;
+		numberOfAttackingPairs += rowCounts[row] + diagonalCounts[d] + antiDiagonalCounts[a];
+		rowCounts[row]++;
+		diagonalCounts[d]++;
+		antiDiagonalCounts[a]++;
+		rows[col] = row;
+		numberOfQueens++;
+	}
+
+	private void removeQueen(int col) {
+		int row = rows[col];
+		int d = col - row + rows.length - 1;
+		int a = col + row;
+		rowCounts[row]--;
+		diagonalCounts[d]--;
+		antiDiagonalCounts[a]--;
+		numberOfAttackingPairs -= rowCounts[row] + diagonalCounts[d] + antiDiagonalCounts[a];
+		rows[col] = EMPTY;
+		numberOfQueens--;
+	}
+}
@@ -78,6 +78,13 @@ public class NQueensBoard {
 		}
 	}
 
+	/** Creates a copy of the given board. */
+	public NQueensBoard(NQueensBoard board) {
+		squares = new boolean[board.getSize()][];
+		for (int col = 0; col < squares.length; col++)
+			squares[col] = board.squares[col].clone();
+	}
+
 	public int getSize() {
 		return squares.length;
 	}
@@ -153,8 +160,27 @@ public class NQueensBoard {
 
 	}
 
+	/**
+	 * Counts the queens per row, column, diagonal, and anti-diagonal in one
+	 * pass over the squares. Each line with k queens contributes k(k-1)/2
+	 * pairs.
+	 */
 	public int getNumberOfAttackingPairs() {
-		return getQueenPositions().stream().mapToInt(this::getNumberOfAttacksOn).sum() / 2;
+		int size = getSize();
+		int[] rowCounts = new int[size];
+		int[] diagonalCounts = new int[2 * size];
+		int[] antiDiagonalCounts = new int[2 * size];
+		int result = 0;
+		for (int col = 0; col < size; col++) {
+			int colCount = 0;
+			for (int row = 0; row < size; row++) {
+				if (squares[col][row]) {
+					result += colCount++ + rowCounts[row]++ + diagonalCounts[col - row + size]++
+							+ antiDiagonalCounts[col + row]++;
+				}
+			}
+		}
+		return result;
 	}
 
 	public int getNumberOfAttacksOn(XYLocation l) {
@@ -235,6 +261,24 @@ public class NQueensBoard {
                 numberOfDiagonalAttacksOn(pos.getX(), pos.getY())));
 	}
 
+	/**
+	 * Returns the occupied squares as a bit set (bit <code>col * size +
+	 * row</code>), which can be used as compact encoding of the board.
+	 */
+	public byte[] getSquareBits() {
+		int size = getSize();
+		byte[] result = new byte[(size * size + 7) / 8];
+		for (int col = 0; col < size; col++) {
+			for (int row = 0; row < size; row++) {
+				if (queenExistsAt(col, row)) {
+					int i = col * size + row;
+					result[i >> 3] |= 1 << (i & 7);
+				}
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public int hashCode() {
 		int result = 0;
@@ -1,8 +1,12 @@
 package aima.core.environment.nqueens;
 
+import aima.core.search.framework.IncrementalHeuristicFunction;
 import aima.core.search.framework.Node;
 import aima.core.search.framework.problem.GeneralProblem;
 import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateFingerprinter;
+import aima.core.search.framework.problem.StateIndexer;
+import aima.core.util.Util;
 import aima.core.util.datastructure.XYLocation;
 
 import java.util.ArrayList;
@@ -18,15 +22,133 @@ import java.util.Objects;
  */
 public class NQueensFunctions {
 
+    /**
+     * Fingerprinter for boards. For boards up to size 8, the fingerprint is the
+     * bit set of occupied squares (see {@link NQueensBoard#getSquareBits()}).
+     * Fingerprints of larger boards are hash values, which are verified by
+     * comparing the bit set encodings of the boards.
+     */
+    public static final StateFingerprinter<NQueensBoard> STATE_FINGERPRINTER = new StateFingerprinter<NQueensBoard>() {
+        @Override
+        public long getFingerprint(NQueensBoard state) {
+            byte[] bits = state.getSquareBits();
+            long result = 0;
+            if (bits.length <= 8) {
+                for (int i = 0; i < bits.length; i++)
+                    result |= (bits[i] & 0xFFL) << (8 * i);
+            } else {
+                result = 0xcbf29ce484222325L; // FNV-1a
+                for (byte b : bits)
+                    result = (result ^ (b & 0xFF)) * 0x100000001b3L;
+            }
+            return result;
+        }
+
+        @Override
+        public byte[] getEncoding(NQueensBoard state) {
+            return state.getSize() > 8 ? state.getSquareBits() : null;
+        }
+    };
+
     public static Problem<NQueensBoard, QueenAction> createIncrementalFormulationProblem(int boardSize) {
-        return new GeneralProblem<>(new NQueensBoard(boardSize), NQueensFunctions::getIFActions,
-                NQueensFunctions::getResult, NQueensFunctions::testGoal);
+        GeneralProblem<NQueensBoard, QueenAction> result = new GeneralProblem<>(new NQueensBoard(boardSize),
+                NQueensFunctions::getIFActions, NQueensFunctions::getResult, NQueensFunctions::testGoal);
+        result.setStateFingerprinter(STATE_FINGERPRINTER);
+        if (boardSize <= MAX_INDEXED_BOARD_SIZE)
+            result.setStateIndexer(createIncrementalFormulationStateIndexer(boardSize));
+        return result;
+    }
+
+    /** Maximal board size supported by {@link #createIncrementalFormulationStateIndexer(int)}. */
+    public static final int MAX_INDEXED_BOARD_SIZE = 9;
+
+    /**
+     * Returns an indexer for the states of the incremental formulation, i.e.
+     * boards with one queen in each of the first k columns (0 <= k <= n) and
+     * at most one queen per row. The rows of the queens form a partial
+     * permutation, which is ranked like a Lehmer code (each row is replaced by
+     * the number of smaller rows not used in previous columns). The rank is
+     * added to the number of boards with less than k queens. So there are
+     * sum(n!/(n-k)!) indices, e.g. 986410 for n = 9.
+     */
+    public static StateIndexer<NQueensBoard> createIncrementalFormulationStateIndexer(int boardSize) {
+        if (boardSize < 2 || boardSize > MAX_INDEXED_BOARD_SIZE)
+            throw new IllegalArgumentException("Board size must be between 2 and " + MAX_INDEXED_BOARD_SIZE + ".");
+        // offsets[k]: number of boards with less than k queens
+        final int[] offsets = new int[boardSize + 2];
+        int permutations = 1;
+        for (int k = 1; k < offsets.length; k++) {
+            offsets[k] = offsets[k - 1] + permutations;
+            permutations *= boardSize - k + 1;
+        }
+        return new StateIndexer<NQueensBoard>() {
+            @Override
+            public int getIndexCount() {
+                return offsets[boardSize + 1];
+            }
+
+            @Override
+            public int getIndex(NQueensBoard state) {
+                List<XYLocation> queens = state.getQueenPositions();
+                int rank = 0;
+                int usedRows = 0;
+                for (int col = 0; col < queens.size(); col++) {
+                    XYLocation queen = queens.get(col);
+                    int row = queen.getY();
+                    if (queen.getX() != col || (usedRows & (1 << row)) != 0)
+                        throw new IllegalArgumentException("Board " + state + " is not reachable.");
+                    rank = rank * (boardSize - col) + row - Integer.bitCount(usedRows & ((1 << row) - 1));
+                    usedRows |= 1 << row;
+                }
+                return offsets[queens.size()] + rank;
+            }
+
+            @Override
+            public NQueensBoard getState(int index) {
+                int numQueens = 0;
+                while (offsets[numQueens + 1] <= index)
+                    numQueens++;
+                int rank = index - offsets[numQueens];
+                int[] digits = new int[numQueens];
+                for (int col = numQueens - 1; col >= 0; col--) {
+                    digits[col] = rank % (boardSize - col);
+                    rank /= boardSize - col;
+                }
+                NQueensBoard result = new NQueensBoard(boardSize);
+                int usedRows = 0;
+                for (int col = 0; col < numQueens; col++) {
+                    // the row is the free row with the given number of smaller free rows
+                    int row = 0;
+                    for (int smaller = digits[col]; (usedRows & (1 << row)) != 0 || smaller > 0; row++)
+                        if ((usedRows & (1 << row)) == 0)
+                            smaller--;
+                    usedRows |= 1 << row;
+                    result.addQueenAt(new XYLocation(col, row));
+                }
+                return result;
+            }
+        };
     }
 
     public static Problem<NQueensBoard, QueenAction> createCompleteStateFormulationProblem
             (int boardSize, NQueensBoard.Config config) {
-        return new GeneralProblem<>(new NQueensBoard(boardSize, config), NQueensFunctions::getCSFActions,
-                NQueensFunctions::getResult, NQueensFunctions::testGoal);
+        GeneralProblem<NQueensBoard, QueenAction> result = new GeneralProblem<>(new NQueensBoard(boardSize, config),
+                NQueensFunctions::getCSFActions, NQueensFunctions::getResult, NQueensFunctions::testGoal);
+        result.setStateFingerprinter(STATE_FINGERPRINTER);
+        return result;
+    }
+
+    /**
+     * Creates a complete-state formulation for large boards. States are
+     * represented by {@link ConflictCountingNQueensBoard}, and only min-conflicts
+     * moves are provided as actions (see {@link #getMinConflictsActions}). So
+     * local search algorithms like hill climbing and simulated annealing need
+     * time linear in the board size per step.
+     */
+    public static Problem<ConflictCountingNQueensBoard, QueenAction> createMinConflictsProblem
+            (int boardSize, NQueensBoard.Config config) {
+        return new GeneralProblem<>(new ConflictCountingNQueensBoard(boardSize, config),
+                NQueensFunctions::getMinConflictsActions, NQueensFunctions::getResult, NQueensFunctions::testGoal);
     }
 
     /**
@@ -68,13 +190,52 @@ public class NQueensFunctions {
         return actions;
     }
 
+    /**
+     * Implements an ACTIONS function for the complete-state formulation of the
+     * n-queens problem on large boards.
+     * <p>
+     * Assumes exactly one queen in each column. Like the min-conflicts
+     * heuristic for CSPs, it selects a randomly chosen attacked queen and
+     * provides one action, which moves this queen to another row of its column
+     * with a minimal number of attacks (ties are broken randomly). No actions
+     * are provided for goal states. Both choices need time linear in the board
+     * size.
+     */
+    public static List<QueenAction> getMinConflictsActions(ConflictCountingNQueensBoard state) {
+        List<QueenAction> actions = new ArrayList<>(1);
+        int size = state.getSize();
+        int col = -1;
+        int candidates = 0;
+        for (int i = 0; i < size; i++) {
+            // reservoir sampling
+            if (state.getNumberOfAttacksOn(i, state.getQueenRow(i)) > 0 && Util.randomInt(++candidates) == 0)
+                col = i;
+        }
+        if (col != -1) {
+            int bestRow = -1;
+            int minAttacks = Integer.MAX_VALUE;
+            for (int row = 0; row < size; row++) {
+                if (row != state.getQueenRow(col)) {
+                    int attacks = state.getNumberOfAttacksOn(col, row);
+                    if (attacks < minAttacks) {
+                        minAttacks = attacks;
+                        candidates = 0;
+                    }
+                    if (attacks == minAttacks && Util.randomInt(++candidates) == 0)
+                        bestRow = row;
+                }
+            }
+            actions.add(new QueenAction(QueenAction.MOVE_QUEEN, new XYLocation(col, bestRow)));
+        }
+        return actions;
+    }
+
     /**
      * Implements a RESULT function for the n-queens problem.
      * Supports queen placing, queen removal, and queen movement actions.
      */
     public static NQueensBoard getResult(NQueensBoard state, QueenAction action) {
-        NQueensBoard result = new NQueensBoard(state.getSize());
-        result.setQueensAt(state.getQueenPositions());
+        NQueensBoard result = new NQueensBoard(state);
         if (Objects.equals(action.getName(), QueenAction.PLACE_QUEEN))
             result.addQueenAt(action.getLocation());
         else if (Objects.equals(action.getName(), QueenAction.REMOVE_QUEEN))
@@ -86,12 +247,37 @@ public class NQueensFunctions {
         return result;
     }
 
+    /**
+     * Implements a RESULT function for boards with at most one queen per
+     * column. Supports the same actions as
+     * {@link #getResult(NQueensBoard, QueenAction)}, but placing a queen into
+     * an occupied column fails with an {@link IllegalArgumentException}.
+     */
+    public static ConflictCountingNQueensBoard getResult(ConflictCountingNQueensBoard state, QueenAction action) {
+        ConflictCountingNQueensBoard result = new ConflictCountingNQueensBoard(state);
+        if (Objects.equals(action.getName(), QueenAction.PLACE_QUEEN))
+            result.addQueenAt(action.getLocation());
+        else if (Objects.equals(action.getName(), QueenAction.REMOVE_QUEEN))
+            result.removeQueenFrom(action.getLocation());
+        else if (Objects.equals(action.getName(), QueenAction.MOVE_QUEEN))
+            result.moveQueenTo(action.getLocation());
+        return result;
+    }
+
     /**
      * Implements a GOAL-TEST for the n-queens problem.
      */
     public static boolean testGoal(NQueensBoard state) {
         return state.getNumberOfQueensOnBoard() == state.getSize() && state.getNumberOfAttackingPairs() == 0;
     }
+
+    /**
+     * Implements a GOAL-TEST for boards with at most one queen per column in
+     * constant time.
+     */
+    public static boolean testGoal(ConflictCountingNQueensBoard state) {
+        return state.getNumberOfQueensOnBoard() == state.getSize() && state.getNumberOfAttackingPairs() == 0;
+    }
     
     public static double getHeuristicProbabilisticEstimationOfSolution(Node<NQueensBoard, QueenAction> node) {
         NQueensBoard board = node.getState();
@@ -117,6 +303,49 @@ public class NQueensFunctions {
         return node.getState().getNumberOfAttackingPairs();
     }
     
+    /**
+     * Returns the number of attacking pairs of queens on the board, which is
+     * maintained by the board itself.
+     */
+    public static double getNumberOfConflicts(Node<ConflictCountingNQueensBoard, QueenAction> node) {
+        return node.getState().getNumberOfAttackingPairs();
+    }
+
+    /**
+     * Returns an incremental version of {@link #getNumberOfAttackingPairs(Node)}.
+     * Only the attacks on the squares changed by an action are counted.
+     */
+    public static IncrementalHeuristicFunction<NQueensBoard, QueenAction>
+    createIncrementalAttackingPairsHeuristicFunction() {
+        return IncrementalHeuristicFunction.of(NQueensBoard::getNumberOfAttackingPairs,
+                NQueensFunctions::updateNumberOfAttackingPairs);
+    }
+
+    private static double updateNumberOfAttackingPairs(double value, NQueensBoard parent, QueenAction action,
+                                                       NQueensBoard state) {
+        XYLocation loc = action.getLocation();
+        if (Objects.equals(action.getName(), QueenAction.PLACE_QUEEN) && !parent.queenExistsAt(loc))
+            return value + parent.getNumberOfAttacksOn(loc);
+        else if (Objects.equals(action.getName(), QueenAction.REMOVE_QUEEN) && parent.queenExistsAt(loc))
+            return value - state.getNumberOfAttacksOn(loc);
+        else if (Objects.equals(action.getName(), QueenAction.MOVE_QUEEN)) {
+            int oldRow = -1;
+            for (int row = 0; row < parent.getSize(); row++) {
+                if (parent.queenExistsAt(new XYLocation(loc.getX(), row))) {
+                    if (oldRow != -1)
+                        return state.getNumberOfAttackingPairs(); // not a complete-state board
+                    oldRow = row;
+                }
+            }
+            if (oldRow == -1)
+                return value + state.getNumberOfAttacksOn(loc);
+            if (oldRow != loc.getY())
+                return value - parent.getNumberOfAttacksOn(new XYLocation(loc.getX(), oldRow))
+                        + state.getNumberOfAttacksOn(loc);
+        }
+        return value;
+    }
+
     public static double getNumberOfAttackedQueens(Node<NQueensBoard, QueenAction> node) {
         NQueensBoard board = node.getState();
         return board.getQueenPositions().stream().filter(queenPos -> board.getNumberOfAttacksOn(queenPos) > 0).count();
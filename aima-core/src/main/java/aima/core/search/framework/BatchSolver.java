@@ -0,0 +1,318 @@
+package aima.core.search.framework;
+
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.QueueSearch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Solves many independent problem instances concurrently. Instances are taken
+ * from a stream and solved by a fixed number of worker threads. Each worker
+ * owns a search object created by the provided factory, as search
+ * implementations keep per-run state. At most two instances per worker are
+ * pending at any time, so streams may be arbitrarily long. Results are
+ * passed to a consumer in the calling thread as soon as they are available.
+ * Finally, aggregate statistics over all instances are returned.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (BatchSolver&lt;S, A&gt; solver = new BatchSolver&lt;&gt;(() -&gt; new AStarSearch&lt;&gt;(new GraphSearch&lt;&gt;(), h), 8)) {
+ *     BatchSolver.Statistics stats = solver.solve(problems, System.out::println);
+ * }
+ * </pre>
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class BatchSolver<S, A> implements AutoCloseable {
+
+	private final ExecutorService executor;
+	private final ThreadLocal<SearchForActions<S, A>> searches;
+	private final int maxPending;
+
+	/**
+	 * @param searchFactory
+	 *            creates a new search object (called once per worker thread).
+	 * @param threads
+	 *            number of worker threads.
+	 */
+	public BatchSolver(Supplier<? extends SearchForActions<S, A>> searchFactory, int threads) {
+		if (threads < 1)
+			throw new IllegalArgumentException("At least one thread is needed.");
+		executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "batch-solver");
+			thread.setDaemon(true);
+			return thread;
+		});
+		searches = ThreadLocal.withInitial(searchFactory);
+		maxPending = 2 * threads;
+	}
+
+	/**
+	 * Solves all problems of the stream.
+	 *
+	 * @param problems
+	 *            the problem instances.
+	 * @param resultConsumer
+	 *            receives the results in order of completion (called in the
+	 *            calling thread).
+	 * @return statistics over all instances.
+	 */
+	public Statistics solve(Stream<? extends Problem<S, A>> problems, Consumer<? super Result<S, A>> resultConsumer)
+			throws InterruptedException {
+		CompletionService<Result<S, A>> completionService = new ExecutorCompletionService<>(executor);
+		StatisticsBuilder stats = new StatisticsBuilder();
+		Iterator<? extends Problem<S, A>> iterator = problems.iterator();
+		int index = 0;
+		int pending = 0;
+		while (iterator.hasNext()) {
+			if (pending == maxPending) {
+				deliver(completionService.take(), stats, resultConsumer);
+				pending--;
+			}
+			Problem<S, A> problem = iterator.next();
+			int i = index++;
+			completionService.submit(() -> solve(i, problem));
+			pending++;
+		}
+		for (; pending > 0; pending--)
+			deliver(completionService.take(), stats, resultConsumer);
+		return stats.build();
+	}
+
+	/** Stops all worker threads. */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+		try {
+			executor.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	// runs in a worker thread
+	private Result<S, A> solve(int index, Problem<S, A> problem) {
+		SearchForActions<S, A> search = searches.get();
+		long start = System.nanoTime();
+		try {
+			Optional<List<A>> actions = search.findActions(problem);
+			return new Result<>(index, problem, actions, search.getMetrics().snapshot(),
+					System.nanoTime() - start, null);
+		} catch (RuntimeException e) {
+			return new Result<>(index, problem, Optional.empty(), search.getMetrics().snapshot(),
+					System.nanoTime() - start, e);
+		}
+	}
+
+	private void deliver(Future<Result<S, A>> future, StatisticsBuilder stats,
+						 Consumer<? super Result<S, A>> resultConsumer) throws InterruptedException {
+		Result<S, A> result;
+		try {
+			result = future.get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Unexpected failure of batch solver task.", e.getCause());
+		}
+		stats.add(result);
+		resultConsumer.accept(result);
+	}
+
+	/** Result of one problem instance. */
+	public static class Result<S, A> {
+		private final int index;
+		private final Problem<S, A> problem;
+		private final Optional<List<A>> actions;
+		private final Metrics metrics;
+		private final long nanos;
+		private final RuntimeException failure;
+
+		Result(int index, Problem<S, A> problem, Optional<List<A>> actions, Metrics metrics, long nanos,
+			   RuntimeException failure) {
+			this.index = index;
+			this.problem = problem;
+			this.actions = actions;
+			this.metrics = metrics;
+			this.nanos = nanos;
+			this.failure = failure;
+		}
+
+		/** Returns the position of the problem in the input stream. */
+		public int getIndex() {
+			return index;
+		}
+
+		public Problem<S, A> getProblem() {
+			return problem;
+		}
+
+		public Optional<List<A>> getActions() {
+			return actions;
+		}
+
+		/** Returns a snapshot of the search metrics after solving the problem. */
+		public Metrics getMetrics() {
+			return metrics;
+		}
+
+		public long getTimeNanos() {
+			return nanos;
+		}
+
+		/** Returns the exception thrown by the search, if any. */
+		public Optional<RuntimeException> getFailure() {
+			return Optional.ofNullable(failure);
+		}
+
+		@Override
+		public String toString() {
+			String status = failure != null ? "failed: " + failure : actions.isPresent()
+					? actions.get().size() + " actions" : "no solution";
+			return "Result[" + index + ": " + status + ", " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms, "
+					+ metrics + "]";
+		}
+	}
+
+	/** Mean and percentiles of a quantity measured for several instances. */
+	public static class Distribution {
+		private final double[] sortedValues;
+		private final double mean;
+
+		Distribution(List<Double> values) {
+			sortedValues = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+			mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+		}
+
+		public int getCount() {
+			return sortedValues.length;
+		}
+
+		public double getMean() {
+			return mean;
+		}
+
+		/** Returns the p-quantile (nearest rank), p between 0 and 1. */
+		public double getPercentile(double p) {
+			if (sortedValues.length == 0)
+				return Double.NaN;
+			int rank = (int) Math.ceil(p * sortedValues.length);
+			return sortedValues[Math.max(rank - 1, 0)];
+		}
+
+		public double getP50() {
+			return getPercentile(0.5);
+		}
+
+		public double getP99() {
+			return getPercentile(0.99);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("mean=%.2f, p50=%.2f, p99=%.2f", mean, getP50(), getP99());
+		}
+	}
+
+	/** Aggregate statistics over all instances of a batch. */
+	public static class Statistics {
+		private final int instances;
+		private final int solved;
+		private final int failed;
+		private final Distribution timeMillis;
+		private final Distribution nodesExpanded;
+		private final Distribution pathCost;
+
+		Statistics(int instances, int solved, int failed, Distribution timeMillis, Distribution nodesExpanded,
+				   Distribution pathCost) {
+			this.instances = instances;
+			this.solved = solved;
+			this.failed = failed;
+			this.timeMillis = timeMillis;
+			this.nodesExpanded = nodesExpanded;
+			this.pathCost = pathCost;
+		}
+
+		public int getInstances() {
+			return instances;
+		}
+
+		public int getSolved() {
+			return solved;
+		}
+
+		/** Returns the number of instances for which the search threw an exception. */
+		public int getFailed() {
+			return failed;
+		}
+
+		/** Returns the distribution of solving times in milliseconds. */
+		public Distribution getTimeMillis() {
+			return timeMillis;
+		}
+
+		/** Returns the distribution of the number of expanded nodes. */
+		public Distribution getNodesExpanded() {
+			return nodesExpanded;
+		}
+
+		/** Returns the distribution of path costs of the solved instances. */
+		public Distribution getPathCost() {
+			return pathCost;
+		}
+
+		@Override
+		public String toString() {
+			return "instances=" + instances + ", solved=" + solved + ", failed=" + failed
+					+ "\ntime [ms]: " + timeMillis + "\nnodes expanded: " + nodesExpanded
+					+ "\npath cost: " + pathCost;
+		}
+	}
+
+	private static class StatisticsBuilder {
+		int instances;
+		int solved;
+		int failed;
+		final List<Double> times = new ArrayList<>();
+		final List<Double> nodes = new ArrayList<>();
+		final List<Double> costs = new ArrayList<>();
+
+		void add(Result<?, ?> result) {
+			instances++;
+			times.add(result.getTimeNanos() / 1e6);
+			if (result.getFailure().isPresent()) {
+				failed++;
+				return;
+			}
+			double expanded = result.getMetrics().getDouble(QueueSearch.METRIC_NODES_EXPANDED);
+			if (!Double.isNaN(expanded))
+				nodes.add(expanded);
+			if (result.getActions().isPresent()) {
+				solved++;
+				double cost = result.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST);
+				if (!Double.isNaN(cost))
+					costs.add(cost);
+			}
+		}
+
+		Statistics build() {
+			return new Statistics(instances, solved, failed, new Distribution(times), new Distribution(nodes),
+					new Distribution(costs));
+		}
+	}
+}
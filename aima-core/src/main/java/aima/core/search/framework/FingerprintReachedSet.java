@@ -0,0 +1,147 @@
+package aima.core.search.framework;
+
+import aima.core.search.framework.problem.StateFingerprinter;
+
+import java.util.Arrays;
+
+/**
+ * Reached set which stores 64 bit state fingerprints in an open-addressing
+ * hash table of primitive longs (linear probing). States are not referenced,
+ * so memory requirements are about 8 bytes per slot, plus 8 bytes if path
+ * costs are stored, plus the size of the state encoding if the fingerprinter
+ * provides one for collision checks.
+ *
+ * @param <S> The type used to represent states
+ */
+public class FingerprintReachedSet<S> implements ReachedSet<S> {
+
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final double MAX_LOAD = 0.6;
+
+	private final StateFingerprinter<S> fingerprinter;
+	private final boolean storePathCosts;
+	private long[] keys;
+	private long[] used; // bit set of occupied slots
+	private double[] costs;
+	private byte[][] encodings; // created when the first encoding is stored
+	private int size;
+
+	/**
+	 * @param fingerprinter
+	 *            computes fingerprints and (optionally) encodings of states.
+	 * @param storePathCosts
+	 *            if false, {@link #getPathCost(Object)} returns 0 for all
+	 *            reached states.
+	 */
+	public FingerprintReachedSet(StateFingerprinter<S> fingerprinter, boolean storePathCosts) {
+		this.fingerprinter = fingerprinter;
+		this.storePathCosts = storePathCosts;
+		allocate(INITIAL_CAPACITY);
+	}
+
+	@Override
+	public double getPathCost(S state) {
+		int slot = findSlot(fingerprinter.getFingerprint(state), fingerprinter.getEncoding(state));
+		if (!isUsed(slot))
+			return Double.NaN;
+		return storePathCosts ? costs[slot] : 0;
+	}
+
+	@Override
+	public boolean put(S state, double pathCost) {
+		long key = fingerprinter.getFingerprint(state);
+		byte[] encoding = fingerprinter.getEncoding(state);
+		int slot = findSlot(key, encoding);
+		boolean added = !isUsed(slot);
+		if (added) {
+			keys[slot] = key;
+			used[slot >>> 6] |= 1L << slot;
+			if (encoding != null) {
+				if (encodings == null)
+					encodings = new byte[keys.length][];
+				encodings[slot] = encoding;
+			}
+			size++;
+		}
+		if (storePathCosts)
+			costs[slot] = pathCost;
+		if (added && size > keys.length * MAX_LOAD)
+			rehash(keys.length * 2);
+		return added;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		if (keys.length > INITIAL_CAPACITY) {
+			allocate(INITIAL_CAPACITY);
+		} else {
+			Arrays.fill(used, 0);
+			encodings = null;
+		}
+		size = 0;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private boolean isUsed(int slot) {
+		return (used[slot >>> 6] & (1L << slot)) != 0;
+	}
+
+	// returns the slot of the key or the empty slot where it should be inserted
+	private int findSlot(long key, byte[] encoding) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (isUsed(slot) && (keys[slot] != key || !matches(slot, encoding)))
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private boolean matches(int slot, byte[] encoding) {
+		return encoding == null || encodings == null || encodings[slot] == null
+				|| Arrays.equals(encodings[slot], encoding);
+	}
+
+	private static int hash(long key) {
+		key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+		key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return (int) (key ^ (key >>> 33));
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		used = new long[(capacity + 63) >>> 6];
+		costs = storePathCosts ? new double[capacity] : null;
+		encodings = null;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		long[] oldUsed = used;
+		double[] oldCosts = costs;
+		byte[][] oldEncodings = encodings;
+		allocate(capacity);
+		if (oldEncodings != null)
+			encodings = new byte[capacity][];
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if ((oldUsed[i >>> 6] & (1L << i)) != 0) {
+				int slot = hash(oldKeys[i]) & mask;
+				while (isUsed(slot))
+					slot = (slot + 1) & mask;
+				keys[slot] = oldKeys[i];
+				used[slot >>> 6] |= 1L << slot;
+				if (costs != null)
+					costs[slot] = oldCosts[i];
+				if (oldEncodings != null)
+					encodings[slot] = oldEncodings[i];
+			}
+		}
+	}
+}
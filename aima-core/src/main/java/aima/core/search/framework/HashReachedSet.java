@@ -0,0 +1,39 @@
+package aima.core.search.framework;
+
+import java.util.HashMap;
+
+/**
+ * Reached set which uses the states as keys of a hash map.
+ *
+ * @param <S> The type used to represent states
+ */
+public class HashReachedSet<S> implements ReachedSet<S> {
+
+	private final HashMap<S, Double> pathCosts = new HashMap<>();
+
+	@Override
+	public double getPathCost(S state) {
+		Double result = pathCosts.get(state);
+		return result != null ? result : Double.NaN;
+	}
+
+	@Override
+	public boolean contains(S state) {
+		return pathCosts.containsKey(state);
+	}
+
+	@Override
+	public boolean put(S state, double pathCost) {
+		return pathCosts.put(state, pathCost) == null;
+	}
+
+	@Override
+	public int size() {
+		return pathCosts.size();
+	}
+
+	@Override
+	public void clear() {
+		pathCosts.clear();
+	}
+}
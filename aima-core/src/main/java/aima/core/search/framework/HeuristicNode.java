@@ -0,0 +1,31 @@
+package aima.core.search.framework;
+
+/**
+ * Node which additionally stores the value of an incremental heuristic
+ * function for its state. The value is computed once when the node is created
+ * and serves as basis for the values of the successors.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class HeuristicNode<S, A> extends Node<S, A> {
+
+	private final IncrementalHeuristicFunction<S, A> heuristicFunction;
+	private final double heuristicValue;
+
+	public HeuristicNode(S state, Node<S, A> parent, A action, double pathCost,
+						 IncrementalHeuristicFunction<S, A> heuristicFunction, double heuristicValue) {
+		super(state, parent, action, pathCost);
+		this.heuristicFunction = heuristicFunction;
+		this.heuristicValue = heuristicValue;
+	}
+
+	/** Returns the function which computed the heuristic value. */
+	public IncrementalHeuristicFunction<S, A> getHeuristicFunction() {
+		return heuristicFunction;
+	}
+
+	public double getHeuristicValue() {
+		return heuristicValue;
+	}
+}
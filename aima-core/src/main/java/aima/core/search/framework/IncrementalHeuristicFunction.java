@@ -0,0 +1,73 @@
+package aima.core.search.framework;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Heuristic function which can compute the value of a child node from the
+ * value of its parent. Many heuristics are sums over the parts of a state
+ * (e.g. tiles or queens), and an action changes only a few of them. Then the
+ * update is much cheaper than a full evaluation.
+ * <p>
+ * A {@link NodeFactory} configured with an incremental heuristic (see
+ * {@link NodeFactory#setIncrementalHeuristicFunction(IncrementalHeuristicFunction)})
+ * computes the values when nodes are created and stores them in
+ * {@link HeuristicNode}s. The values are available to
+ * {@link #applyAsDouble(Node)} without further computation. For other nodes,
+ * the heuristic is evaluated from scratch. Best-first searches configure
+ * their node factories automatically.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public interface IncrementalHeuristicFunction<S, A> extends ToDoubleFunction<Node<S, A>> {
+
+	/** Computes the heuristic value of the state from scratch. */
+	double evaluate(S state);
+
+	/**
+	 * Computes the heuristic value of a state from the value of its
+	 * predecessor.
+	 *
+	 * @param parentValue
+	 *            heuristic value of the parent state.
+	 * @param parentState
+	 *            the state to which the action was applied.
+	 * @param action
+	 *            the applied action.
+	 * @param state
+	 *            the resulting state.
+	 */
+	double update(double parentValue, S parentState, A action, S state);
+
+	/** Returns the stored value if available, otherwise evaluates the state. */
+	@Override
+	default double applyAsDouble(Node<S, A> node) {
+		if (node instanceof HeuristicNode) {
+			HeuristicNode<S, A> hNode = (HeuristicNode<S, A>) node;
+			if (hNode.getHeuristicFunction() == this)
+				return hNode.getHeuristicValue();
+		}
+		return evaluate(node.getState());
+	}
+
+	/** Functional interface for the update part of incremental heuristics. */
+	@FunctionalInterface
+	interface Update<S, A> {
+		double apply(double parentValue, S parentState, A action, S state);
+	}
+
+	/** Combines a full evaluation function and an update function. */
+	static <S, A> IncrementalHeuristicFunction<S, A> of(ToDoubleFunction<S> evaluate, Update<S, A> update) {
+		return new IncrementalHeuristicFunction<S, A>() {
+			@Override
+			public double evaluate(S state) {
+				return evaluate.applyAsDouble(state);
+			}
+
+			@Override
+			public double update(double parentValue, S parentState, A action, S state) {
+				return update.apply(parentValue, parentState, action, state);
+			}
+		};
+	}
+}
@@ -0,0 +1,83 @@
+package aima.core.search.framework;
+
+import aima.core.search.framework.problem.StateIndexer;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Reached set for enumerable state spaces, which stores state indices (see
+ * {@link StateIndexer}) instead of states. Without path costs, the set is a
+ * bit set. Otherwise, path costs are stored in pages of double arrays, which
+ * are allocated when the first state of their index range is reached. No
+ * objects are created per state.
+ *
+ * @param <S> The type used to represent states
+ */
+public class IndexedReachedSet<S> implements ReachedSet<S> {
+
+	private static final int PAGE_BITS = 12;
+	private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+	private final StateIndexer<S> indexer;
+	private final boolean storePathCosts;
+	private final BitSet reached = new BitSet();
+	private final double[][] pages;
+	private int size;
+
+	/**
+	 * @param storePathCosts
+	 *            if false, path costs are not stored and
+	 *            {@link #getPathCost(Object)} returns 0 for all reached states.
+	 */
+	public IndexedReachedSet(StateIndexer<S> indexer, boolean storePathCosts) {
+		this.indexer = indexer;
+		this.storePathCosts = storePathCosts;
+		pages = storePathCosts ? new double[(indexer.getIndexCount() + PAGE_SIZE - 1) >>> PAGE_BITS][] : null;
+	}
+
+	@Override
+	public double getPathCost(S state) {
+		int index = indexer.getIndex(state);
+		if (!reached.get(index))
+			return Double.NaN;
+		return storePathCosts ? pages[index >>> PAGE_BITS][index & (PAGE_SIZE - 1)] : 0;
+	}
+
+	@Override
+	public boolean contains(S state) {
+		return reached.get(indexer.getIndex(state));
+	}
+
+	@Override
+	public boolean put(S state, double pathCost) {
+		int index = indexer.getIndex(state);
+		boolean isNew = !reached.get(index);
+		if (isNew) {
+			reached.set(index);
+			size++;
+		}
+		if (storePathCosts) {
+			double[] page = pages[index >>> PAGE_BITS];
+			if (page == null) {
+				page = new double[PAGE_SIZE];
+				pages[index >>> PAGE_BITS] = page;
+			}
+			page[index & (PAGE_SIZE - 1)] = pathCost;
+		}
+		return isNew;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		reached.clear();
+		if (storePathCosts)
+			Arrays.fill(pages, null);
+		size = 0;
+	}
+}
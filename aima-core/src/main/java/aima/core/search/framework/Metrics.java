@@ -1,64 +1,546 @@
 package aima.core.search.framework;
 
-import java.util.Hashtable;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Supplier;
 
 /**
  * Stores key-value pairs for efficiency analysis.
- * 
+ * <p>
+ * Values are kept in typed, thread-safe handles ({@link Counter},
+ * {@link Gauge}, {@link Accumulator}, {@link Timer}, {@link Histogram}) which can be obtained
+ * once and updated without any lookup or string conversion. This makes
+ * instrumentation cheap enough to be used on every node expansion, also if a
+ * search runs in several threads. The name-based setters and getters are
+ * provided for compatibility and convenience. They access the same handles.
+ *
  * @author Ravi Mohan
  * @author Ruediger Lunde
  */
 public class Metrics {
-	private Hashtable<String, String> hash;
+	private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
 
-	public Metrics() {
-		this.hash = new Hashtable<String, String>();
+	/**
+	 * Returns the counter with the given name. A new counter is registered if
+	 * the name is unknown.
+	 *
+	 * @throws IllegalStateException
+	 *             if the name is used by another kind of metric.
+	 */
+	public Counter counter(String name) {
+		return getOrCreate(name, Counter.class, Counter::new);
+	}
+
+	/** Returns the gauge with the given name (see {@link #counter(String)}). */
+	public Gauge gauge(String name) {
+		return getOrCreate(name, Gauge.class, Gauge::new);
+	}
+
+	/** Returns the timer with the given name (see {@link #counter(String)}). */
+	public Timer timer(String name) {
+		return getOrCreate(name, Timer.class, Timer::new);
+	}
+
+	/** Returns the histogram with the given name (see {@link #counter(String)}). */
+	public Histogram histogram(String name) {
+		return getOrCreate(name, Histogram.class, Histogram::new);
+	}
+
+	/**
+	 * Returns the accumulator with the given name (see
+	 * {@link #counter(String)}). The function and identity are only used if a
+	 * new accumulator is registered.
+	 */
+	public Accumulator accumulator(String name, DoubleBinaryOperator function, double identity) {
+		return getOrCreate(name, Accumulator.class, () -> new Accumulator(function, identity));
 	}
 
 	public void set(String name, int i) {
-		hash.put(name, Integer.toString(i));
+		set(name, (long) i);
 	}
 
 	public void set(String name, double d) {
-		hash.put(name, Double.toString(d));
+		Metric metric = metrics.get(name);
+		if (metric == null)
+			metric = metrics.computeIfAbsent(name, k -> new Gauge());
+		metric.set(d);
 	}
 
 	public void incrementInt(String name) {
-		set(name, getInt(name) + 1);
+		Metric metric = metrics.get(name);
+		if (metric instanceof Counter)
+			((Counter) metric).increment();
+		else if (metric instanceof Gauge)
+			((Gauge) metric).add(1);
+		else
+			counter(name).increment();
 	}
 
 	public void set(String name, long l) {
-		hash.put(name, Long.toString(l));
+		Metric metric = metrics.get(name);
+		if (metric == null)
+			metric = metrics.computeIfAbsent(name, k -> new Gauge());
+		metric.set(l);
 	}
 
 	public int getInt(String name) {
-		String value = hash.get(name);
-		return value != null ? Integer.parseInt(value) : 0;
+		Metric metric = metrics.get(name);
+		return metric != null ? (int) metric.longValue() : 0;
 	}
 
 	public double getDouble(String name) {
-		String value = hash.get(name);
-		return value != null ? Double.parseDouble(value) : Double.NaN;
+		Metric metric = metrics.get(name);
+		return metric != null ? metric.doubleValue() : Double.NaN;
 	}
 
 	public long getLong(String name) {
-		String value = hash.get(name);
-		return value != null ? Long.parseLong(value) : 0l;
+		Metric metric = metrics.get(name);
+		return metric != null ? metric.longValue() : 0l;
 	}
 
 	public String get(String name) {
-		return hash.get(name);
+		Metric metric = metrics.get(name);
+		return metric != null ? metric.toString() : null;
 	}
 
 	public Set<String> keySet() {
-		return hash.keySet();
+		return metrics.keySet();
+	}
+
+	/**
+	 * Returns a copy of all metrics. Later updates of this object do not
+	 * affect the copy.
+	 */
+	public Metrics snapshot() {
+		Metrics result = new Metrics();
+		metrics.forEach((name, metric) -> result.metrics.put(name, metric.copy()));
+		return result;
 	}
 
 	/** Sorts the key-value pairs by key names and formats them as equations. */
 	public String toString() {
-		TreeMap<String, String> map = new TreeMap<String, String>(hash);
+		TreeMap<String, String> map = new TreeMap<String, String>();
+		metrics.forEach((name, metric) -> map.put(name, metric.toString()));
 		return map.toString();
 	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private <M extends Metric> M getOrCreate(String name, Class<M> type, Supplier<M> factory) {
+		Metric metric = metrics.get(name);
+		if (metric == null)
+			metric = metrics.computeIfAbsent(name, k -> factory.get());
+		if (!type.isInstance(metric))
+			throw new IllegalStateException("Metric " + name + " is a " + metric.getClass().getSimpleName() + ".");
+		return type.cast(metric);
+	}
+
+	/** Base class of all metric handles. */
+	public static abstract class Metric {
+		abstract long longValue();
+
+		abstract double doubleValue();
+
+		/** Replaces the current value (used by the name-based setters). */
+		abstract void set(long value);
+
+		/** Replaces the current value. Metrics with long values truncate it. */
+		void set(double value) {
+			set((long) value);
+		}
+
+		abstract Metric copy();
+	}
+
+	/**
+	 * Monotonic counter based on a {@link LongAdder}. Increments from
+	 * different threads do not contend.
+	 */
+	public static class Counter extends Metric {
+		private final LongAdder value = new LongAdder();
+
+		public void increment() {
+			value.increment();
+		}
+
+		public void add(long delta) {
+			value.add(delta);
+		}
+
+		public long get() {
+			return value.sum();
+		}
+
+		/** Sets the counter to zero. Not atomic with concurrent updates. */
+		public void reset() {
+			value.reset();
+		}
+
+		@Override
+		long longValue() {
+			return value.sum();
+		}
+
+		@Override
+		double doubleValue() {
+			return value.sum();
+		}
+
+		@Override
+		void set(long l) {
+			value.reset();
+			value.add(l);
+		}
+
+		@Override
+		Counter copy() {
+			Counter result = new Counter();
+			result.add(value.sum());
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return Long.toString(value.sum());
+		}
+	}
+
+	/**
+	 * Holds the current value of a quantity, either as long or as double. The
+	 * string representation depends on the type of the last value set.
+	 */
+	public static class Gauge extends Metric {
+		// long value or double bits, depending on isDouble
+		private final AtomicLong bits = new AtomicLong();
+		private volatile boolean isDouble;
+
+		public void set(long value) {
+			isDouble = false;
+			bits.set(value);
+		}
+
+		public void set(double value) {
+			isDouble = true;
+			bits.set(Double.doubleToRawLongBits(value));
+		}
+
+		/** Adds the delta to the current long value. */
+		public void add(long delta) {
+			if (isDouble)
+				set((long) doubleValue() + delta);
+			else
+				bits.addAndGet(delta);
+		}
+
+		/** Sets the long value to the maximum of the current and the given value. */
+		public void updateMax(long value) {
+			if (isDouble)
+				set(Math.max((long) doubleValue(), value));
+			else if (bits.get() < value)
+				bits.accumulateAndGet(value, Math::max);
+		}
+
+		public long get() {
+			return longValue();
+		}
+
+		@Override
+		long longValue() {
+			return isDouble ? (long) Double.longBitsToDouble(bits.get()) : bits.get();
+		}
+
+		@Override
+		double doubleValue() {
+			return isDouble ? Double.longBitsToDouble(bits.get()) : bits.get();
+		}
+
+		@Override
+		Gauge copy() {
+			Gauge result = new Gauge();
+			result.isDouble = isDouble;
+			result.bits.set(bits.get());
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return isDouble ? Double.toString(doubleValue()) : Long.toString(bits.get());
+		}
+	}
+
+	/**
+	 * Combines double values by a {@link DoubleAccumulator} (e.g. sums or
+	 * maxima of values reported by several threads).
+	 */
+	public static class Accumulator extends Metric {
+		private final DoubleAccumulator value;
+		private final DoubleBinaryOperator function;
+		private final double identity;
+
+		Accumulator(DoubleBinaryOperator function, double identity) {
+			value = new DoubleAccumulator(function, identity);
+			this.function = function;
+			this.identity = identity;
+		}
+
+		public void accumulate(double x) {
+			value.accumulate(x);
+		}
+
+		public double get() {
+			return value.get();
+		}
+
+		/** Resets the value to identity. Not atomic with concurrent updates. */
+		public void reset() {
+			value.reset();
+		}
+
+		@Override
+		long longValue() {
+			return (long) value.get();
+		}
+
+		@Override
+		double doubleValue() {
+			return value.get();
+		}
+
+		@Override
+		void set(long l) {
+			value.reset();
+			value.accumulate(l);
+		}
+
+		@Override
+		void set(double d) {
+			value.reset();
+			value.accumulate(d);
+		}
+
+		@Override
+		Accumulator copy() {
+			Accumulator result = new Accumulator(function, identity);
+			result.accumulate(value.get());
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return Double.toString(value.get());
+		}
+	}
+
+	/**
+	 * Measures elapsed time. Durations of several measurements (possibly in
+	 * different threads) are summed up. The value is reported in milliseconds.
+	 */
+	public static class Timer extends Metric {
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder count = new LongAdder();
+
+		/** Returns a start time stamp to be passed to {@link #stop(long)}. */
+		public long start() {
+			return System.nanoTime();
+		}
+
+		/** Adds the time elapsed since the given start time stamp. */
+		public void stop(long start) {
+			nanos.add(System.nanoTime() - start);
+			count.increment();
+		}
+
+		public long getNanos() {
+			return nanos.sum();
+		}
+
+		public long getMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(nanos.sum());
+		}
+
+		/** Returns the number of measurements. */
+		public long getCount() {
+			return count.sum();
+		}
+
+		public void reset() {
+			nanos.reset();
+			count.reset();
+		}
+
+		@Override
+		long longValue() {
+			return getMillis();
+		}
+
+		@Override
+		double doubleValue() {
+			return getMillis();
+		}
+
+		@Override
+		void set(long millis) {
+			reset();
+			nanos.add(TimeUnit.MILLISECONDS.toNanos(millis));
+		}
+
+		@Override
+		void set(double millis) {
+			reset();
+			nanos.add((long) (millis * 1e6));
+		}
+
+		@Override
+		Timer copy() {
+			Timer result = new Timer();
+			result.nanos.add(nanos.sum());
+			result.count.add(count.sum());
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return Long.toString(getMillis());
+		}
+	}
+
+	/**
+	 * Records the distribution of non-negative long values (e.g. durations in
+	 * nanoseconds) with bounded relative error. Values are counted in buckets
+	 * of logarithmically growing width: each power of two is divided into
+	 * {@value #SUB_BUCKET_COUNT} buckets, so quantiles are exact up to
+	 * {@value #SUB_BUCKET_COUNT} and accurate within about 3% above. Recording
+	 * takes constant time and allocates nothing. The name-based getters report
+	 * the number of recorded values.
+	 */
+	public static class Histogram extends Metric {
+		private static final int SUB_BUCKET_BITS = 5;
+		private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+		private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+		private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+		private final LongAdder count = new LongAdder();
+		private final LongAdder total = new LongAdder();
+		private final AtomicLong max = new AtomicLong();
+
+		/** Adds a value. Negative values are recorded as 0. */
+		public void record(long value) {
+			if (value < 0)
+				value = 0;
+			counts.incrementAndGet(getBucket(value));
+			count.increment();
+			total.add(value);
+			if (max.get() < value)
+				max.accumulateAndGet(value, Math::max);
+		}
+
+		/** Returns the number of recorded values. */
+		public long getCount() {
+			return count.sum();
+		}
+
+		/** Returns the sum of all recorded values. */
+		public long getTotal() {
+			return total.sum();
+		}
+
+		public double getMean() {
+			long n = count.sum();
+			return n > 0 ? (double) total.sum() / n : 0;
+		}
+
+		public long getMax() {
+			return max.get();
+		}
+
+		/**
+		 * Returns an upper bound of the smallest value, which is at least as
+		 * large as the given percentage of all recorded values.
+		 *
+		 * @param percentile
+		 *            a number between 0 and 100.
+		 */
+		public long getPercentile(double percentile) {
+			long n = count.sum();
+			if (n == 0)
+				return 0;
+			long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+			long seen = 0;
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				seen += counts.get(i);
+				if (seen >= rank)
+					return Math.min(getBucketEnd(i), max.get());
+			}
+			return max.get();
+		}
+
+		public void reset() {
+			for (int i = 0; i < BUCKET_COUNT; i++)
+				counts.set(i, 0);
+			count.reset();
+			total.reset();
+			max.set(0);
+		}
+
+		// values below 2 * SUB_BUCKET_COUNT have a bucket of their own
+		static int getBucket(long value) {
+			if (value < SUB_BUCKET_COUNT)
+				return (int) value;
+			int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+			return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+		}
+
+		// largest value of the bucket
+		static long getBucketEnd(int bucket) {
+			if (bucket < 2 * SUB_BUCKET_COUNT)
+				return bucket;
+			int shift = bucket / SUB_BUCKET_COUNT - 1;
+			long start = (long) (bucket % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << shift;
+			return start + (1L << shift) - 1;
+		}
+
+		@Override
+		long longValue() {
+			return count.sum();
+		}
+
+		@Override
+		double doubleValue() {
+			return count.sum();
+		}
+
+		/** Clears the histogram and records the value once. */
+		@Override
+		void set(long value) {
+			reset();
+			record(value);
+		}
+
+		@Override
+		Histogram copy() {
+			Histogram result = new Histogram();
+			for (int i = 0; i < BUCKET_COUNT; i++)
+				result.counts.set(i, counts.get(i));
+			result.count.add(count.sum());
+			result.total.add(total.sum());
+			result.max.set(max.get());
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return "[count=" + getCount() + ", mean=" + Math.round(getMean()) + ", p50=" + getPercentile(50)
+					+ ", p99=" + getPercentile(99) + ", max=" + getMax() + "]";
+		}
+	}
 }
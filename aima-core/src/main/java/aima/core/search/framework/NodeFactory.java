@@ -3,13 +3,21 @@ package aima.core.search.framework;
 import aima.core.search.framework.problem.Problem;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Instances of this class are responsible for node creation and successor generation. They
  * compute path costs, support progress tracking, and count the number of
- * {@link #getSuccessors(Node, Problem)} calls.
+ * {@link #getSuccessors(Node, Problem)} calls. If an incremental heuristic
+ * function is set, {@link HeuristicNode}s are created, whose heuristic values
+ * are computed from the values of their parents.
  *
  * @param <S> The type used to represent states
  * @param <A> The type of the actions to be used to navigate through the state space
@@ -20,6 +28,8 @@ public class NodeFactory<S, A> {
 
 	protected boolean useParentLinks = true;
 
+	protected IncrementalHeuristicFunction<S, A> heuristicFunction;
+
 	/**
 	 * Modifies {@link #useParentLinks} and returns this node factory. When
 	 * using local search to search for states, parent links are not needed and
@@ -30,6 +40,14 @@ public class NodeFactory<S, A> {
 		return this;
 	}
 
+	/**
+	 * Sets the heuristic function whose values are stored in the created
+	 * nodes. Null disables heuristic nodes.
+	 */
+	public void setIncrementalHeuristicFunction(IncrementalHeuristicFunction<S, A> h) {
+		heuristicFunction = h;
+	}
+
 	///////////////////////////////////////////////////////////////////////
 	// expanding nodes
 
@@ -37,6 +55,8 @@ public class NodeFactory<S, A> {
 	 * Factory method, which creates a node for the specified state.
 	 */
 	public Node<S, A> createNode(S state) {
+		if (heuristicFunction != null)
+			return new HeuristicNode<>(state, null, null, 0.0, heuristicFunction, heuristicFunction.evaluate(state));
 		return new Node<>(state);
 	}
 
@@ -49,6 +69,12 @@ public class NodeFactory<S, A> {
 	 */
 	public Node<S, A> createNode(S state, Node<S, A> parent, A action, double stepCost) {
 		Node<S, A> p = useParentLinks ? parent : null;
+		if (heuristicFunction != null) {
+			// parent links are not needed, the parent is at hand
+			double h = heuristicFunction.update(heuristicFunction.applyAsDouble(parent), parent.getState(), action,
+					state);
+			return new HeuristicNode<>(state, p, action, parent.getPathCost() + stepCost, heuristicFunction, h);
+		}
 		return new Node<>(state, p, action, parent.getPathCost() + stepCost);
 	}
 
@@ -76,6 +102,53 @@ public class NodeFactory<S, A> {
 		return successors;
 	}
 
+	/**
+	 * Expands the specified node lazily. Listeners are informed immediately,
+	 * but successor states and nodes are computed one by one when requested.
+	 * Searches which stop expansion early (e.g. because of an early goal test)
+	 * or process children one at a time (e.g. depth-first search) save the
+	 * computation of the remaining successors and do not need to hold them in
+	 * memory.
+	 *
+	 * @param node
+	 *            the node to expand
+	 * @param problem
+	 *            the problem the specified node is within.
+	 *
+	 * @return an iterator, which returns the same nodes as
+	 *         {@link #getSuccessors(Node, Problem)} in the same order.
+	 */
+	public Iterator<Node<S, A>> iterateSuccessors(Node<S, A> node, Problem<S, A> problem) {
+		Iterator<A> actions = problem.getActions(node.getState()).iterator();
+		notifyListeners(node);
+		return new Iterator<Node<S, A>>() {
+			@Override
+			public boolean hasNext() {
+				return actions.hasNext();
+			}
+
+			@Override
+			public Node<S, A> next() {
+				if (!actions.hasNext())
+					throw new NoSuchElementException();
+				A action = actions.next();
+				S successorState = problem.getResult(node.getState(), action);
+				double stepCost = problem.getStepCosts(node.getState(), action, successorState);
+				return createNode(successorState, node, action, stepCost);
+			}
+		};
+	}
+
+	/**
+	 * Returns a sequential stream of the children obtained from lazily
+	 * expanding the specified node (see
+	 * {@link #iterateSuccessors(Node, Problem)}).
+	 */
+	public Stream<Node<S, A>> streamSuccessors(Node<S, A> node, Problem<S, A> problem) {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterateSuccessors(node, problem),
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
 	///////////////////////////////////////////////////////////////////////
 	// progress tracking
 
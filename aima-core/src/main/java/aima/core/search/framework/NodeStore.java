@@ -0,0 +1,160 @@
+package aima.core.search.framework;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores search tree nodes in growable parallel arrays (struct of arrays)
+ * instead of {@link Node} objects. A node is represented by an int handle.
+ * For each node, the store holds the state, the handle of the parent, the
+ * index of the action which led to the node, the path cost g, and a heuristic
+ * value h. Actions are stored once in a dictionary, so the per-node overhead
+ * is reduced to a state reference, two ints, and two doubles.
+ * <p>
+ * {@link Node} objects are only created on demand by {@link #getNode(int)},
+ * e.g. for node listeners and solution extraction. The dictionary compares
+ * actions by <code>equals</code>. Actions without value semantics are stored
+ * once per node.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class NodeStore<S, A> {
+
+	/** Parent handle of root nodes. */
+	public static final int NO_NODE = -1;
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private Object[] states = new Object[INITIAL_CAPACITY];
+	private int[] parents = new int[INITIAL_CAPACITY];
+	private int[] actionIndices = new int[INITIAL_CAPACITY];
+	private double[] pathCosts = new double[INITIAL_CAPACITY];
+	private double[] hValues = new double[INITIAL_CAPACITY];
+	private int size;
+
+	private final List<A> actions = new ArrayList<>();
+	private final Map<A, Integer> actionIndexMap = new HashMap<>();
+
+	/**
+	 * Adds a root node.
+	 *
+	 * @return the handle of the new node.
+	 */
+	public int addRoot(S state, double h) {
+		return add(state, NO_NODE, null, 0, h);
+	}
+
+	/**
+	 * Adds a node.
+	 *
+	 * @param parent
+	 *            handle of the parent node or {@link #NO_NODE}.
+	 * @param action
+	 *            the action which leads from the parent state to the state.
+	 * @return the handle of the new node.
+	 */
+	public int add(S state, int parent, A action, double pathCost, double h) {
+		if (size == states.length)
+			grow();
+		int handle = size++;
+		states[handle] = state;
+		parents[handle] = parent;
+		actionIndices[handle] = action != null ? getActionIndex(action) : -1;
+		pathCosts[handle] = pathCost;
+		hValues[handle] = h;
+		return handle;
+	}
+
+	@SuppressWarnings("unchecked")
+	public S getState(int handle) {
+		return (S) states[handle];
+	}
+
+	public int getParent(int handle) {
+		return parents[handle];
+	}
+
+	public A getAction(int handle) {
+		int i = actionIndices[handle];
+		return i != -1 ? actions.get(i) : null;
+	}
+
+	public double getPathCost(int handle) {
+		return pathCosts[handle];
+	}
+
+	public double getH(int handle) {
+		return hValues[handle];
+	}
+
+	/** Returns the sum of path cost and heuristic value. */
+	public double getF(int handle) {
+		return pathCosts[handle] + hValues[handle];
+	}
+
+	/** Returns the number of stored nodes. */
+	public int size() {
+		return size;
+	}
+
+	/** Removes all nodes. The capacity is kept. */
+	public void clear() {
+		Arrays.fill(states, 0, size, null);
+		size = 0;
+		actions.clear();
+		actionIndexMap.clear();
+	}
+
+	/**
+	 * Creates a node object for the handle. The parent links of the result
+	 * are materialized too, so that the result can be passed to
+	 * {@link SearchUtils#toActions(java.util.Optional)}.
+	 */
+	public Node<S, A> getNode(int handle) {
+		int depth = 0;
+		for (int h = handle; h != NO_NODE; h = parents[h])
+			depth++;
+		int[] path = new int[depth];
+		for (int h = handle; h != NO_NODE; h = parents[h])
+			path[--depth] = h;
+		Node<S, A> result = null;
+		for (int h : path)
+			result = new Node<>(getState(h), result, getAction(h), pathCosts[h]);
+		return result;
+	}
+
+	/**
+	 * Creates a node object without parent, which is sufficient for
+	 * heuristic functions and goal tests.
+	 */
+	public Node<S, A> getNodeView(int handle) {
+		return new Node<>(getState(handle), null, getAction(handle), pathCosts[handle]);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private int getActionIndex(A action) {
+		Integer index = actionIndexMap.get(action);
+		if (index == null) {
+			index = actions.size();
+			actions.add(action);
+			actionIndexMap.put(action, index);
+		}
+		return index;
+	}
+
+	private void grow() {
+		int capacity = states.length + (states.length >> 1);
+		states = Arrays.copyOf(states, capacity);
+		parents = Arrays.copyOf(parents, capacity);
+		actionIndices = Arrays.copyOf(actionIndices, capacity);
+		pathCosts = Arrays.copyOf(pathCosts, capacity);
+		hValues = Arrays.copyOf(hValues, capacity);
+	}
+}
@@ -32,6 +32,7 @@ public abstract class QueueBasedSearch<S, A> implements SearchForActions<S, A>,
 	@Override
 	public Optional<List<A>> findActions(Problem<S, A> p) {
 		impl.getNodeFactory().useParentLinks(true);
+		Queue<Node<S, A>> frontier = getFrontier(p);
 		frontier.clear();
 		Optional<Node<S, A>> node = impl.findNode(p, frontier);
 		return SearchUtils.toActions(node);
@@ -40,11 +41,22 @@ public abstract class QueueBasedSearch<S, A> implements SearchForActions<S, A>,
 	@Override
 	public Optional<S> findState(Problem<S, A> p) {
 		impl.getNodeFactory().useParentLinks(false);
+		Queue<Node<S, A>> frontier = getFrontier(p);
 		frontier.clear();
 		Optional<Node<S, A>> node = impl.findNode(p, frontier);
 		return SearchUtils.toState(node);
 	}
 
+	/**
+	 * Returns the queue to be used as frontier for the given problem. The
+	 * default implementation returns the queue which was specified at
+	 * construction time. Subclasses can override this method to select queue
+	 * implementations which exploit properties of the problem.
+	 */
+	protected Queue<Node<S, A>> getFrontier(Problem<S, A> p) {
+		return frontier;
+	}
+
 	@Override
 	public Metrics getMetrics() {
 		return impl.getMetrics();
@@ -1,6 +1,13 @@
 package aima.core.search.framework;
 
+import aima.core.search.framework.problem.Problem;
+import aima.core.util.datastructure.AdaptivePriorityQueue;
+import aima.core.util.datastructure.BucketPriorityQueue;
+import aima.core.util.datastructure.IndexedPriorityQueue;
+
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Factory class for queues. Changes made here will affect all queue based
@@ -18,6 +25,72 @@ public class QueueFactory {
 		return new PriorityQueue<E>(11, comparator);
 	}
 
+	/**
+	 * Returns an {@link IndexedPriorityQueue} which stores at most one element
+	 * per key and supports decrease-key in O(log n). Note that the smallest
+	 * element comes first!
+	 */
+	public static <E> Queue<E> createIndexedPriorityQueue(Comparator<? super E> comparator,
+														  Function<? super E, ?> keyFn) {
+		return new IndexedPriorityQueue<>(comparator, keyFn);
+	}
+
+	/**
+	 * Returns an {@link IndexedPriorityQueue} for nodes which uses the node
+	 * states as keys. Graph search implementations use it to replace frontier
+	 * nodes of the same state instead of keeping stale duplicates.
+	 */
+	public static <S, A> Queue<Node<S, A>> createNodePriorityQueue(Comparator<? super Node<S, A>> comparator) {
+		return new IndexedPriorityQueue<>(comparator, Node::getState);
+	}
+
+	/**
+	 * Returns a priority queue for nodes which is ordered by the given
+	 * evaluation function. If the problem declares integer step costs, an
+	 * {@link AdaptivePriorityQueue} is returned, which keeps nodes in buckets
+	 * indexed by evaluation values as long as these values are integers, and
+	 * prefers nodes with high path costs on ties. Otherwise, a standard java
+	 * {@link PriorityQueue} is returned.
+	 */
+	public static <S, A> Queue<Node<S, A>> createPriorityQueue(Problem<S, A> problem,
+															   ToDoubleFunction<Node<S, A>> evalFn) {
+		if (problem.hasIntegerStepCosts())
+			return new AdaptivePriorityQueue<>(evalFn, Node::getPathCost,
+					BucketPriorityQueue.TieBreaking.HIGH_FIRST, true);
+		return createPriorityQueue(Comparator.comparing(evalFn::applyAsDouble));
+	}
+
+	/**
+	 * Returns a {@link BucketPriorityQueue} for nodes. Buckets are indexed by
+	 * the rounded up evaluation values, ties are broken by path costs. This
+	 * preserves the order of nodes if step costs are integers, and evaluation
+	 * values are non-negative and bounded by
+	 * {@link BucketPriorityQueue#MAX_PRIORITY}.
+	 */
+	public static <S, A> Queue<Node<S, A>> createBucketQueue(ToDoubleFunction<Node<S, A>> evalFn,
+															 BucketPriorityQueue.TieBreaking tieBreaking,
+															 boolean lifo) {
+		return new BucketPriorityQueue<>(node -> (int) Math.ceil(evalFn.applyAsDouble(node)),
+				node -> (int) Math.round(node.getPathCost()), tieBreaking, lifo);
+	}
+
+	/**
+	 * Returns the comparator of priority queues created by this factory, or
+	 * null if the queue is not ordered by a comparator.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> Comparator<? super E> getComparator(Queue<E> queue) {
+		if (queue instanceof PriorityQueue<?>)
+			return ((PriorityQueue<E>) queue).comparator();
+		if (queue instanceof IndexedPriorityQueue<?>)
+			return ((IndexedPriorityQueue<E>) queue).comparator();
+		if (queue instanceof AdaptivePriorityQueue<?>)
+			return ((AdaptivePriorityQueue<E>) queue).comparator();
+		if (queue instanceof BucketPriorityQueue<?>)
+			return ((BucketPriorityQueue<E>) queue).comparator();
+		return null;
+	}
+
 	/**
 	 * Returns a Last-in-first-out (Lifo) view on a {@link LinkedList}.
 	 */
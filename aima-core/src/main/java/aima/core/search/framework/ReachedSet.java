@@ -0,0 +1,58 @@
+package aima.core.search.framework;
+
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateFingerprinter;
+import aima.core.search.framework.problem.StateIndexer;
+
+/**
+ * Set of states reached during graph search together with the cost of the
+ * best path found for each state. Implementations differ in what they store
+ * as keys: {@link HashReachedSet} keeps the state objects,
+ * {@link FingerprintReachedSet} only 64 bit state fingerprints, and
+ * {@link IndexedReachedSet} only dense state indices.
+ *
+ * @param <S> The type used to represent states
+ */
+public interface ReachedSet<S> {
+
+	/**
+	 * Returns the cost of the best path found for the state, or NaN if the
+	 * state has not been reached yet.
+	 */
+	double getPathCost(S state);
+
+	/** Checks whether the state has been reached. */
+	default boolean contains(S state) {
+		return !Double.isNaN(getPathCost(state));
+	}
+
+	/**
+	 * Adds the state or updates its path cost.
+	 *
+	 * @return true if the state was not contained in the set.
+	 */
+	boolean put(S state, double pathCost);
+
+	int size();
+
+	void clear();
+
+	/**
+	 * Creates a reached set for the problem. If the problem supplies a
+	 * {@link StateIndexer}, an {@link IndexedReachedSet} is returned, else if
+	 * it supplies a {@link StateFingerprinter}, a
+	 * {@link FingerprintReachedSet}, otherwise a {@link HashReachedSet}.
+	 *
+	 * @param storePathCosts
+	 *            if false, path costs are not stored and
+	 *            {@link #getPathCost(Object)} returns 0 for all reached states.
+	 */
+	static <S> ReachedSet<S> create(Problem<S, ?> problem, boolean storePathCosts) {
+		StateIndexer<S> indexer = problem.getStateIndexer();
+		if (indexer != null)
+			return new IndexedReachedSet<>(indexer, storePathCosts);
+		StateFingerprinter<S> fingerprinter = problem.getStateFingerprinter();
+		return fingerprinter != null ? new FingerprintReachedSet<>(fingerprinter, storePathCosts)
+				: new HashReachedSet<>();
+	}
+}
@@ -0,0 +1,186 @@
+package aima.core.search.framework;
+
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.util.Tasks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Limits for a single search run: expanded nodes, frontier size, heap usage,
+ * and a deadline. A budget can be applied to any {@link SearchForActions} or
+ * {@link SearchForStates} implementation, which checks for cancellation
+ * regularly (see {@link Tasks#currIsCancelled()}). While the search runs, the
+ * limits are checked on each cancellation check. When a limit is exceeded,
+ * the search is cancelled and a {@link SearchOutcome} with the reason is
+ * returned:
+ * <pre>
+ * SearchBudget budget = new SearchBudget().setMaxNodesExpanded(100000).setTimeLimit(10000000);
+ * SearchOutcome&lt;S, A&gt; outcome = budget.findActions(search, problem);
+ * </pre>
+ * If an evaluation function is provided (e.g. the one of a best-first
+ * search), the outcome reports the largest value of all expanded nodes as
+ * f bound. Node counts and frontier sizes are taken from the metrics
+ * {@link QueueSearch#METRIC_NODES_EXPANDED} and
+ * {@link QueueSearch#METRIC_QUEUE_SIZE} of the search. Heap usage is
+ * approximated by the growth of the used heap of the JVM since the start of
+ * the search, which is sampled every {@value #MEMORY_CHECK_INTERVAL} checks.
+ * Limits are only checked in the calling thread. Budgets can be reused for
+ * several runs but not concurrently.
+ */
+public class SearchBudget {
+
+	public static final long UNLIMITED = Long.MAX_VALUE;
+
+	private static final int MEMORY_CHECK_INTERVAL = 1024;
+
+	private long maxNodesExpanded = UNLIMITED;
+	private long maxFrontierSize = UNLIMITED;
+	private long maxHeapBytes = UNLIMITED;
+	private long deadline = UNLIMITED;
+	private long timeLimit = UNLIMITED;
+
+	// state of the current run
+	private SearchOutcome.Status exceeded;
+	private long usedHeapAtStart;
+	private int checks;
+	private double fBound;
+
+	/** Sets the maximal number of node expansions. */
+	public SearchBudget setMaxNodesExpanded(long maxNodesExpanded) {
+		this.maxNodesExpanded = maxNodesExpanded;
+		return this;
+	}
+
+	/** Sets the maximal number of frontier nodes. */
+	public SearchBudget setMaxFrontierSize(long maxFrontierSize) {
+		this.maxFrontierSize = maxFrontierSize;
+		return this;
+	}
+
+	/** Sets the maximal growth of the used heap in bytes. */
+	public SearchBudget setMaxHeapBytes(long maxHeapBytes) {
+		this.maxHeapBytes = maxHeapBytes;
+		return this;
+	}
+
+	/**
+	 * Sets an absolute deadline in terms of {@link System#nanoTime()}. This is
+	 * useful if several searches share a time slice.
+	 */
+	public SearchBudget setDeadline(long deadlineNanos) {
+		deadline = deadlineNanos;
+		return this;
+	}
+
+	/** Sets the maximal duration of each run in nanoseconds. */
+	public SearchBudget setTimeLimit(long timeLimitNanos) {
+		timeLimit = timeLimitNanos;
+		return this;
+	}
+
+	/** Runs an action search within this budget. */
+	public <S, A> SearchOutcome<S, A> findActions(SearchForActions<S, A> search, Problem<S, A> problem) {
+		return findActions(search, problem, null);
+	}
+
+	/**
+	 * Runs an action search within this budget and tracks the f bound.
+	 *
+	 * @param evalFn
+	 *            the evaluation function of the search or null.
+	 */
+	public <S, A> SearchOutcome<S, A> findActions(SearchForActions<S, A> search, Problem<S, A> problem,
+												  ToDoubleFunction<Node<S, A>> evalFn) {
+		Optional<List<A>> actions = run(search.getMetrics(), evalFn, search::addNodeListener,
+				search::removeNodeListener, () -> search.findActions(problem));
+		return createOutcome(actions.isPresent(), actions, Optional.empty(), search.getMetrics());
+	}
+
+	/** Runs a state search within this budget. */
+	public <S, A> SearchOutcome<S, A> findState(SearchForStates<S, A> search, Problem<S, A> problem) {
+		return findState(search, problem, null);
+	}
+
+	/**
+	 * Runs a state search within this budget and tracks the f bound.
+	 *
+	 * @param evalFn
+	 *            the evaluation function of the search or null.
+	 */
+	public <S, A> SearchOutcome<S, A> findState(SearchForStates<S, A> search, Problem<S, A> problem,
+												ToDoubleFunction<Node<S, A>> evalFn) {
+		Optional<S> state = run(search.getMetrics(), evalFn, search::addNodeListener,
+				search::removeNodeListener, () -> search.findState(problem));
+		return createOutcome(state.isPresent(), Optional.empty(), state, search.getMetrics());
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private <S, A, T> T run(Metrics metrics, ToDoubleFunction<Node<S, A>> evalFn,
+							Consumer<Consumer<Node<S, A>>> addListener, Consumer<Consumer<Node<S, A>>> removeListener,
+							Supplier<T> task) {
+		exceeded = null;
+		checks = 0;
+		fBound = Double.NaN;
+		usedHeapAtStart = maxHeapBytes != UNLIMITED ? getUsedHeap() : 0;
+		long start = System.nanoTime();
+		long end = timeLimit != UNLIMITED ? Math.min(deadline, start + timeLimit) : deadline;
+
+		Consumer<Node<S, A>> boundTracker = null;
+		if (evalFn != null) {
+			boundTracker = node -> {
+				double f = evalFn.applyAsDouble(node);
+				if (Double.isNaN(fBound) || f > fBound)
+					fBound = f;
+			};
+			addListener.accept(boundTracker);
+		}
+		try {
+			return Tasks.executeWithCancellationCheck(() -> isExceeded(metrics, end), task);
+		} finally {
+			if (boundTracker != null)
+				removeListener.accept(boundTracker);
+		}
+	}
+
+	private boolean isExceeded(Metrics metrics, long end) {
+		if (exceeded == null) {
+			if (metrics.getLong(QueueSearch.METRIC_NODES_EXPANDED) > maxNodesExpanded)
+				exceeded = SearchOutcome.Status.NODE_LIMIT_EXCEEDED;
+			else if (metrics.getLong(QueueSearch.METRIC_QUEUE_SIZE) > maxFrontierSize)
+				exceeded = SearchOutcome.Status.FRONTIER_LIMIT_EXCEEDED;
+			else if (end != UNLIMITED && System.nanoTime() - end > 0)
+				exceeded = SearchOutcome.Status.DEADLINE_EXCEEDED;
+			else if (maxHeapBytes != UNLIMITED && ++checks % MEMORY_CHECK_INTERVAL == 0
+					&& getUsedHeap() - usedHeapAtStart > maxHeapBytes)
+				exceeded = SearchOutcome.Status.MEMORY_LIMIT_EXCEEDED;
+		}
+		return exceeded != null;
+	}
+
+	private <S, A> SearchOutcome<S, A> createOutcome(boolean solved, Optional<List<A>> actions, Optional<S> state,
+													 Metrics metrics) {
+		SearchOutcome.Status status;
+		if (solved)
+			status = SearchOutcome.Status.SOLVED;
+		else if (exceeded != null)
+			status = exceeded;
+		else if (Tasks.currIsCancelled())
+			status = SearchOutcome.Status.CANCELLED;
+		else
+			status = SearchOutcome.Status.FAILED;
+		return new SearchOutcome<>(status, actions, state, fBound, metrics.snapshot());
+	}
+
+	private static long getUsedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,85 @@
+package aima.core.search.framework;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Result of a search run under a {@link SearchBudget}. Besides the solution
+ * (if any), it tells why the search stopped and how far it got.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class SearchOutcome<S, A> {
+
+	public enum Status {
+		/** A solution was found. */
+		SOLVED,
+		/** The search finished without solution. */
+		FAILED,
+		NODE_LIMIT_EXCEEDED,
+		FRONTIER_LIMIT_EXCEEDED,
+		MEMORY_LIMIT_EXCEEDED,
+		DEADLINE_EXCEEDED,
+		/** The task was cancelled from outside. */
+		CANCELLED
+	}
+
+	private final Status status;
+	private final Optional<List<A>> actions;
+	private final Optional<S> state;
+	private final double fBound;
+	private final Metrics metrics;
+
+	public SearchOutcome(Status status, Optional<List<A>> actions, Optional<S> state, double fBound,
+						 Metrics metrics) {
+		this.status = status;
+		this.actions = actions;
+		this.state = state;
+		this.fBound = fBound;
+		this.metrics = metrics;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public boolean isSolved() {
+		return status == Status.SOLVED;
+	}
+
+	/** Checks whether the search was stopped because a limit was exceeded. */
+	public boolean isBudgetExceeded() {
+		return status != Status.SOLVED && status != Status.FAILED && status != Status.CANCELLED;
+	}
+
+	/** Returns the actions found by an action search. */
+	public Optional<List<A>> getActions() {
+		return actions;
+	}
+
+	/** Returns the state found by a state search. */
+	public Optional<S> getState() {
+		return state;
+	}
+
+	/**
+	 * Returns the largest evaluation function value of all expanded nodes, or
+	 * NaN if unknown. For A* with a consistent heuristic, all frontier nodes
+	 * have at least this f value, so it is a lower bound of the optimal
+	 * solution costs if the search was stopped.
+	 */
+	public double getFBound() {
+		return fBound;
+	}
+
+	/** Returns a snapshot of the search metrics taken when the search stopped. */
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public String toString() {
+		return "SearchOutcome[status=" + status + ", fBound=" + fBound + ", metrics=" + metrics + "]";
+	}
+}
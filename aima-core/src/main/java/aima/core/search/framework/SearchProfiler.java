@@ -0,0 +1,229 @@
+package aima.core.search.framework;
+
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateFingerprinter;
+import aima.core.search.framework.problem.StateIndexer;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Opt-in profiling of the phases of a search. The profiler wraps the problem,
+ * the heuristic or evaluation function, and the frontier, and records the
+ * duration of each call in nanoseconds in a {@link Metrics.Histogram} per
+ * phase. Histograms are registered in a metrics object, usually the one of
+ * the profiled search, so that they show up in its metrics:
+ * <pre>
+ * AStarSearch&lt;S, A&gt; search = new AStarSearch&lt;&gt;(new GraphSearch&lt;&gt;(), h);
+ * SearchProfiler profiler = new SearchProfiler(search.getMetrics());
+ * search.setHeuristicFunction(profiler.profile(h));
+ * search.findActions(profiler.profile(problem));
+ * System.out.println(profiler.getReport());
+ * </pre>
+ * Frontiers can be profiled by passing a wrapped queue to
+ * {@link aima.core.search.framework.qsearch.QueueSearch#findNode(Problem, Queue)}.
+ * Each measurement adds the costs of two <code>System.nanoTime()</code>
+ * calls, so profile results of very cheap operations are inflated. Wrapped
+ * heuristics are not incremental anymore, and wrapped bidirectional problems
+ * are not bidirectional anymore.
+ */
+public class SearchProfiler {
+
+	public static final String METRIC_ACTIONS_NANOS = "actionsNanos";
+	public static final String METRIC_RESULT_NANOS = "resultNanos";
+	public static final String METRIC_STEP_COSTS_NANOS = "stepCostsNanos";
+	public static final String METRIC_GOAL_TEST_NANOS = "goalTestNanos";
+	public static final String METRIC_FINGERPRINT_NANOS = "fingerprintNanos";
+	public static final String METRIC_HEURISTIC_NANOS = "heuristicNanos";
+	public static final String METRIC_FRONTIER_NANOS = "frontierNanos";
+
+	private final Metrics.Histogram actions;
+	private final Metrics.Histogram result;
+	private final Metrics.Histogram stepCosts;
+	private final Metrics.Histogram goalTest;
+	private final Metrics.Histogram fingerprint;
+	private final Metrics.Histogram heuristic;
+	private final Metrics.Histogram frontier;
+	private final Map<String, Metrics.Histogram> phases = new LinkedHashMap<>();
+
+	public SearchProfiler() {
+		this(new Metrics());
+	}
+
+	/** Creates a profiler, which registers its histograms in the given metrics object. */
+	public SearchProfiler(Metrics metrics) {
+		actions = addPhase(metrics, METRIC_ACTIONS_NANOS);
+		result = addPhase(metrics, METRIC_RESULT_NANOS);
+		stepCosts = addPhase(metrics, METRIC_STEP_COSTS_NANOS);
+		goalTest = addPhase(metrics, METRIC_GOAL_TEST_NANOS);
+		fingerprint = addPhase(metrics, METRIC_FINGERPRINT_NANOS);
+		heuristic = addPhase(metrics, METRIC_HEURISTIC_NANOS);
+		frontier = addPhase(metrics, METRIC_FRONTIER_NANOS);
+	}
+
+	/** Returns a problem, which measures the calls of the given problem. */
+	public <S, A> Problem<S, A> profile(Problem<S, A> problem) {
+		StateFingerprinter<S> fingerprinter = problem.getStateFingerprinter();
+		StateFingerprinter<S> profiledFingerprinter = fingerprinter == null ? null : state -> {
+			long start = System.nanoTime();
+			long fp = fingerprinter.getFingerprint(state);
+			fingerprint.record(System.nanoTime() - start);
+			return fp;
+		};
+		return new Problem<S, A>() {
+			@Override
+			public S getInitialState() {
+				return problem.getInitialState();
+			}
+
+			@Override
+			public List<A> getActions(S state) {
+				long start = System.nanoTime();
+				List<A> value = problem.getActions(state);
+				actions.record(System.nanoTime() - start);
+				return value;
+			}
+
+			@Override
+			public S getResult(S state, A action) {
+				long start = System.nanoTime();
+				S value = problem.getResult(state, action);
+				result.record(System.nanoTime() - start);
+				return value;
+			}
+
+			@Override
+			public boolean testGoal(S state) {
+				long start = System.nanoTime();
+				boolean value = problem.testGoal(state);
+				goalTest.record(System.nanoTime() - start);
+				return value;
+			}
+
+			@Override
+			public double getStepCosts(S state, A action, S stateDelta) {
+				long start = System.nanoTime();
+				double value = problem.getStepCosts(state, action, stateDelta);
+				stepCosts.record(System.nanoTime() - start);
+				return value;
+			}
+
+			@Override
+			public boolean testSolution(Node<S, A> node) {
+				long start = System.nanoTime();
+				boolean value = problem.testSolution(node);
+				goalTest.record(System.nanoTime() - start);
+				return value;
+			}
+
+			@Override
+			public boolean hasIntegerStepCosts() {
+				return problem.hasIntegerStepCosts();
+			}
+
+			@Override
+			public StateFingerprinter<S> getStateFingerprinter() {
+				return profiledFingerprinter;
+			}
+
+			@Override
+			public StateIndexer<S> getStateIndexer() {
+				return problem.getStateIndexer();
+			}
+		};
+	}
+
+	/** Returns a heuristic or evaluation function, which measures the calls of the given function. */
+	public <S, A> ToDoubleFunction<Node<S, A>> profile(ToDoubleFunction<Node<S, A>> h) {
+		return node -> {
+			long start = System.nanoTime();
+			double value = h.applyAsDouble(node);
+			heuristic.record(System.nanoTime() - start);
+			return value;
+		};
+	}
+
+	/** Returns a queue, which measures insertions and removals of the given queue. */
+	public <E> Queue<E> profile(Queue<E> queue) {
+		return new AbstractQueue<E>() {
+			@Override
+			public boolean offer(E e) {
+				long start = System.nanoTime();
+				boolean value = queue.offer(e);
+				frontier.record(System.nanoTime() - start);
+				return value;
+			}
+
+			@Override
+			public E poll() {
+				long start = System.nanoTime();
+				E value = queue.poll();
+				frontier.record(System.nanoTime() - start);
+				return value;
+			}
+
+			@Override
+			public E peek() {
+				return queue.peek();
+			}
+
+			@Override
+			public Iterator<E> iterator() {
+				return queue.iterator();
+			}
+
+			@Override
+			public int size() {
+				return queue.size();
+			}
+
+			@Override
+			public boolean isEmpty() {
+				return queue.isEmpty();
+			}
+		};
+	}
+
+	/** Returns the histogram of the phase with the given metric name. */
+	public Metrics.Histogram getHistogram(String name) {
+		return phases.get(name);
+	}
+
+	/** Clears all histograms. */
+	public void reset() {
+		phases.values().forEach(Metrics.Histogram::reset);
+	}
+
+	/**
+	 * Returns a table with one line per phase, which was called at least once,
+	 * showing the number of calls, total and mean time, some percentiles, and
+	 * the share of the total time of all phases.
+	 */
+	public String getReport() {
+		long sum = 0;
+		for (Metrics.Histogram h : phases.values())
+			sum += h.getTotal();
+		StringBuilder result = new StringBuilder();
+		result.append(String.format("%-16s %10s %12s %9s %9s %9s %9s %6s%n", "phase", "calls", "total[us]",
+				"mean[ns]", "p50[ns]", "p99[ns]", "max[ns]", "share"));
+		for (Map.Entry<String, Metrics.Histogram> entry : phases.entrySet()) {
+			Metrics.Histogram h = entry.getValue();
+			if (h.getCount() > 0)
+				result.append(String.format("%-16s %10d %12d %9.0f %9d %9d %9d %5.1f%%%n", entry.getKey(),
+						h.getCount(), h.getTotal() / 1000, h.getMean(), h.getPercentile(50), h.getPercentile(99),
+						h.getMax(), sum > 0 ? 100.0 * h.getTotal() / sum : 0));
+		}
+		return result.toString();
+	}
+
+	private Metrics.Histogram addPhase(Metrics metrics, String name) {
+		Metrics.Histogram result = metrics.histogram(name);
+		phases.put(name, result);
+		return result;
+	}
+}
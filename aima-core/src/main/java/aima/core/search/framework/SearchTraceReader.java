@@ -0,0 +1,127 @@
+package aima.core.search.framework;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decodes trace files written by {@link SearchTraceRecorder}. A trace file
+ * starts with the magic number {@link SearchTraceRecorder#MAGIC} and the format
+ * version (both int). It is followed by records of
+ * {@link SearchTraceRecorder#RECORD_SIZE} bytes each: state hash code (int), g,
+ * h, f (float), depth, and frontier size (int). Data is stored in big-endian
+ * byte order.
+ * <p>
+ * The main method prints a trace file in CSV format.
+ */
+public class SearchTraceReader {
+
+	/** Decoded trace record. */
+	public static class Record {
+		private final int stateHash;
+		private final float g;
+		private final float h;
+		private final float f;
+		private final int depth;
+		private final int frontierSize;
+
+		public Record(int stateHash, float g, float h, float f, int depth, int frontierSize) {
+			this.stateHash = stateHash;
+			this.g = g;
+			this.h = h;
+			this.f = f;
+			this.depth = depth;
+			this.frontierSize = frontierSize;
+		}
+
+		public int getStateHash() {
+			return stateHash;
+		}
+
+		public float getG() {
+			return g;
+		}
+
+		public float getH() {
+			return h;
+		}
+
+		public float getF() {
+			return f;
+		}
+
+		public int getDepth() {
+			return depth;
+		}
+
+		public int getFrontierSize() {
+			return frontierSize;
+		}
+
+		/** Returns the record as comma separated values (see {@link #CSV_HEADER}). */
+		public String toCsv() {
+			return stateHash + "," + g + "," + h + "," + f + "," + depth + "," + frontierSize;
+		}
+
+		@Override
+		public String toString() {
+			return "Record[hash=" + stateHash + ", g=" + g + ", h=" + h + ", f=" + f + ", depth=" + depth
+					+ ", frontier=" + frontierSize + "]";
+		}
+	}
+
+	public static final String CSV_HEADER = "hash,g,h,f,depth,frontier";
+
+	/**
+	 * Decodes all records of the specified trace file and passes them to the
+	 * consumer.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be read or is not a valid trace file.
+	 */
+	public static void forEach(Path file, Consumer<Record> action) throws IOException {
+		try (InputStream in = Files.newInputStream(file);
+			 DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16))) {
+			if (data.readInt() != SearchTraceRecorder.MAGIC)
+				throw new IOException("Not a search trace: " + file);
+			int version = data.readInt();
+			if (version != SearchTraceRecorder.VERSION)
+				throw new IOException("Unsupported search trace version: " + version);
+			while (true) {
+				int hash;
+				try {
+					hash = data.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				action.accept(new Record(hash, data.readFloat(), data.readFloat(), data.readFloat(),
+						data.readInt(), data.readInt()));
+			}
+		}
+	}
+
+	/** Returns all records of the specified trace file. */
+	public static List<Record> readAll(Path file) throws IOException {
+		List<Record> result = new ArrayList<>();
+		forEach(file, result::add);
+		return result;
+	}
+
+	/** Prints the trace file given as first argument in CSV format. */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: SearchTraceReader <trace file>");
+			return;
+		}
+		System.out.println(CSV_HEADER);
+		forEach(Paths.get(args[0]), record -> System.out.println(record.toCsv()));
+	}
+}
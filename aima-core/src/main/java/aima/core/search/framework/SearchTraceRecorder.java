@@ -0,0 +1,197 @@
+package aima.core.search.framework;
+
+import aima.core.search.framework.qsearch.QueueSearch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Node listener which records expanded nodes as compact binary records in a
+ * trace file. Each record contains state hash code, g, h, f, depth, and
+ * frontier size (see {@link SearchTraceReader} for the format). Records are
+ * collected in a ring of buffers. Full buffers are written to the file by a
+ * background thread, so the search thread never waits for I/O unless all
+ * buffers are full. With a sampling rate of n, only every n-th expanded node
+ * is recorded.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (SearchTraceRecorder&lt;S, A&gt; recorder = SearchTraceRecorder.attach(search, h, file, 1)) {
+ *     search.findActions(problem);
+ * }
+ * </pre>
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class SearchTraceRecorder<S, A> implements Consumer<Node<S, A>>, AutoCloseable {
+
+	/** File header: magic number ("ASTR") followed by format version. */
+	public static final int MAGIC = 0x41535452;
+	public static final int VERSION = 1;
+	/** Size of one record: int hash, float g, float h, float f, int depth, int frontier size. */
+	public static final int RECORD_SIZE = 24;
+
+	private static final int BUFFER_COUNT = 4;
+	private static final int BUFFER_SIZE = RECORD_SIZE * 4096;
+	private static final ByteBuffer END_OF_TRACE = ByteBuffer.allocate(0);
+
+	private final ToDoubleFunction<Node<S, A>> h;
+	private final IntSupplier frontierSize;
+	private final int samplingRate;
+	private final FileChannel channel;
+	private final BlockingQueue<ByteBuffer> freeBuffers = new ArrayBlockingQueue<>(BUFFER_COUNT);
+	private final BlockingQueue<ByteBuffer> fullBuffers = new ArrayBlockingQueue<>(BUFFER_COUNT + 1);
+	private final Thread writer;
+
+	private ByteBuffer current;
+	private long expansions;
+	private long records;
+	private boolean closed;
+	private volatile IOException writeException;
+
+	/**
+	 * Creates a recorder which writes to the specified file.
+	 *
+	 * @param file
+	 *            the trace file (replaced if it exists).
+	 * @param h
+	 *            heuristic function used to compute h and f = g + h.
+	 * @param frontierSize
+	 *            provides the current size of the frontier.
+	 * @param samplingRate
+	 *            only every n-th expanded node is recorded (n &gt;= 1).
+	 */
+	public SearchTraceRecorder(Path file, ToDoubleFunction<Node<S, A>> h, IntSupplier frontierSize,
+							   int samplingRate) throws IOException {
+		if (samplingRate < 1)
+			throw new IllegalArgumentException("Sampling rate must be positive.");
+		this.h = h;
+		this.frontierSize = frontierSize;
+		this.samplingRate = samplingRate;
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		for (int i = 0; i < BUFFER_COUNT; i++)
+			freeBuffers.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+		current = freeBuffers.poll();
+		current.putInt(MAGIC).putInt(VERSION);
+		writer = new Thread(this::writeBuffers, "search-trace-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Creates a recorder and adds it as node listener to the search. The
+	 * frontier size is taken from the search metrics (see
+	 * {@link QueueSearch#METRIC_QUEUE_SIZE}).
+	 */
+	public static <S, A> SearchTraceRecorder<S, A> attach(SearchForActions<S, A> search,
+														  ToDoubleFunction<Node<S, A>> h, Path file,
+														  int samplingRate) throws IOException {
+		Metrics metrics = search.getMetrics();
+		SearchTraceRecorder<S, A> result = new SearchTraceRecorder<>(file, h,
+				() -> metrics.getInt(QueueSearch.METRIC_QUEUE_SIZE), samplingRate);
+		search.addNodeListener(result);
+		return result;
+	}
+
+	/** Records the expanded node (if selected by sampling). */
+	@Override
+	public void accept(Node<S, A> node) {
+		if (closed || expansions++ % samplingRate != 0)
+			return;
+		double g = node.getPathCost();
+		double hValue = h.applyAsDouble(node);
+		if (current.remaining() < RECORD_SIZE)
+			switchBuffer();
+		current.putInt(node.getState().hashCode()).putFloat((float) g).putFloat((float) hValue)
+				.putFloat((float) (g + hValue)).putInt(getDepth(node)).putInt(frontierSize.getAsInt());
+		records++;
+	}
+
+	/** Returns the number of records written so far. */
+	public long getRecordCount() {
+		return records;
+	}
+
+	/**
+	 * Writes all pending records, stops the writer thread, and closes the
+	 * file. Node listener calls after closing are ignored.
+	 *
+	 * @throws IOException
+	 *             if writing failed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
+		try {
+			current.flip();
+			fullBuffers.put(current);
+			fullBuffers.put(END_OF_TRACE);
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			writer.interrupt();
+		} finally {
+			channel.close();
+		}
+		if (writeException != null)
+			throw writeException;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void switchBuffer() {
+		if (writeException != null)
+			throw new IllegalStateException("Writing search trace failed.", writeException);
+		current.flip();
+		try {
+			fullBuffers.put(current);
+			current = freeBuffers.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for trace buffer.", e);
+		}
+	}
+
+	// runs in the writer thread
+	private void writeBuffers() {
+		try {
+			while (true) {
+				ByteBuffer buffer = fullBuffers.take();
+				if (buffer == END_OF_TRACE)
+					break;
+				try {
+					if (writeException == null)
+						while (buffer.hasRemaining())
+							channel.write(buffer);
+				} catch (IOException e) {
+					writeException = e;
+				}
+				buffer.clear();
+				freeBuffers.put(buffer);
+			}
+		} catch (InterruptedException e) {
+			// recorder closed by interruption
+		}
+	}
+
+	private static int getDepth(Node<?, ?> node) {
+		int result = 0;
+		for (Node<?, ?> n = node.getParent(); n != null; n = n.getParent())
+			result++;
+		return result;
+	}
+}
@@ -21,6 +21,9 @@ public class GeneralProblem<S, A> implements Problem<S, A> {
     private BiFunction<S, A, S> resultFn;
     private Predicate<S> goalTest;
     private StepCostFunction<S, A> stepCostFn;
+    private boolean integerStepCosts;
+    private StateFingerprinter<S> stateFingerprinter;
+    private StateIndexer<S> stateIndexer;
 
     /**
      * Constructs a problem with the specified components, which includes a step
@@ -70,6 +73,7 @@ public class GeneralProblem<S, A> implements Problem<S, A> {
     public GeneralProblem(S initialState, Function<S, List<A>> actionsFn,  BiFunction<S, A, S> resultFn,
                           Predicate<S> goalTest) {
         this(initialState, actionsFn, resultFn, goalTest, (s, a, sPrimed) -> 1.0);
+        integerStepCosts = true;
     }
 
     public S getInitialState() {
@@ -91,4 +95,48 @@ public class GeneralProblem<S, A> implements Problem<S, A> {
     public double getStepCosts(S state, A action, S statePrimed) {
         return stepCostFn.applyAsDouble(state, action, statePrimed);
     }
+
+    /**
+     * Returns true if the problem was constructed with the default step cost
+     * function or if integer step costs have been declared explicitly.
+     */
+    @Override
+    public boolean hasIntegerStepCosts() {
+        return integerStepCosts;
+    }
+
+    /**
+     * Declares whether the step cost function returns non-negative integers
+     * only.
+     */
+    public void setIntegerStepCosts(boolean integerStepCosts) {
+        this.integerStepCosts = integerStepCosts;
+    }
+
+    @Override
+    public StateFingerprinter<S> getStateFingerprinter() {
+        return stateFingerprinter;
+    }
+
+    /**
+     * Sets the fingerprinter to be used by graph search implementations for
+     * their sets of reached states.
+     */
+    public void setStateFingerprinter(StateFingerprinter<S> stateFingerprinter) {
+        this.stateFingerprinter = stateFingerprinter;
+    }
+
+    @Override
+    public StateIndexer<S> getStateIndexer() {
+        return stateIndexer;
+    }
+
+    /**
+     * Sets the indexer to be used by graph search implementations for their
+     * sets of reached states. All states reachable from the initial state must
+     * have an index.
+     */
+    public void setStateIndexer(StateIndexer<S> stateIndexer) {
+        this.stateIndexer = stateIndexer;
+    }
 }
@@ -0,0 +1,40 @@
+package aima.core.search.framework.problem;
+
+/**
+ * Problem which additionally supports modifying states in place. Depth-first
+ * search algorithms can use it to explore the search space with one working
+ * state, applying actions when descending and undoing them when backtracking.
+ * No successor states need to be allocated.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public interface InPlaceProblem<S, A> extends Problem<S, A> {
+
+	/**
+	 * Returns a new copy of the given state which can be modified without
+	 * affecting the original.
+	 */
+	S copyState(S state);
+
+	/** Modifies the state by applying the action. */
+	void doAction(S state, A action);
+
+	/** Reverts a preceding {@link #doAction(Object, Object)} call. */
+	void undoAction(S state, A action);
+
+	/**
+	 * Returns the step cost of applying the action in the given state (before
+	 * it is modified).
+	 */
+	double getStepCosts(S state, A action);
+
+	/**
+	 * Tests whether the action undoes the previous action. Search algorithms
+	 * can skip such actions to avoid trivial cycles. The default
+	 * implementation returns false.
+	 */
+	default boolean isInverse(A action, A previousAction) {
+		return false;
+	}
+}
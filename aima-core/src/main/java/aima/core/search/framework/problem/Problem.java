@@ -76,4 +76,34 @@ public interface Problem<S, A> extends OnlineSearchProblem<S, A> {
     default boolean testSolution(Node<S, A> node) {
         return testGoal(node.getState());
     }
+
+    /**
+     * Declares whether all step costs are non-negative integers. Search
+     * implementations can use this information to select more efficient data
+     * structures (e.g. bucket-based frontiers). The default implementation
+     * returns false.
+     */
+    default boolean hasIntegerStepCosts() {
+        return false;
+    }
+
+    /**
+     * Returns a fingerprinter for states, which allows graph search
+     * implementations to store fingerprints instead of states in their sets of
+     * reached states. The default implementation returns null, which means that
+     * states are used as keys.
+     */
+    default StateFingerprinter<S> getStateFingerprinter() {
+        return null;
+    }
+
+    /**
+     * Returns an indexer for the states of an enumerable state space, which
+     * allows graph search implementations to use bit sets and arrays instead
+     * of hash-based sets of reached states. It takes precedence over the
+     * fingerprinter. The default implementation returns null.
+     */
+    default StateIndexer<S> getStateIndexer() {
+        return null;
+    }
 }
@@ -0,0 +1,29 @@
+package aima.core.search.framework.problem;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes states to byte records of fixed width. Equal states must have
+ * equal records and distinct states distinct records, so that records can be
+ * sorted and compared instead of states (e.g. by external-memory search
+ * algorithms which store states on disk).
+ *
+ * @param <S> The type used to represent states
+ */
+public interface StateCodec<S> {
+
+	/** Returns the number of bytes of each record. */
+	int getRecordSize();
+
+	/**
+	 * Writes the record of the state at the current position of the buffer
+	 * (exactly {@link #getRecordSize()} bytes).
+	 */
+	void encode(S state, ByteBuffer buffer);
+
+	/**
+	 * Reads a record at the current position of the buffer and returns the
+	 * corresponding state.
+	 */
+	S decode(ByteBuffer buffer);
+}
@@ -0,0 +1,30 @@
+package aima.core.search.framework.problem;
+
+/**
+ * Maps states to 64 bit fingerprints. Graph search implementations use
+ * fingerprints instead of state objects as keys of their sets of reached
+ * states, which keeps explored states out of memory.
+ * <p>
+ * Fingerprints of equal states must be equal. If distinct states can have
+ * equal fingerprints (e.g. hash values), {@link #getEncoding(Object)} should
+ * return a compact encoding of the state, which is then stored and compared to
+ * resolve collisions. If fingerprints are unique (e.g. packed tile positions),
+ * no encoding is needed.
+ *
+ * @param <S> The type used to represent states
+ */
+@FunctionalInterface
+public interface StateFingerprinter<S> {
+
+	/** Returns the fingerprint of the given state. */
+	long getFingerprint(S state);
+
+	/**
+	 * Returns a compact encoding of the state, which is unique for the state,
+	 * or null if fingerprints are unique. The default implementation returns
+	 * null.
+	 */
+	default byte[] getEncoding(S state) {
+		return null;
+	}
+}
@@ -0,0 +1,28 @@
+package aima.core.search.framework.problem;
+
+/**
+ * Bijective mapping (minimal perfect hash) between the states of an
+ * enumerable state space and the integers 0, ..., {@link #getIndexCount()} - 1.
+ * Graph search implementations use indices to replace hash sets and maps of
+ * states by bit sets and primitive arrays, which store nothing but one bit or
+ * value per index. Ranking functions like permutation ranks are typical
+ * implementations.
+ *
+ * @param <S> The type used to represent states
+ */
+public interface StateIndexer<S> {
+
+	/** Returns the number of indices, i.e. the size of the state space. */
+	int getIndexCount();
+
+	/**
+	 * Returns the index of the given state.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the state does not belong to the state space.
+	 */
+	int getIndex(S state);
+
+	/** Returns the state with the given index. */
+	S getState(int index);
+}
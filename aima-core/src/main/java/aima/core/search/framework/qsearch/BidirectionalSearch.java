@@ -209,7 +209,7 @@ public class BidirectionalSearch<S, A> extends QueueSearch<S, A> {
 				return Optional.empty();
 			}
 		}
-		metrics.set(METRIC_PATH_COST, orgNode.getPathCost());
+		pathCost.set(orgNode.getPathCost());
 		return Optional.of(orgNode);
 	}
 
@@ -2,14 +2,14 @@ package aima.core.search.framework.qsearch;
 
 import java.util.Optional;
 import java.util.Queue;
-import java.util.Set;
-import java.util.Map;
-import java.util.HashSet;
-import java.util.HashMap;
 
+import aima.core.search.framework.HashReachedSet;
 import aima.core.search.framework.Node;
 import aima.core.search.framework.NodeFactory;
+import aima.core.search.framework.QueueFactory;
+import aima.core.search.framework.ReachedSet;
 import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateFingerprinter;
 
 /**
  * Artificial Intelligence A Modern Approach (3rd Edition): Figure 3.7, page 77.
@@ -40,7 +40,12 @@ import aima.core.search.framework.problem.Problem;
  * to use the implementation also in combination with priority queue frontiers.
  * This implementation avoids linear costs for frontier node removal (compared
  * to {@link GraphSearchReducedFrontier}) and gets by without node comparator
- * knowledge.
+ * knowledge. If the frontier is an indexed priority queue (see
+ * {@link QueueFactory#createNodePriorityQueue(java.util.Comparator)}), nodes
+ * of the same state are replaced on insertion, so that no stale duplicates
+ * need to be stored and dropped later. If the problem supplies a
+ * {@link StateFingerprinter}, explored and reached states are stored as
+ * fingerprints (see {@link ReachedSet}).
  *
  * @param <S> The type used to represent states
  * @param <A> The type of the actions to be used to navigate through the state space
@@ -49,8 +54,8 @@ import aima.core.search.framework.problem.Problem;
  */
 public class GraphSearch<S, A> extends TreeSearch<S, A> {
 	
-	private Set<S> explored = new HashSet<S>();
-	private Map<S, Node> reached = new HashMap<S, Node>();
+	private ReachedSet<S> explored = new HashReachedSet<>();
+	private ReachedSet<S> reached = new HashReachedSet<>();
 
 	public GraphSearch() {
 		this(new NodeFactory<>());
@@ -67,8 +72,8 @@ public class GraphSearch<S, A> extends TreeSearch<S, A> {
 	@Override
 	public Optional<Node<S, A>> findNode(Problem<S, A> problem, Queue<Node<S, A>> frontier) {
 		// initialize the explored set to be empty
-		explored.clear();
-		reached.clear();
+		explored = ReachedSet.create(problem, false);
+		reached = ReachedSet.create(problem, true);
 		return super.findNode(problem, frontier);
 	}
 
@@ -78,17 +83,18 @@ public class GraphSearch<S, A> extends TreeSearch<S, A> {
 	 */
 	@Override
 	protected void addToFrontier(Node<S, A> node) {
-		if (! reached.containsKey(node.getState()) || node.getPathCost() < reached.get(node.getState()).getPathCost()) {
+		double reachedCost = reached.getPathCost(node.getState());
+		if (Double.isNaN(reachedCost) || node.getPathCost() < reachedCost) {
 			frontier.add(node);
 			updateMetrics(frontier.size());
 			
 			if (explored.contains(node.getState()))
-				metrics.incrementInt(METRIC_NODES_EXPANDED_REINSERTED_IN_FRONTIER);
+				nodesReinserted.increment();
 			
-			else if (reached.containsKey(node.getState()))
-				metrics.incrementInt(METRIC_NODES_DUPLICATED_IN_FRONTIER);
+			else if (!Double.isNaN(reachedCost))
+				nodesDuplicated.increment();
 			
-			reached.put(node.getState(), node); //Se actualiza o añade el nodo
+			reached.put(node.getState(), node.getPathCost()); //Se actualiza o añade el nodo
 		}
 	}
 
@@ -104,7 +110,7 @@ public class GraphSearch<S, A> extends TreeSearch<S, A> {
 	protected Node<S, A> removeFromFrontier() {
 		cleanUpFrontier(); // not really necessary because isFrontierEmpty should be called before...
 		Node<S, A> result = frontier.remove();
-		explored.add(result.getState());
+		explored.put(result.getState(), 0);
 		updateMetrics(frontier.size());
 		return result;
 	}
@@ -126,7 +132,7 @@ public class GraphSearch<S, A> extends TreeSearch<S, A> {
 	 */
 	private void cleanUpFrontier() {
 		while (! frontier.isEmpty() &&
-			frontier.element().getPathCost() > reached.get(frontier.element().getState()).getPathCost())
+			frontier.element().getPathCost() > reached.getPathCost(frontier.element().getState()))
 			
 			frontier.remove();
 	}
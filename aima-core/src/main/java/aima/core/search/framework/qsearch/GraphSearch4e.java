@@ -4,7 +4,10 @@ import java.util.*;
 
 import aima.core.search.framework.Node;
 import aima.core.search.framework.NodeFactory;
+import aima.core.search.framework.QueueFactory;
+import aima.core.search.framework.ReachedSet;
 import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateFingerprinter;
 import aima.core.util.Tasks;
 
 /**
@@ -35,6 +38,8 @@ import aima.core.util.Tasks;
  * (2) the procedure for determining when it is no longer possible to improve on a solution.
  *
  * <br>
+ * In this implementation, the reached table maps states to path costs. If the problem supplies a
+ * {@link StateFingerprinter}, states are represented by fingerprints (see {@link ReachedSet}).
  *
  * @param <S> The type used to represent states
  * @param <A> The type of the actions to be used to navigate through the state space
@@ -69,19 +74,18 @@ public class GraphSearch4e<S, A> extends QueueSearch<S, A> {
 	public Optional<Node<S, A>> findNode(Problem<S, A> problem, Queue<Node<S, A>> frontier) {
 		clearMetrics();
 		this.frontier = frontier;
-		nodeComparator = (frontier instanceof PriorityQueue<?>) ?
-				((PriorityQueue<Node<S, A>>) frontier).comparator() : null;
+		nodeComparator = QueueFactory.getComparator(frontier);
 		Node<S, A> root = nodeFactory.createNode(problem.getInitialState());
 
 		/// frontier <- a queue initially containing one path, for the problem's initial state
 		/// reached <- a table of {state: node}; initially empty
 		/// solution <- failure
 		addToFrontier(root);
-		Hashtable<S, Node<S, A>> reached = new Hashtable<>();
+		ReachedSet<S> reached = ReachedSet.create(problem, true);
 		Node<S, A> solution = null;
 
 		// missing in pseudocode...
-		reached.put(root.getState(), root); // initial state has been reached!
+		reached.put(root.getState(), root.getPathCost()); // initial state has been reached!
 		if (problem.testSolution(root)) // initial state can be a goal state
 			return asOptional(root);
 
@@ -91,7 +95,9 @@ public class GraphSearch4e<S, A> extends QueueSearch<S, A> {
 			Node<S, A> parent = removeFromFrontier();
 
 			// missing in pseudocode (a better path might have been found for the state)
-			if (reached.get(parent.getState()) != parent)
+			// Nodes are only added with strictly decreasing costs per state, so exactly the
+			// last added node of a state has the reached path cost.
+			if (reached.getPathCost(parent.getState()) != parent.getPathCost())
 				continue;
 
 			/// for child in EXPAND(parent) do
@@ -99,9 +105,9 @@ public class GraphSearch4e<S, A> extends QueueSearch<S, A> {
 				/// s <- child.state
 				S s = child.getState();
 				/// if s is not in reached or child is a cheaper path than reached[s] then
-				if (isCheaper(child, reached.get(s))) {
+				if (isCheaper(child, reached.getPathCost(s))) {
 					/// reached[s] <- child
-					reached.put(s, child);
+					reached.put(s, child.getPathCost());
 					/// add child to frontier
 					addToFrontier(child);
 					/// if s is a goal and child is cheaper than solution then
@@ -115,6 +121,16 @@ public class GraphSearch4e<S, A> extends QueueSearch<S, A> {
 		return asOptional(solution);
 	}
 
+	/**
+	 * Compares <code>node</code> with the reached node of the same state, which
+	 * is represented by its path cost (NaN if the state has not been reached).
+	 * As both nodes have the same state, path costs are compared directly.
+	 * Without comparator, reached states are never improved.
+	 */
+	private boolean isCheaper(Node<S, A> node, double reachedPathCost) {
+		return Double.isNaN(reachedPathCost) || nodeComparator != null && node.getPathCost() < reachedPathCost;
+	}
+
 	/**
 	 * Inserts the node at the tail of the frontier.
 	 */
@@ -1,13 +1,14 @@
 package aima.core.search.framework.qsearch;
 
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Queue;
-import java.util.Set;
 
+import aima.core.search.framework.HashReachedSet;
 import aima.core.search.framework.Node;
 import aima.core.search.framework.NodeFactory;
+import aima.core.search.framework.ReachedSet;
 import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateFingerprinter;
 
 /**
  * Artificial Intelligence A Modern Approach (3rd Edition): Figure 3.7, page 77.
@@ -33,6 +34,8 @@ import aima.core.search.framework.problem.Problem;
  * provides implementations for the needed primitive operations. It is the most
  * efficient variant of graph search for breadth first. But don't expect
  * shortest paths in combination with priority queue frontiers.
+ * Explored and frontier states are kept in one set of reached states, which
+ * stores fingerprints if the problem supplies a {@link StateFingerprinter}.
  *
  * @param <S> The type used to represent states
  * @param <A> The type of the actions to be used to navigate through the state space
@@ -43,8 +46,8 @@ import aima.core.search.framework.problem.Problem;
  */
 public class GraphSearchBFS<S, A> extends TreeSearch<S, A> {
 
-	private Set<S> explored = new HashSet<>();
-	private Set<S> frontierStates = new HashSet<>();
+	// explored states and frontier states
+	private ReachedSet<S> reached = new HashReachedSet<>();
 
 	public GraphSearchBFS() {
 		this(new NodeFactory<>());
@@ -62,8 +65,7 @@ public class GraphSearchBFS<S, A> extends TreeSearch<S, A> {
 	@Override
 	public Optional<Node<S, A>> findNode(Problem<S, A> problem, Queue<Node<S, A>> frontier) {
 		// initialize the explored set to be empty
-		explored.clear();
-		frontierStates.clear();
+		reached = ReachedSet.create(problem, false);
 		return super.findNode(problem, frontier);
 	}
 
@@ -73,24 +75,21 @@ public class GraphSearchBFS<S, A> extends TreeSearch<S, A> {
 	 */
 	@Override
 	protected void addToFrontier(Node<S, A> node) {
-		if (!explored.contains(node.getState()) && !frontierStates.contains(node.getState())) {
+		if (reached.put(node.getState(), 0)) {
 			frontier.add(node);
-			frontierStates.add(node.getState());
 			updateMetrics(frontier.size());
 		}
 	}
 
 	/**
-	 * Removes the node at the head of the frontier, adds the corresponding
-	 * state to the explored set, and returns the node.
+	 * Removes the node at the head of the frontier and returns it. Its state
+	 * remains in the set of reached states.
 	 * 
 	 * @return the node at the head of the frontier.
 	 */
 	@Override
 	protected Node<S, A> removeFromFrontier() {
 		Node<S, A> result = frontier.remove();
-		explored.add(result.getState());
-		frontierStates.remove(result.getState());
 		updateMetrics(frontier.size());
 		return result;
 	}
@@ -4,7 +4,9 @@ import java.util.*;
 
 import aima.core.search.framework.Node;
 import aima.core.search.framework.NodeFactory;
+import aima.core.search.framework.QueueFactory;
 import aima.core.search.framework.problem.Problem;
+import aima.core.util.datastructure.IndexedPriorityQueue;
 
 /**
  * Artificial Intelligence A Modern Approach (3rd Edition): Figure 3.7, page 77.
@@ -34,7 +36,9 @@ import aima.core.search.framework.problem.Problem;
  * priority queue frontiers. If a node is added to the frontier, this
  * implementation checks whether another node for the same state already exists
  * and decides whether to replace it or ignore the new node depending on the
- * node's costs (comparator of priority queue is used, if available).
+ * node's costs (comparator of priority queue is used, if available). In
+ * combination with an {@link IndexedPriorityQueue} frontier, replacement is
+ * done by decrease-key in O(log n) instead of linear time node removal.
  *
  * @param <S> The type used to represent states
  * @param <A> The type of the actions to be used to navigate through the state space
@@ -64,8 +68,7 @@ public class GraphSearchReducedFrontier<S, A> extends TreeSearch<S, A> {
 	@Override
 	public Optional<Node<S, A>> findNode(Problem<S, A> problem, Queue<Node<S, A>> frontier) {
 		// initialize the explored set to be empty
-		if (frontier instanceof PriorityQueue<?>)
-			nodeComparator = ((PriorityQueue<Node<S, A>>) frontier).comparator();
+		nodeComparator = QueueFactory.getComparator(frontier);
 		explored.clear();
 		frontierNodeLookup.clear();
 		return super.findNode(problem, frontier);
@@ -93,8 +96,8 @@ public class GraphSearchReducedFrontier<S, A> extends TreeSearch<S, A> {
 				updateMetrics(frontier.size());
 			} else if (nodeComparator != null && nodeComparator.compare(node, frontierNode) < 0) {
 				// child.STATE is in frontier with higher cost
-				// replace that frontier node with child
-				if (frontier.remove(frontierNode))
+				// replace that frontier node with child (indexed queues do that on add)
+				if (!(frontier instanceof IndexedPriorityQueue) && frontier.remove(frontierNode))
 					frontierNodeLookup.remove(frontierNode.getState());
 				frontier.add(node);
 				frontierNodeLookup.put(node.getState(), node);
@@ -4,7 +4,6 @@ import aima.core.search.framework.Metrics;
 import aima.core.search.framework.Node;
 import aima.core.search.framework.NodeFactory;
 import aima.core.search.framework.problem.Problem;
-import aima.core.search.informed.EvaluationFunction;
 
 import java.util.Optional;
 import java.util.Queue;
@@ -36,14 +35,19 @@ public abstract class QueueSearch<S, A> {
 	final protected NodeFactory<S, A> nodeFactory;
 	protected boolean earlyGoalTest = false;
 	protected Metrics metrics = new Metrics();
-	
-	public EvaluationFunction<S, A> evalFn;
+	// pre-registered handles, updated without lookup on every node
+	protected final Metrics.Counter nodesExpanded = metrics.counter(METRIC_NODES_EXPANDED);
+	protected final Metrics.Gauge queueSize = metrics.gauge(METRIC_QUEUE_SIZE);
+	protected final Metrics.Gauge maxQueueSize = metrics.gauge(METRIC_MAX_QUEUE_SIZE);
+	protected final Metrics.Gauge pathCost = metrics.gauge(METRIC_PATH_COST);
+	protected final Metrics.Counter nodesReinserted = metrics.counter(METRIC_NODES_EXPANDED_REINSERTED_IN_FRONTIER);
+	protected final Metrics.Counter nodesDuplicated = metrics.counter(METRIC_NODES_DUPLICATED_IN_FRONTIER);
+	protected final Metrics.Timer timeTaken = metrics.timer(METRIC_TIME_TAKEN);
 
 	/** Stores the provided node expander and adds a node listener to it. */
 	protected QueueSearch(NodeFactory<S, A> nodeFactory) {
 		this.nodeFactory = nodeFactory;
-		nodeFactory.addNodeListener((node) -> metrics.incrementInt(METRIC_NODES_EXPANDED));
-		evalFn = null;
+		nodeFactory.addNodeListener((node) -> nodesExpanded.increment());
 	}
 
 	/**
@@ -85,26 +89,23 @@ public abstract class QueueSearch<S, A> {
 	 * Sets all metrics to zero.
 	 */
 	protected void clearMetrics() {
-		metrics.set(METRIC_NODES_EXPANDED, 0);
-		metrics.set(METRIC_QUEUE_SIZE, 0);
-		metrics.set(METRIC_MAX_QUEUE_SIZE, 0);
-		metrics.set(METRIC_PATH_COST, 0);
+		nodesExpanded.reset();
+		queueSize.set(0);
+		maxQueueSize.set(0);
+		pathCost.set(0);
 		
-		metrics.set(METRIC_NODES_EXPANDED_REINSERTED_IN_FRONTIER, 0);
-		metrics.set(METRIC_NODES_DUPLICATED_IN_FRONTIER, 0);
-		metrics.set(METRIC_TIME_TAKEN, 0);
+		nodesReinserted.reset();
+		nodesDuplicated.reset();
+		timeTaken.reset();
 	}
 
 	protected void updateMetrics(int queueSize) {
-		metrics.set(METRIC_QUEUE_SIZE, queueSize);
-		int maxQSize = metrics.getInt(METRIC_MAX_QUEUE_SIZE);
-		if (queueSize > maxQSize) {
-			metrics.set(METRIC_MAX_QUEUE_SIZE, queueSize);
-		}
+		this.queueSize.set(queueSize);
+		maxQueueSize.updateMax(queueSize);
 	}
 
 	protected Optional<Node<S, A>> asOptional(Node<S, A> node) {
-		metrics.set(METRIC_PATH_COST, node.getPathCost());
+		pathCost.set(node.getPathCost());
 		return Optional.of(node);
 	}
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package aima.core.search.framework.qsearch;
 
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.Queue;
 
@@ -66,7 +67,7 @@ public class TreeSearch<S, A> extends QueueSearch<S, A> {
 		this.frontier = frontier;
 		clearMetrics();
 		
-		long t0 = System.currentTimeMillis();
+		long t0 = timeTaken.start();
 		// initialize the frontier using the initial state of the problem
 		Node<S, A> root = nodeFactory.createNode(problem.getInitialState());
 		addToFrontier(root);
@@ -78,21 +79,21 @@ public class TreeSearch<S, A> extends QueueSearch<S, A> {
 			Node<S, A> node = removeFromFrontier();
 			// if the node contains a goal state then return the corresponding solution
 			if (!earlyGoalTest && problem.testSolution(node)) {
-				metrics.set(METRIC_TIME_TAKEN, System.currentTimeMillis() - t0);
+				timeTaken.stop(t0);
 				return asOptional(node);
 			}
-			
-			if (evalFn != null)
-				System.out.println("f(" + node.getState() + ") = " + evalFn.applyAsDouble(node));
 
 			// expand the chosen node and add the successor nodes to the frontier
-			for (Node<S, A> successor : nodeFactory.getSuccessors(node, problem)) {
+			// (lazily, the remaining successors are not needed after an early goal test)
+			Iterator<Node<S, A>> successors = nodeFactory.iterateSuccessors(node, problem);
+			while (successors.hasNext()) {
+				Node<S, A> successor = successors.next();
 				addToFrontier(successor);
 				if (earlyGoalTest && problem.testSolution(successor))
 					return asOptional(successor);
 			}
 		}
-		metrics.set(METRIC_TIME_TAKEN, System.currentTimeMillis() - t0);
+		timeTaken.stop(t0);
 		// if the frontier is empty then return failure
 		return Optional.empty();
 	}
@@ -36,6 +36,14 @@ public class AStarSearch<S, A> extends BestFirstSearch<S, A> {
         super(impl, createEvalFn(h));
     }
 
+    /**
+     * Constructs an A* search which optionally uses a bucket-based frontier
+     * for problems with integer step costs (see {@link BestFirstSearch}).
+     */
+    public AStarSearch(QueueSearch<S, A> impl, ToDoubleFunction<Node<S, A>> h, boolean bucketFrontier) {
+        super(impl, createEvalFn(h), bucketFrontier);
+    }
+
     // f(n) = g(n) + h(n)
     public static <S, A> EvaluationFunction<S, A> createEvalFn(ToDoubleFunction<Node<S, A>> h) {
         return new EvaluationFunction<S, A>(h) {
@@ -0,0 +1,349 @@
+package aima.core.search.informed;
+
+import aima.core.search.framework.IncrementalHeuristicFunction;
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.NodeFactory;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.SearchUtils;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.util.Tasks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Anytime Repairing A* (ARA*, Likhachev, Gordon, Thrun 2003). A series of
+ * weighted A* searches with f = g + w * h is performed, starting with a large
+ * weight w, which is decreased after each search until w = 1. The first
+ * solution is found fast, later searches improve it. Search effort is reused:
+ * the path costs of all reached states are kept, and each search expands a
+ * state at most once. States whose path costs improve after their expansion
+ * are collected and form, together with the remaining frontier, the start
+ * frontier of the next search.
+ * <p>
+ * Each improved solution is published to the solution listeners together with
+ * a bound for its suboptimality: its costs are at most <code>bound</code>
+ * times the optimal costs if the heuristic is admissible. The search stops
+ * when the solution is proven optimal, when the time limit is exceeded, or
+ * when the current task is cancelled. In all cases, the best solution found
+ * so far is returned.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class AnytimeRepairingAStarSearch<S, A> implements SearchForActions<S, A>, SearchForStates<S, A>,
+		Informed<S, A> {
+
+	public static final String METRIC_SEARCHES = "searches";
+	public static final String METRIC_WEIGHT = "weight";
+	public static final String METRIC_SUBOPTIMALITY_BOUND = "suboptimalityBound";
+
+	private ToDoubleFunction<Node<S, A>> h;
+	private final double initialWeight;
+	private final double weightDecrement;
+	private long timeLimitMillis;
+	private final NodeFactory<S, A> nodeFactory = new NodeFactory<>();
+	private final List<Consumer<Solution<A>>> solutionListeners = new ArrayList<>();
+
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(QueueSearch.METRIC_NODES_EXPANDED);
+	private final Metrics.Counter searches = metrics.counter(METRIC_SEARCHES);
+	private final Metrics.Gauge maxQueueSize = metrics.gauge(QueueSearch.METRIC_MAX_QUEUE_SIZE);
+	private final Metrics.Gauge pathCost = metrics.gauge(QueueSearch.METRIC_PATH_COST);
+	private final Metrics.Gauge weight = metrics.gauge(METRIC_WEIGHT);
+	private final Metrics.Gauge bound = metrics.gauge(METRIC_SUBOPTIMALITY_BOUND);
+
+	// search state, valid during one call of findNode
+	private Map<S, Entry<S, A>> entries;
+	private PriorityQueue<Entry<S, A>> frontier;
+	private List<Entry<S, A>> inconsistent;
+	private Node<S, A> solution;
+	private double w;
+	private long deadline;
+
+	/**
+	 * @param h
+	 *            an admissible heuristic function. The search applies the
+	 *            weights, so it must not be inflated.
+	 * @param initialWeight
+	 *            the weight of the first search (at least 1).
+	 * @param weightDecrement
+	 *            the amount by which the weight is reduced after each search.
+	 */
+	public AnytimeRepairingAStarSearch(ToDoubleFunction<Node<S, A>> h, double initialWeight,
+									   double weightDecrement) {
+		if (initialWeight < 1 || weightDecrement <= 0)
+			throw new IllegalArgumentException("Weight must be at least 1 and decrement positive.");
+		this.initialWeight = initialWeight;
+		this.weightDecrement = weightDecrement;
+		setHeuristicFunction(h);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void setHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
+		this.h = h;
+		nodeFactory.setIncrementalHeuristicFunction(h instanceof IncrementalHeuristicFunction
+				? (IncrementalHeuristicFunction<S, A>) h : null);
+	}
+
+	/**
+	 * Sets the maximal wall-clock time of each call of a find method. After
+	 * that time, the best solution found so far is returned.
+	 *
+	 * @param timeLimitMillis
+	 *            time limit in milliseconds, 0 for unlimited time.
+	 */
+	public void setTimeLimit(long timeLimitMillis) {
+		this.timeLimitMillis = timeLimitMillis;
+	}
+
+	@Override
+	public Optional<List<A>> findActions(Problem<S, A> p) {
+		return SearchUtils.toActions(findNode(p));
+	}
+
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		return SearchUtils.toState(findNode(p));
+	}
+
+	/** Returns the best goal node found within the time limit. */
+	public Optional<Node<S, A>> findNode(Problem<S, A> problem) {
+		clearMetrics();
+		deadline = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1000000 : Long.MAX_VALUE;
+		entries = new HashMap<>();
+		frontier = new PriorityQueue<>((e1, e2) -> Double.compare(e1.key, e2.key));
+		inconsistent = new ArrayList<>();
+		solution = null;
+		w = initialWeight;
+		try {
+			Node<S, A> root = nodeFactory.createNode(problem.getInitialState());
+			Entry<S, A> rootEntry = new Entry<>(root, h.applyAsDouble(root));
+			entries.put(root.getState(), rootEntry);
+			if (problem.testSolution(root))
+				solution = root;
+			else
+				insert(rootEntry);
+			double reportedCost = Double.POSITIVE_INFINITY;
+			double reportedBound = Double.POSITIVE_INFINITY;
+			while (true) {
+				weight.set(w);
+				boolean completed = improvePath(problem);
+				double currBound = getSuboptimalityBound();
+				if (solution != null && (solution.getPathCost() < reportedCost || currBound < reportedBound)) {
+					reportedCost = solution.getPathCost();
+					reportedBound = currBound;
+					pathCost.set(reportedCost);
+					bound.set(currBound);
+					notifySolutionListeners(new Solution<>(SearchUtils.getSequenceOfActions(solution), reportedCost,
+							currBound, w));
+				}
+				if (!completed || currBound <= 1 || frontier.isEmpty() && inconsistent.isEmpty())
+					break;
+				// next search with smaller weight, reusing reached states
+				w = Math.max(1, Math.min(w - weightDecrement, currBound));
+				List<Entry<S, A>> open = new ArrayList<>();
+				for (Entry<S, A> entry : inconsistent)
+					if (!entry.outdated)
+						open.add(entry);
+				for (Entry<S, A> entry : frontier)
+					if (!entry.outdated)
+						open.add(entry);
+				inconsistent.clear();
+				frontier.clear();
+				for (Entry<S, A> entry : entries.values())
+					entry.closed = false;
+				open.forEach(this::insert);
+			}
+			return Optional.ofNullable(solution);
+		} finally {
+			entries = null;
+			frontier = null;
+			inconsistent = null;
+		}
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		nodeFactory.addNodeListener(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return nodeFactory.removeNodeListener(listener);
+	}
+
+	/**
+	 * Registers a listener, which is notified about each solution which is
+	 * cheaper or has a smaller suboptimality bound than the solution reported
+	 * before.
+	 */
+	public void addSolutionListener(Consumer<Solution<A>> listener) {
+		solutionListeners.add(listener);
+	}
+
+	public boolean removeSolutionListener(Consumer<Solution<A>> listener) {
+		return solutionListeners.remove(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		searches.reset();
+		maxQueueSize.set(0);
+		pathCost.set(0);
+		weight.set(0);
+		bound.set(0);
+	}
+
+	/**
+	 * Weighted A* search, which expands each state at most once and stops as
+	 * soon as no frontier node can lead to a cheaper solution with respect to
+	 * the current weight.
+	 *
+	 * @return false if the time limit was exceeded or the task was cancelled.
+	 */
+	private boolean improvePath(Problem<S, A> problem) {
+		searches.increment();
+		while (!frontier.isEmpty()) {
+			if (Tasks.currIsCancelled() || System.nanoTime() > deadline)
+				return false;
+			Entry<S, A> entry = frontier.peek();
+			if (entry.outdated) {
+				frontier.remove();
+				continue;
+			}
+			if (solution != null && solution.getPathCost() <= entry.key)
+				return true;
+			frontier.remove();
+			entry.closed = true;
+			nodesExpanded.increment();
+			for (Node<S, A> child : nodeFactory.getSuccessors(entry.node, problem)) {
+				Entry<S, A> old = entries.get(child.getState());
+				if (old != null && old.node.getPathCost() <= child.getPathCost())
+					continue;
+				Entry<S, A> childEntry = new Entry<>(child, old != null ? old.h : h.applyAsDouble(child));
+				entries.put(child.getState(), childEntry);
+				if (old != null)
+					old.outdated = true;
+				if (problem.testSolution(child)) {
+					if (solution == null || child.getPathCost() < solution.getPathCost())
+						solution = child;
+				} else if (old != null && old.closed) {
+					childEntry.closed = true; // keeps it out of this search
+					inconsistent.add(childEntry);
+				} else {
+					insert(childEntry);
+				}
+			}
+			maxQueueSize.updateMax(frontier.size());
+		}
+		return true;
+	}
+
+	private void insert(Entry<S, A> entry) {
+		entry.key = entry.node.getPathCost() + w * entry.h;
+		frontier.add(entry);
+	}
+
+	/**
+	 * Returns solution costs divided by a lower bound of the optimal costs,
+	 * which is the minimal unweighted f value of all frontier and inconsistent
+	 * nodes. Infinity if no solution has been found yet.
+	 */
+	private double getSuboptimalityBound() {
+		if (solution == null)
+			return Double.POSITIVE_INFINITY;
+		double minF = solution.getPathCost();
+		for (Entry<S, A> entry : frontier)
+			if (!entry.outdated)
+				minF = Math.min(minF, entry.node.getPathCost() + entry.h);
+		for (Entry<S, A> entry : inconsistent)
+			if (!entry.outdated)
+				minF = Math.min(minF, entry.node.getPathCost() + entry.h);
+		return minF > 0 ? Math.min(w, solution.getPathCost() / minF) : 1;
+	}
+
+	private void notifySolutionListeners(Solution<A> solution) {
+		for (Consumer<Solution<A>> listener : solutionListeners)
+			listener.accept(solution);
+	}
+
+	/** Reached node together with its heuristic value and search status. */
+	private static class Entry<S, A> {
+		final Node<S, A> node;
+		final double h;
+		double key;
+		boolean closed;
+		boolean outdated;
+
+		Entry(Node<S, A> node, double h) {
+			this.node = node;
+			this.h = h;
+		}
+	}
+
+	/**
+	 * Solution published by an anytime search.
+	 *
+	 * @param <A> The type of the actions
+	 */
+	public static class Solution<A> {
+		private final List<A> actions;
+		private final double pathCost;
+		private final double suboptimalityBound;
+		private final double weight;
+
+		public Solution(List<A> actions, double pathCost, double suboptimalityBound, double weight) {
+			this.actions = actions;
+			this.pathCost = pathCost;
+			this.suboptimalityBound = suboptimalityBound;
+			this.weight = weight;
+		}
+
+		public List<A> getActions() {
+			return actions;
+		}
+
+		public double getPathCost() {
+			return pathCost;
+		}
+
+		/**
+		 * Returns a factor b, such that the path costs are at most b times the
+		 * optimal path costs (1 if the solution is optimal).
+		 */
+		public double getSuboptimalityBound() {
+			return suboptimalityBound;
+		}
+
+		/** Returns the weight of the search which produced the solution. */
+		public double getWeight() {
+			return weight;
+		}
+
+		@Override
+		public String toString() {
+			return "Solution[cost=" + pathCost + ", bound=" + suboptimalityBound + ", weight=" + weight + ", actions="
+					+ actions + "]";
+		}
+	}
+}
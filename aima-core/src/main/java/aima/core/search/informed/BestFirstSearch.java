@@ -1,11 +1,14 @@
 package aima.core.search.informed;
 
+import aima.core.search.framework.IncrementalHeuristicFunction;
 import aima.core.search.framework.Node;
 import aima.core.search.framework.QueueBasedSearch;
 import aima.core.search.framework.QueueFactory;
+import aima.core.search.framework.problem.Problem;
 import aima.core.search.framework.qsearch.QueueSearch;
 
 import java.util.Comparator;
+import java.util.Queue;
 import java.util.function.ToDoubleFunction;
 
 /**
@@ -17,6 +20,11 @@ import java.util.function.ToDoubleFunction;
  * the node with the lowest evaluation is expanded first. The implementation of
  * best-first graph search is identical to that for uniform-cost search (Figure
  * 3.14), except for the use of f instead of g to order the priority queue.
+ * <p>
+ * Optionally, a bucket-based frontier can be used for problems with integer
+ * step costs (see
+ * {@link QueueFactory#createPriorityQueue(Problem, ToDoubleFunction)}). It
+ * breaks ties differently, so other solutions of equal costs may be found.
  *
  * @author Ruediger Lunde
  * @author Ciaran O'Reilly
@@ -25,6 +33,7 @@ import java.util.function.ToDoubleFunction;
 public class BestFirstSearch<S, A> extends QueueBasedSearch<S, A> implements Informed<S, A> {
 
 	private final EvaluationFunction<S, A> evalFn;
+	private final boolean bucketFrontier;
 	
 	/**
 	 * Constructs a best first search from a specified search execution strategy and an
@@ -38,14 +47,52 @@ public class BestFirstSearch<S, A> extends QueueBasedSearch<S, A> implements Inf
 	 *            node.
 	 */
 	public BestFirstSearch(QueueSearch<S, A> impl, final EvaluationFunction<S, A> evalFn) {
+		this(impl, evalFn, false);
+	}
+
+	/**
+	 * Constructs a best first search which optionally uses a bucket-based
+	 * frontier for problems with integer step costs.
+	 *
+	 * @param bucketFrontier
+	 *            if true, the frontier is selected by the queue factory for
+	 *            problems which declare integer step costs.
+	 */
+	public BestFirstSearch(QueueSearch<S, A> impl, final EvaluationFunction<S, A> evalFn, boolean bucketFrontier) {
 		super(impl, QueueFactory.createPriorityQueue(Comparator.comparing(evalFn::applyAsDouble)));
 		this.evalFn = evalFn;
-		//impl.evalFn = evalFn;
+		this.bucketFrontier = bucketFrontier;
+		configureNodeFactory(evalFn.getHeuristicFunction());
+	}
+
+	/**
+	 * Lets the queue factory select the frontier depending on the step costs
+	 * of the problem if a bucket frontier was requested.
+	 */
+	@Override
+	protected Queue<Node<S, A>> getFrontier(Problem<S, A> p) {
+		return bucketFrontier && p.hasIntegerStepCosts()
+				? QueueFactory.createPriorityQueue(p, evalFn) : super.getFrontier(p);
+	}
+
+	public EvaluationFunction<S, A> getEvaluationFunction() {
+		return evalFn;
 	}
 
 	/** Modifies the evaluation function. */
 	@Override
 	public void setHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
 		 evalFn.setHeuristicFunction(h);
+		 configureNodeFactory(h);
+	}
+
+	/**
+	 * Lets the node factory store the values of incremental heuristics in the
+	 * nodes.
+	 */
+	@SuppressWarnings("unchecked")
+	private void configureNodeFactory(ToDoubleFunction<Node<S, A>> h) {
+		impl.getNodeFactory().setIncrementalHeuristicFunction(h instanceof IncrementalHeuristicFunction
+				? (IncrementalHeuristicFunction<S, A>) h : null);
 	}
 }
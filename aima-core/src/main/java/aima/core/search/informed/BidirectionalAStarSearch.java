@@ -0,0 +1,287 @@
+package aima.core.search.informed;
+
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.SearchUtils;
+import aima.core.search.framework.problem.BidirectionalProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.util.Tasks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bidirectional heuristic search which meets in the middle (MM, Holte et al.
+ * 2016). Two A*-like searches are run on the original and the reverse problem
+ * of a {@link BidirectionalProblem}. The forward search uses a heuristic
+ * estimating the costs to the goal, the backward search a heuristic
+ * estimating the costs from the initial state. Nodes are prioritized by
+ * <code>max(f(n), 2g(n))</code>, which guarantees that neither search expands
+ * a node beyond the middle of an optimal path. The direction with the lower
+ * minimal priority is expanded next. Whenever a generated state is known to
+ * the other search, the costs of the corresponding path are compared with the
+ * best path found so far. The search stops as soon as no cheaper path can
+ * exist, i.e. when the best path costs do not exceed the minimal priority of
+ * both frontiers.
+ * <p>
+ * The result is optimal if both heuristics are admissible and the reverse
+ * problem provides, for every action of the original problem, a reverse action
+ * with the same step costs (as {@link aima.core.search.framework.qsearch.BidirectionalSearch}
+ * does, solution paths are reconstructed by reversing the actions of the
+ * backward search). Node listeners are informed about all expanded nodes of
+ * both directions.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class BidirectionalAStarSearch<S, A> implements SearchForActions<S, A>, SearchForStates<S, A>, Informed<S, A> {
+
+	public static final String METRIC_NODES_EXPANDED = "nodesExpanded";
+	public static final String METRIC_NODES_EXPANDED_FORWARD = "nodesExpandedForward";
+	public static final String METRIC_NODES_EXPANDED_BACKWARD = "nodesExpandedBackward";
+	public static final String METRIC_MAX_QUEUE_SIZE = "maxQueueSize";
+	public static final String METRIC_PATH_COST = "pathCost";
+
+	private static final int FORWARD = 0;
+	private static final int BACKWARD = 1;
+
+	private ToDoubleFunction<Node<S, A>> hForward;
+	private ToDoubleFunction<Node<S, A>> hBackward;
+	private final List<Consumer<Node<S, A>>> listeners = new ArrayList<>();
+
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(METRIC_NODES_EXPANDED);
+	private final Metrics.Counter nodesExpandedForward = metrics.counter(METRIC_NODES_EXPANDED_FORWARD);
+	private final Metrics.Counter nodesExpandedBackward = metrics.counter(METRIC_NODES_EXPANDED_BACKWARD);
+	private final Metrics.Gauge maxQueueSize = metrics.gauge(METRIC_MAX_QUEUE_SIZE);
+	private final Metrics.Gauge pathCost = metrics.gauge(METRIC_PATH_COST);
+
+	/**
+	 * @param hForward
+	 *            estimates the costs from the state of a node to the goal state.
+	 * @param hBackward
+	 *            estimates the costs from the initial state to the state of a
+	 *            node of the reverse problem.
+	 */
+	public BidirectionalAStarSearch(ToDoubleFunction<Node<S, A>> hForward, ToDoubleFunction<Node<S, A>> hBackward) {
+		this.hForward = hForward;
+		this.hBackward = hBackward;
+	}
+
+	/** Sets the heuristic function of the forward search. */
+	@Override
+	public void setHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
+		hForward = h;
+	}
+
+	/** Sets the heuristic function of the backward search. */
+	public void setBackwardHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
+		hBackward = h;
+	}
+
+	@Override
+	public Optional<List<A>> findActions(Problem<S, A> p) {
+		return SearchUtils.toActions(findNode(p));
+	}
+
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		return SearchUtils.toState(findNode(p));
+	}
+
+	/**
+	 * Returns a node of the goal state whose parent links describe an optimal
+	 * path from the initial state, if a path exists.
+	 *
+	 * @param p
+	 *            a bidirectional problem.
+	 */
+	public Optional<Node<S, A>> findNode(Problem<S, A> p) {
+		if (!(p instanceof BidirectionalProblem))
+			throw new IllegalArgumentException("Bidirectional problem expected.");
+		clearMetrics();
+		BidirectionalProblem<S, A> problem = (BidirectionalProblem<S, A>) p;
+		Search search = new Search(problem.getOriginalProblem(), problem.getReverseProblem());
+		Optional<Node<S, A>> result = search.run();
+		result.ifPresent(node -> pathCost.set(node.getPathCost()));
+		return result;
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return listeners.remove(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		nodesExpandedForward.reset();
+		nodesExpandedBackward.reset();
+		maxQueueSize.set(0);
+		pathCost.set(0);
+	}
+
+	/** Node of one search direction together with its priority. */
+	private static class Entry<S, A> {
+		final Node<S, A> node;
+		final double priority;
+		final long id;
+		boolean closed;
+
+		Entry(Node<S, A> node, double priority, long id) {
+			this.node = node;
+			this.priority = priority;
+			this.id = id;
+		}
+	}
+
+	/** State of one search run. */
+	private class Search {
+		final Problem<S, A> orgP;
+		final Problem<S, A> revP;
+		final List<Problem<S, A>> problems = new ArrayList<>(2);
+		final List<ToDoubleFunction<Node<S, A>>> heuristics = new ArrayList<>(2);
+		// frontiers with lazy deletion: entries are outdated if not contained in reached
+		final List<PriorityQueue<Entry<S, A>>> frontiers = new ArrayList<>(2);
+		final List<Map<S, Entry<S, A>>> reached = new ArrayList<>(2);
+		double bestCosts = Double.POSITIVE_INFINITY;
+		Entry<S, A> bestForward;
+		Entry<S, A> bestBackward;
+		long nextId;
+
+		Search(Problem<S, A> orgP, Problem<S, A> revP) {
+			this.orgP = orgP;
+			this.revP = revP;
+			problems.add(orgP);
+			problems.add(revP);
+			heuristics.add(hForward);
+			heuristics.add(hBackward);
+			// low priority first, then low path costs (nodes near the roots)
+			Comparator<Entry<S, A>> comparator = Comparator.<Entry<S, A>>comparingDouble(e -> e.priority)
+					.thenComparingDouble(e -> e.node.getPathCost()).thenComparingLong(e -> e.id);
+			for (int dir = FORWARD; dir <= BACKWARD; dir++) {
+				frontiers.add(new PriorityQueue<>(comparator));
+				reached.add(new HashMap<>());
+			}
+		}
+
+		Optional<Node<S, A>> run() {
+			Node<S, A> start = new Node<>(orgP.getInitialState());
+			Node<S, A> goal = new Node<>(revP.getInitialState());
+			if (start.getState().equals(goal.getState()))
+				return orgP.testSolution(start) ? Optional.of(start) : Optional.empty();
+			add(FORWARD, start);
+			add(BACKWARD, goal);
+
+			while (!Tasks.currIsCancelled()) {
+				Entry<S, A> headF = peek(FORWARD);
+				Entry<S, A> headB = peek(BACKWARD);
+				if (headF == null || headB == null)
+					break; // no further paths between the directions
+				double minPriority = Math.min(headF.priority, headB.priority);
+				if (bestCosts <= minPriority)
+					break;
+				int dir = headF.priority <= headB.priority ? FORWARD : BACKWARD;
+				expand(dir, frontiers.get(dir).remove());
+				maxQueueSize.updateMax(frontiers.get(FORWARD).size() + frontiers.get(BACKWARD).size());
+			}
+			return bestForward != null ? getSolution() : Optional.empty();
+		}
+
+		private void expand(int dir, Entry<S, A> entry) {
+			entry.closed = true;
+			nodesExpanded.increment();
+			(dir == FORWARD ? nodesExpandedForward : nodesExpandedBackward).increment();
+			listeners.forEach(listener -> listener.accept(entry.node));
+
+			Problem<S, A> problem = problems.get(dir);
+			Node<S, A> node = entry.node;
+			S state = node.getState();
+			for (A action : problem.getActions(state)) {
+				S successorState = problem.getResult(state, action);
+				double g = node.getPathCost() + problem.getStepCosts(state, action, successorState);
+				Entry<S, A> old = reached.get(dir).get(successorState);
+				if (old != null && old.node.getPathCost() <= g)
+					continue;
+				Entry<S, A> successor = add(dir, new Node<>(successorState, node, action, g));
+				Entry<S, A> other = reached.get(1 - dir).get(successorState);
+				if (other != null && g + other.node.getPathCost() < bestCosts) {
+					bestCosts = g + other.node.getPathCost();
+					bestForward = dir == FORWARD ? successor : other;
+					bestBackward = dir == FORWARD ? other : successor;
+				}
+			}
+		}
+
+		private Entry<S, A> add(int dir, Node<S, A> node) {
+			double g = node.getPathCost();
+			double priority = Math.max(g + heuristics.get(dir).applyAsDouble(node), 2 * g);
+			Entry<S, A> entry = new Entry<>(node, priority, nextId++);
+			reached.get(dir).put(node.getState(), entry);
+			frontiers.get(dir).add(entry);
+			return entry;
+		}
+
+		// returns the best up-to-date entry of the frontier or null if empty
+		private Entry<S, A> peek(int dir) {
+			PriorityQueue<Entry<S, A>> frontier = frontiers.get(dir);
+			while (!frontier.isEmpty()) {
+				Entry<S, A> head = frontier.peek();
+				if (reached.get(dir).get(head.node.getState()) == head && !head.closed)
+					return head;
+				frontier.remove();
+			}
+			return null;
+		}
+
+		/**
+		 * Extends the forward path of the meeting state by the reversed
+		 * actions of the backward path.
+		 */
+		private Optional<Node<S, A>> getSolution() {
+			Node<S, A> orgNode = bestForward.node;
+			Node<S, A> revNode = bestBackward.node;
+			while (revNode.getParent() != null) {
+				S currState = revNode.getState();
+				S nextState = revNode.getParent().getState();
+				A action = getReverseAction(currState, nextState);
+				if (action == null)
+					return Optional.empty();
+				orgNode = new Node<>(nextState, orgNode, action,
+						orgNode.getPathCost() + orgP.getStepCosts(currState, action, nextState));
+				revNode = revNode.getParent();
+			}
+			return Optional.of(orgNode);
+		}
+
+		private A getReverseAction(S currState, S nextState) {
+			for (A action : orgP.getActions(currState)) {
+				if (nextState.equals(orgP.getResult(currState, action)))
+					return action;
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package aima.core.search.informed;
+
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Decorator for heuristic functions, which caches heuristic values by state.
+ * Priority queues evaluate nodes several times, and graph searches generate
+ * the same states again and again. With this cache, an expensive heuristic is
+ * computed only once per distinct state as long as the state is cached.
+ * <p>
+ * The number of cached states is bounded. When the cache is full, an entry is
+ * evicted by the CLOCK algorithm: a hand cycles over the entries and evicts
+ * the first one which has not been looked up since it was added or passed
+ * last. Hits, misses, and evictions are counted in {@link Metrics}, which can
+ * be the metrics object of the search using the heuristic:
+ * <pre>
+ * AStarSearch&lt;S, A&gt; search = new AStarSearch&lt;&gt;(new GraphSearch&lt;&gt;(), h);
+ * search.setHeuristicFunction(new CachedHeuristicFunction&lt;&gt;(h, 100000, search.getMetrics()));
+ * </pre>
+ * The decorated heuristic must depend on the state of the node only. Instances
+ * are not thread-safe.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class CachedHeuristicFunction<S, A> implements ToDoubleFunction<Node<S, A>> {
+
+	public static final String METRIC_CACHE_HITS = "heuristicCacheHits";
+	public static final String METRIC_CACHE_MISSES = "heuristicCacheMisses";
+	public static final String METRIC_CACHE_EVICTIONS = "heuristicCacheEvictions";
+
+	private final ToDoubleFunction<Node<S, A>> h;
+	private final int capacity;
+	private final Map<S, Integer> slots;
+	private final Object[] states;
+	private final double[] values;
+	private final boolean[] referenced;
+	private int size;
+	private int hand;
+
+	private final Metrics metrics;
+	private final Metrics.Counter hits;
+	private final Metrics.Counter misses;
+	private final Metrics.Counter evictions;
+
+	/**
+	 * Creates a cache with its own metrics object.
+	 *
+	 * @param h
+	 *            the heuristic function to be decorated.
+	 * @param capacity
+	 *            maximal number of cached states.
+	 */
+	public CachedHeuristicFunction(ToDoubleFunction<Node<S, A>> h, int capacity) {
+		this(h, capacity, new Metrics());
+	}
+
+	/**
+	 * Creates a cache which reports hits, misses, and evictions to the given
+	 * metrics object.
+	 */
+	public CachedHeuristicFunction(ToDoubleFunction<Node<S, A>> h, int capacity, Metrics metrics) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive.");
+		this.h = h;
+		this.capacity = capacity;
+		slots = new HashMap<>(Math.min(capacity, 1 << 16) * 4 / 3 + 1);
+		states = new Object[capacity];
+		values = new double[capacity];
+		referenced = new boolean[capacity];
+		this.metrics = metrics;
+		hits = metrics.counter(METRIC_CACHE_HITS);
+		misses = metrics.counter(METRIC_CACHE_MISSES);
+		evictions = metrics.counter(METRIC_CACHE_EVICTIONS);
+	}
+
+	@Override
+	public double applyAsDouble(Node<S, A> node) {
+		S state = node.getState();
+		Integer slot = slots.get(state);
+		if (slot != null) {
+			hits.increment();
+			referenced[slot] = true;
+			return values[slot];
+		}
+		misses.increment();
+		double value = h.applyAsDouble(node);
+		int i = size < capacity ? size++ : evict();
+		states[i] = state;
+		values[i] = value;
+		referenced[i] = false;
+		slots.put(state, i);
+		return value;
+	}
+
+	/** Returns the number of cached states. */
+	public int size() {
+		return size;
+	}
+
+	/** Removes all entries. Metrics are not reset. */
+	public void clear() {
+		slots.clear();
+		Arrays.fill(states, 0, size, null);
+		size = 0;
+		hand = 0;
+	}
+
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	// frees the first entry without reference bit, clearing bits on the way
+	private int evict() {
+		while (referenced[hand]) {
+			referenced[hand] = false;
+			hand = (hand + 1) % capacity;
+		}
+		int result = hand;
+		slots.remove(states[result]);
+		evictions.increment();
+		hand = (hand + 1) % capacity;
+		return result;
+	}
+}
@@ -0,0 +1,214 @@
+package aima.core.search.informed;
+
+import aima.core.search.framework.IncrementalHeuristicFunction;
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.NodeStore;
+import aima.core.search.framework.ReachedSet;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.SearchUtils;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.util.Tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A* graph search for large state spaces, which keeps its search tree in a
+ * {@link NodeStore} instead of {@link Node} objects. The frontier is a binary
+ * heap of int handles ordered by f = g + h (deeper nodes first on ties), the
+ * reached table is a {@link ReachedSet}, which uses state fingerprints if the
+ * problem provides them. Frontier entries are not removed when a cheaper path
+ * to their state is found, but skipped when they come up.
+ * <p>
+ * Successors are generated directly from the actions of the problem without
+ * creating node lists. {@link Node} objects are created only for heuristic
+ * evaluation (a short-lived view without parent), for node listeners (only if
+ * listeners are registered), and for the solution. Values of
+ * {@link IncrementalHeuristicFunction}s are updated from the h values in the
+ * store without node views. With a consistent
+ * heuristic, the result is the same as with <code>AStarSearch</code> based
+ * on <code>GraphSearch4e</code>. Metric names are the same as in
+ * {@link QueueSearch}.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class CompactAStarSearch<S, A> implements SearchForActions<S, A>, SearchForStates<S, A>, Informed<S, A> {
+
+	public static final String METRIC_NODES_STORED = "nodesStored";
+
+	private ToDoubleFunction<Node<S, A>> h;
+	private final NodeStore<S, A> store = new NodeStore<>();
+	private int[] heap = new int[1024];
+	private int heapSize;
+	private final List<Consumer<Node<S, A>>> listeners = new ArrayList<>();
+
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(QueueSearch.METRIC_NODES_EXPANDED);
+	private final Metrics.Gauge queueSize = metrics.gauge(QueueSearch.METRIC_QUEUE_SIZE);
+	private final Metrics.Gauge maxQueueSize = metrics.gauge(QueueSearch.METRIC_MAX_QUEUE_SIZE);
+	private final Metrics.Gauge pathCost = metrics.gauge(QueueSearch.METRIC_PATH_COST);
+	private final Metrics.Gauge nodesStored = metrics.gauge(METRIC_NODES_STORED);
+
+	/**
+	 * @param h
+	 *            a heuristic function, which estimates the cost of the cheapest
+	 *            path from the state of a node to a goal state. It receives
+	 *            nodes without parent.
+	 */
+	public CompactAStarSearch(ToDoubleFunction<Node<S, A>> h) {
+		this.h = h;
+	}
+
+	@Override
+	public void setHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
+		this.h = h;
+	}
+
+	@Override
+	public Optional<List<A>> findActions(Problem<S, A> p) {
+		return SearchUtils.toActions(findNode(p));
+	}
+
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		return SearchUtils.toState(findNode(p));
+	}
+
+	/** Returns a goal node with parent links, if a goal was found. */
+	public Optional<Node<S, A>> findNode(Problem<S, A> problem) {
+		clearMetrics();
+		store.clear();
+		heapSize = 0;
+		try {
+			int result = search(problem);
+			if (result == NodeStore.NO_NODE)
+				return Optional.empty();
+			pathCost.set(store.getPathCost(result));
+			return Optional.of(store.getNode(result));
+		} finally {
+			nodesStored.set(store.size());
+			store.clear(); // release states
+		}
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return listeners.remove(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	@SuppressWarnings("unchecked")
+	private int search(Problem<S, A> problem) {
+		IncrementalHeuristicFunction<S, A> incrementalH = h instanceof IncrementalHeuristicFunction
+				? (IncrementalHeuristicFunction<S, A>) h : null;
+		ReachedSet<S> reached = ReachedSet.create(problem, true);
+		S initialState = problem.getInitialState();
+		int root = store.addRoot(initialState, h.applyAsDouble(new Node<>(initialState)));
+		reached.put(initialState, 0);
+		push(root);
+
+		while (heapSize > 0 && !Tasks.currIsCancelled()) {
+			int handle = pop();
+			S state = store.getState(handle);
+			double g = store.getPathCost(handle);
+			if (reached.getPathCost(state) < g)
+				continue; // a cheaper path has been found after insertion
+			Node<S, A> view = store.getNodeView(handle);
+			if (problem.testSolution(view))
+				return handle;
+			nodesExpanded.increment();
+			if (!listeners.isEmpty()) {
+				Node<S, A> node = store.getNode(handle);
+				listeners.forEach(listener -> listener.accept(node));
+			}
+			for (A action : problem.getActions(state)) {
+				S successor = problem.getResult(state, action);
+				double successorG = g + problem.getStepCosts(state, action, successor);
+				double reachedG = reached.getPathCost(successor);
+				if (Double.isNaN(reachedG) || successorG < reachedG) {
+					reached.put(successor, successorG);
+					double successorH = incrementalH != null
+							? incrementalH.update(store.getH(handle), state, action, successor)
+							: h.applyAsDouble(new Node<>(successor, null, action, successorG));
+					push(store.add(successor, handle, action, successorG, successorH));
+				}
+			}
+			queueSize.set(heapSize);
+			maxQueueSize.updateMax(heapSize);
+		}
+		return NodeStore.NO_NODE;
+	}
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		queueSize.set(0);
+		maxQueueSize.set(0);
+		pathCost.set(0);
+		nodesStored.set(0);
+	}
+
+	// true if the node of handle h1 is to be expanded before the one of h2
+	private boolean isBefore(int h1, int h2) {
+		double f1 = store.getF(h1);
+		double f2 = store.getF(h2);
+		if (f1 != f2)
+			return f1 < f2;
+		double g1 = store.getPathCost(h1);
+		double g2 = store.getPathCost(h2);
+		return g1 != g2 ? g1 > g2 : h1 < h2;
+	}
+
+	private void push(int handle) {
+		if (heapSize == heap.length)
+			heap = Arrays.copyOf(heap, heap.length * 2);
+		int i = heapSize++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!isBefore(handle, heap[parent]))
+				break;
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = handle;
+	}
+
+	private int pop() {
+		int result = heap[0];
+		int last = heap[--heapSize];
+		int i = 0;
+		int half = heapSize >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			if (child + 1 < heapSize && isBefore(heap[child + 1], heap[child]))
+				child++;
+			if (!isBefore(heap[child], last))
+				break;
+			heap[i] = heap[child];
+			i = child;
+		}
+		if (heapSize > 0)
+			heap[i] = last;
+		return result;
+	}
+}
@@ -0,0 +1,304 @@
+package aima.core.search.informed;
+
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.util.Tasks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Divide-and-conquer frontier search (Korf et al. 2005) for problems with
+ * reversible actions. A best-first search (A* or, without heuristic, uniform
+ * cost search) stores only its frontier. Instead of a closed list, every
+ * frontier entry records which of its actions lead to states already
+ * expanded (used-operator bits), so that expanded states are never generated
+ * again. No parent links are kept. Instead, each entry remembers a relay
+ * state, i.e. the state where its path crosses half of the estimated solution
+ * costs. When a goal is found, the paths from the initial state to the relay
+ * state and from the relay state to the goal are computed recursively in the
+ * same way. Memory consumption is therefore linear in the size of the
+ * largest frontier, at the price of additional searches for the subproblems.
+ * <p>
+ * Requirements: for every action leading from s to s', there is an action
+ * leading from s' back to s with the same step costs; step costs are
+ * positive; the heuristic is consistent; at most 64 actions per state.
+ * Subproblems with a single goal state are solved with heuristics supplied by
+ * a factory, which maps target states to heuristic functions (uniform cost
+ * search if none is provided). Node listeners receive expanded nodes without
+ * parent.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class DivideAndConquerFrontierSearch<S, A> implements SearchForActions<S, A>, SearchForStates<S, A>,
+		Informed<S, A> {
+
+	public static final String METRIC_SEARCHES = "searches";
+	public static final String METRIC_MAX_FRONTIER_SIZE = "maxFrontierSize";
+
+	private static final int MAX_ACTIONS = 64;
+
+	private ToDoubleFunction<Node<S, A>> h;
+	private final Function<S, ToDoubleFunction<Node<S, A>>> hFactory;
+	private final List<Consumer<Node<S, A>>> listeners = new ArrayList<>();
+
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(QueueSearch.METRIC_NODES_EXPANDED);
+	private final Metrics.Counter searches = metrics.counter(METRIC_SEARCHES);
+	private final Metrics.Gauge maxFrontierSize = metrics.gauge(METRIC_MAX_FRONTIER_SIZE);
+	private final Metrics.Gauge pathCost = metrics.gauge(QueueSearch.METRIC_PATH_COST);
+
+	/** Creates a uniform cost frontier search. */
+	public DivideAndConquerFrontierSearch() {
+		this(node -> 0, state -> node -> 0);
+	}
+
+	/**
+	 * @param h
+	 *            a consistent heuristic function estimating the costs to the
+	 *            nearest goal state of the problem.
+	 * @param hFactory
+	 *            returns a consistent heuristic function estimating the costs
+	 *            to a given target state.
+	 */
+	public DivideAndConquerFrontierSearch(ToDoubleFunction<Node<S, A>> h,
+										  Function<S, ToDoubleFunction<Node<S, A>>> hFactory) {
+		this.h = h;
+		this.hFactory = hFactory;
+	}
+
+	@Override
+	public void setHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
+		this.h = h;
+	}
+
+	@Override
+	public Optional<List<A>> findActions(Problem<S, A> p) {
+		clearMetrics();
+		Segment result = solve(p, p.getInitialState(), p::testGoal, h);
+		if (result == null)
+			return Optional.empty();
+		pathCost.set(result.cost);
+		return Optional.of(result.actions);
+	}
+
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		clearMetrics();
+		Result result = search(p, p.getInitialState(), p::testGoal, h, 0);
+		if (result == null)
+			return Optional.empty();
+		pathCost.set(result.cost);
+		return Optional.of(result.goal);
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return listeners.remove(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		searches.reset();
+		maxFrontierSize.set(0);
+		pathCost.set(0);
+	}
+
+	/**
+	 * Computes an optimal action sequence from the start state to a state
+	 * satisfying the goal test, or null if no such sequence exists.
+	 */
+	private Segment solve(Problem<S, A> problem, S start, Predicate<S> goalTest, ToDoubleFunction<Node<S, A>> h) {
+		double threshold = h.applyAsDouble(new Node<>(start)) / 2;
+		Result result = search(problem, start, goalTest, h, threshold);
+		if (result == null)
+			return null;
+		List<A> actions = new ArrayList<>();
+		if (result.goal.equals(start) || Tasks.currIsCancelled())
+			return new Segment(actions, result.cost);
+		for (A action : problem.getActions(start)) {
+			S state = problem.getResult(start, action);
+			if (state.equals(result.goal) && problem.getStepCosts(start, action, state) == result.cost) {
+				actions.add(action);
+				return new Segment(actions, result.cost);
+			}
+		}
+		S goal = result.goal;
+		// a badly balanced relay (weak heuristic) leads to deep recursion
+		if (result.relayCost < result.cost / 4 || result.relayCost > 3 * result.cost / 4)
+			result = search(problem, start, goal::equals, h, result.cost / 2);
+		S relay = result.relay;
+		if (relay.equals(start) || relay.equals(goal))
+			throw new IllegalStateException("Path cannot be divided (zero step costs?).");
+		Segment first = solve(problem, start, relay::equals, hFactory.apply(relay));
+		Segment second = solve(problem, relay, goal::equals, h);
+		if (first == null || second == null)
+			return null; // cancelled or actions not reversible
+		actions.addAll(first.actions);
+		actions.addAll(second.actions);
+		return new Segment(actions, first.cost + second.cost);
+	}
+
+	/**
+	 * Frontier search from start to the nearest state satisfying the goal
+	 * test. Relay states are the states on the paths, where path costs cross
+	 * the threshold (last state not exceeding it, or the first state after
+	 * start if there is none).
+	 */
+	private Result search(Problem<S, A> problem, S start, Predicate<S> goalTest, ToDoubleFunction<Node<S, A>> h,
+						  double threshold) {
+		searches.increment();
+		Map<S, Entry<S>> frontier = new HashMap<>();
+		PriorityQueue<Entry<S>> queue = new PriorityQueue<>(Comparator.<Entry<S>>comparingDouble(e -> e.f)
+				.thenComparing(Comparator.<Entry<S>>comparingDouble(e -> e.g).reversed()));
+		Entry<S> root = new Entry<>(start, 0, h.applyAsDouble(new Node<>(start)), null, 0, false);
+		frontier.put(start, root);
+		queue.add(root);
+
+		while (!queue.isEmpty() && !Tasks.currIsCancelled()) {
+			Entry<S> entry = queue.remove();
+			if (entry.outdated)
+				continue;
+			S state = entry.state;
+			if (goalTest.test(state))
+				return new Result(state, entry.g, entry.relay != null ? entry.relay : state, entry.relayCost);
+			frontier.remove(state);
+			nodesExpanded.increment();
+			if (!listeners.isEmpty()) {
+				Node<S, A> node = new Node<>(state, null, null, entry.g);
+				listeners.forEach(listener -> listener.accept(node));
+			}
+			List<A> actions = problem.getActions(state);
+			checkActionCount(actions);
+			for (int i = 0; i < actions.size(); i++) {
+				if ((entry.usedActions & (1L << i)) != 0)
+					continue; // leads to an expanded state
+				A action = actions.get(i);
+				S successor = problem.getResult(state, action);
+				double g = entry.g + problem.getStepCosts(state, action, successor);
+				Entry<S> old = frontier.get(successor);
+				Entry<S> child = old;
+				if (old == null || g < old.g) {
+					// compute the relay of the successor
+					S relay;
+					double relayCost;
+					boolean crossed;
+					if (entry.crossed) {
+						relay = entry.relay;
+						relayCost = entry.relayCost;
+						crossed = true;
+					} else if (g <= threshold) {
+						relay = successor;
+						relayCost = g;
+						crossed = false;
+					} else {
+						relay = entry.relay != null ? entry.relay : successor;
+						relayCost = entry.relay != null ? entry.relayCost : g;
+						crossed = true;
+					}
+					double f = g + h.applyAsDouble(new Node<>(successor, null, action, g));
+					child = new Entry<>(successor, g, f, relay, relayCost, crossed);
+					if (old != null) {
+						old.outdated = true;
+						child.usedActions = old.usedActions;
+					}
+					frontier.put(successor, child);
+					queue.add(child);
+				}
+				child.usedActions |= getReverseActionBit(problem, successor, state);
+			}
+			maxFrontierSize.updateMax(frontier.size());
+		}
+		return null;
+	}
+
+	// returns the bit of the action which leads from state back to the parent state
+	private long getReverseActionBit(Problem<S, A> problem, S state, S parentState) {
+		List<A> actions = problem.getActions(state);
+		checkActionCount(actions);
+		for (int i = 0; i < actions.size(); i++) {
+			if (problem.getResult(state, actions.get(i)).equals(parentState))
+				return 1L << i;
+		}
+		throw new IllegalStateException("Action leading to " + state + " is not reversible.");
+	}
+
+	private void checkActionCount(List<A> actions) {
+		if (actions.size() > MAX_ACTIONS)
+			throw new IllegalStateException("More than " + MAX_ACTIONS + " actions are not supported.");
+	}
+
+	/** Frontier entry without parent link. */
+	private static class Entry<S> {
+		final S state;
+		final double g;
+		final double f;
+		final S relay; // null if the path consists of the start state only
+		final double relayCost;
+		final boolean crossed; // true if the path costs exceed the threshold
+		long usedActions;
+		boolean outdated;
+
+		Entry(S state, double g, double f, S relay, double relayCost, boolean crossed) {
+			this.state = state;
+			this.g = g;
+			this.f = f;
+			this.relay = relay;
+			this.relayCost = relayCost;
+			this.crossed = crossed;
+		}
+	}
+
+	/** Goal state, path costs and relay state of a frontier search. */
+	private class Result {
+		final S goal;
+		final double cost;
+		final S relay;
+		final double relayCost;
+
+		Result(S goal, double cost, S relay, double relayCost) {
+			this.goal = goal;
+			this.cost = cost;
+			this.relay = relay;
+			this.relayCost = relayCost;
+		}
+	}
+
+	private class Segment {
+		final List<A> actions;
+		final double cost;
+
+		Segment(List<A> actions, double cost) {
+			this.actions = actions;
+			this.cost = cost;
+		}
+	}
+}
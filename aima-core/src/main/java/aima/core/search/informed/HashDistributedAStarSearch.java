@@ -0,0 +1,305 @@
+package aima.core.search.informed;
+
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.NodeFactory;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.SearchUtils;
+import aima.core.search.framework.problem.Problem;
+import aima.core.util.Tasks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hash-distributed A* (HDA*). States are partitioned among worker threads by
+ * their hash codes. Each worker owns an open list and a table of best known
+ * path costs for its states. Generated nodes are sent to the owner of their
+ * state through a lock-free message queue. The cost of the best solution found
+ * so far (incumbent) is shared by all workers. Nodes which cannot lead to a
+ * cheaper solution are discarded. The search ends when all workers are idle
+ * and no messages are in transit.
+ * <p>
+ * As nodes are expanded in parallel, they are not expanded in strict order of
+ * f-values and states may be reopened when a cheaper path is found. With an
+ * admissible heuristic, the returned solution is optimal. Node listeners are
+ * called from worker threads and must be thread-safe. Per-worker expansion
+ * counts are reported as metrics <code>nodesExpanded.worker&lt;i&gt;</code>.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class HashDistributedAStarSearch<S, A> implements SearchForActions<S, A>, SearchForStates<S, A>,
+		Informed<S, A> {
+
+	public static final String METRIC_NODES_EXPANDED = "nodesExpanded";
+	public static final String METRIC_NODES_EXPANDED_BY_WORKER = "nodesExpanded.worker";
+	public static final String METRIC_MESSAGES_SENT = "messagesSent";
+	public static final String METRIC_PATH_COST = "pathCost";
+
+	private ToDoubleFunction<Node<S, A>> h;
+	private final int workerCount;
+	private final NodeFactory<S, A> nodeFactory;
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(METRIC_NODES_EXPANDED);
+	private final Metrics.Counter messagesSent = metrics.counter(METRIC_MESSAGES_SENT);
+	private final Metrics.Gauge pathCost = metrics.gauge(METRIC_PATH_COST);
+	private final Metrics.Counter[] workerExpansions;
+
+	/** Creates a search which uses one worker per available processor. */
+	public HashDistributedAStarSearch(ToDoubleFunction<Node<S, A>> h) {
+		this(h, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a search with the specified number of worker threads.
+	 *
+	 * @param h
+	 *            a heuristic function, which estimates the cost of the cheapest
+	 *            path from the state of a node to a goal state.
+	 * @param workerCount
+	 *            number of worker threads.
+	 */
+	public HashDistributedAStarSearch(ToDoubleFunction<Node<S, A>> h, int workerCount) {
+		if (workerCount < 1)
+			throw new IllegalArgumentException("At least one worker is needed.");
+		this.h = h;
+		this.workerCount = workerCount;
+		nodeFactory = new NodeFactory<>();
+		nodeFactory.addNodeListener(node -> nodesExpanded.increment());
+		workerExpansions = new Metrics.Counter[workerCount];
+		for (int i = 0; i < workerCount; i++)
+			workerExpansions[i] = metrics.counter(METRIC_NODES_EXPANDED_BY_WORKER + i);
+	}
+
+	@Override
+	public void setHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
+		this.h = h;
+	}
+
+	@Override
+	public Optional<List<A>> findActions(Problem<S, A> p) {
+		nodeFactory.useParentLinks(true);
+		return SearchUtils.toActions(findNode(p));
+	}
+
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		nodeFactory.useParentLinks(false);
+		return SearchUtils.toState(findNode(p));
+	}
+
+	/**
+	 * Runs the workers until the search space is exhausted with respect to the
+	 * incumbent solution and returns the best solution node found.
+	 */
+	public Optional<Node<S, A>> findNode(Problem<S, A> p) {
+		clearMetrics();
+		Search search = new Search(p);
+		Node<S, A> root = nodeFactory.createNode(p.getInitialState());
+		search.send(new Entry<>(root, h.applyAsDouble(root)));
+
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < workerCount; i++) {
+			Thread thread = new Thread(search.workers.get(i), "hda-worker-" + i);
+			threads.add(thread);
+			thread.start();
+		}
+		try {
+			for (Thread thread : threads) {
+				while (thread.isAlive()) {
+					thread.join(50);
+					if (Tasks.currIsCancelled())
+						search.done.set(true);
+				}
+			}
+		} catch (InterruptedException e) {
+			search.done.set(true);
+			Thread.currentThread().interrupt();
+		}
+		Throwable failure = search.failure.get();
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+		else if (failure instanceof Error)
+			throw (Error) failure;
+
+		Node<S, A> result = search.incumbent.get();
+		if (result != null)
+			pathCost.set(result.getPathCost());
+		return Optional.ofNullable(result);
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		nodeFactory.addNodeListener(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return nodeFactory.removeNodeListener(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		messagesSent.reset();
+		pathCost.set(0);
+		for (Metrics.Counter counter : workerExpansions)
+			counter.reset();
+	}
+
+	/** Node with cached f-value. */
+	private static class Entry<S, A> {
+		final Node<S, A> node;
+		final double f;
+
+		Entry(Node<S, A> node, double h) {
+			this.node = node;
+			this.f = node.getPathCost() + h;
+		}
+	}
+
+	/** Shared state of one search run. */
+	private class Search {
+		final Problem<S, A> problem;
+		final List<Worker> workers = new ArrayList<>();
+		final AtomicReference<Node<S, A>> incumbent = new AtomicReference<>();
+		// number of nodes in transit or in open lists
+		final AtomicLong pending = new AtomicLong();
+		final AtomicBoolean done = new AtomicBoolean();
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		Search(Problem<S, A> problem) {
+			this.problem = problem;
+			for (int i = 0; i < workerCount; i++)
+				workers.add(new Worker(this, i));
+		}
+
+		void send(Entry<S, A> entry) {
+			pending.incrementAndGet();
+			workers.get(getOwner(entry.node.getState())).inbox.add(entry);
+		}
+
+		int getOwner(S state) {
+			int hash = state.hashCode() * 0x9E3779B9;
+			return Math.floorMod(hash ^ (hash >>> 16), workerCount);
+		}
+
+		double getIncumbentCost() {
+			Node<S, A> node = incumbent.get();
+			return node != null ? node.getPathCost() : Double.POSITIVE_INFINITY;
+		}
+
+		void offerSolution(Node<S, A> node) {
+			Node<S, A> current;
+			do {
+				current = incumbent.get();
+				if (current != null && current.getPathCost() <= node.getPathCost())
+					return;
+			} while (!incumbent.compareAndSet(current, node));
+		}
+	}
+
+	private class Worker implements Runnable {
+		final Search search;
+		final int id;
+		final Queue<Entry<S, A>> inbox = new ConcurrentLinkedQueue<>();
+		final PriorityQueue<Entry<S, A>> open = new PriorityQueue<>(Comparator.<Entry<S, A>>comparingDouble
+				(e -> e.f).thenComparing(Comparator.<Entry<S, A>>comparingDouble(e -> e.node.getPathCost()).reversed()));
+		final Map<S, Double> bestG = new HashMap<>();
+
+		Worker(Search search, int id) {
+			this.search = search;
+			this.id = id;
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (!search.done.get()) {
+					receive();
+					Entry<S, A> entry = open.poll();
+					if (entry == null) {
+						if (search.pending.get() == 0)
+							search.done.set(true);
+						else
+							Thread.yield();
+						continue;
+					}
+					process(entry);
+				}
+			} catch (RuntimeException | Error e) {
+				search.failure.compareAndSet(null, e);
+				search.done.set(true);
+			}
+		}
+
+		private void receive() {
+			Entry<S, A> entry;
+			while ((entry = inbox.poll()) != null) {
+				if (!insert(entry))
+					search.pending.decrementAndGet();
+			}
+		}
+
+		// adds the entry to the open list if its path is the best known
+		private boolean insert(Entry<S, A> entry) {
+			Double g = bestG.get(entry.node.getState());
+			if (g != null && g <= entry.node.getPathCost())
+				return false;
+			bestG.put(entry.node.getState(), entry.node.getPathCost());
+			open.add(entry);
+			return true;
+		}
+
+		private void process(Entry<S, A> entry) {
+			Node<S, A> node = entry.node;
+			if (bestG.get(node.getState()) < node.getPathCost()) {
+				search.pending.decrementAndGet(); // stale entry
+			} else if (entry.f >= search.getIncumbentCost()) {
+				// no entry in the open list can lead to a better solution
+				search.pending.addAndGet(-(open.size() + 1));
+				open.clear();
+			} else if (search.problem.testSolution(node)) {
+				search.offerSolution(node);
+				search.pending.decrementAndGet();
+			} else {
+				for (Node<S, A> successor : nodeFactory.getSuccessors(node, search.problem)) {
+					Entry<S, A> succEntry = new Entry<>(successor, h.applyAsDouble(successor));
+					if (succEntry.f >= search.getIncumbentCost())
+						continue;
+					if (search.getOwner(successor.getState()) == id) {
+						if (insert(succEntry))
+							search.pending.incrementAndGet();
+					} else {
+						messagesSent.increment();
+						search.send(succEntry);
+					}
+				}
+				workerExpansions[id].increment();
+				search.pending.decrementAndGet();
+			}
+		}
+	}
+}
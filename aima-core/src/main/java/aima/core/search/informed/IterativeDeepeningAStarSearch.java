@@ -0,0 +1,267 @@
+package aima.core.search.informed;
+
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.problem.InPlaceProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.util.Tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Iterative deepening A* (IDA*). Performs a sequence of depth-first searches.
+ * Each search prunes nodes whose f-value exceeds the current limit. The limit
+ * starts with the f-value of the root and is raised to the smallest pruned
+ * f-value after each iteration. With an admissible heuristic, the first
+ * solution found is optimal. Memory requirements are linear in the solution
+ * depth.
+ * <p>
+ * If the problem implements {@link InPlaceProblem}, one working state is
+ * modified in place and actions are undone on backtracking, so no successor
+ * states are allocated. Otherwise, successor states are obtained from
+ * {@link Problem#getResult(Object, Object)}. Moves back to the parent state are
+ * skipped in both cases.
+ * <p>
+ * Optionally, a transposition table with a fixed number of entries is used to
+ * prune states which have already been reached in the current iteration with
+ * lower or equal path costs. States are identified by 64 bit fingerprints,
+ * which should be unique (e.g. packed tile positions). The table is lossy: on
+ * collisions, entries are replaced, which reduces pruning but never affects
+ * correctness.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class IterativeDeepeningAStarSearch<S, A> implements SearchForActions<S, A>, SearchForStates<S, A>,
+		Informed<S, A> {
+
+	public static final String METRIC_NODES_EXPANDED = "nodesExpanded";
+	public static final String METRIC_ITERATIONS = "iterations";
+	public static final String METRIC_F_LIMIT = "fLimit";
+	public static final String METRIC_TRANSPOSITION_HITS = "transpositionHits";
+	public static final String METRIC_PATH_COST = "pathCost";
+
+	private static final double FOUND = Double.NEGATIVE_INFINITY;
+
+	private final EvaluationFunction<S, A> evalFn;
+	private final ToLongFunction<S> fingerprintFn;
+	private final TranspositionTable table;
+	private final List<Consumer<Node<S, A>>> listeners = new ArrayList<>();
+
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(METRIC_NODES_EXPANDED);
+	private final Metrics.Counter iterations = metrics.counter(METRIC_ITERATIONS);
+	private final Metrics.Gauge fLimit = metrics.gauge(METRIC_F_LIMIT);
+	private final Metrics.Counter transpositionHits = metrics.counter(METRIC_TRANSPOSITION_HITS);
+	private final Metrics.Gauge pathCost = metrics.gauge(METRIC_PATH_COST);
+
+	// state of the current search
+	private Problem<S, A> problem;
+	private InPlaceProblem<S, A> inPlaceProblem;
+	private final List<A> path = new ArrayList<>();
+	private S solution;
+
+	/**
+	 * Creates an IDA* search without transposition table.
+	 *
+	 * @param evalFn
+	 *            evaluation function, typically f(n) = g(n) + h(n) (see
+	 *            {@link AStarSearch#createEvalFn(ToDoubleFunction)}).
+	 */
+	public IterativeDeepeningAStarSearch(EvaluationFunction<S, A> evalFn) {
+		this(evalFn, null, 0);
+	}
+
+	/**
+	 * Creates an IDA* search with transposition table.
+	 *
+	 * @param evalFn
+	 *            evaluation function, typically f(n) = g(n) + h(n).
+	 * @param fingerprintFn
+	 *            maps states to 64 bit fingerprints.
+	 * @param tableSize
+	 *            maximal number of transposition table entries (rounded up to
+	 *            a power of two).
+	 */
+	public IterativeDeepeningAStarSearch(EvaluationFunction<S, A> evalFn, ToLongFunction<S> fingerprintFn,
+										 int tableSize) {
+		this.evalFn = evalFn;
+		this.fingerprintFn = fingerprintFn;
+		table = fingerprintFn != null && tableSize > 0 ? new TranspositionTable(tableSize) : null;
+	}
+
+	@Override
+	public void setHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
+		evalFn.setHeuristicFunction(h);
+	}
+
+	@Override
+	public Optional<List<A>> findActions(Problem<S, A> p) {
+		return search(p) ? Optional.of(new ArrayList<>(path)) : Optional.empty();
+	}
+
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		return search(p) ? Optional.of(solution) : Optional.empty();
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Adds a listener which is informed whenever a node is expanded. Nodes
+	 * passed to listeners have no parent links. If the problem is an
+	 * {@link InPlaceProblem}, their state is the working state, which is
+	 * modified after the call.
+	 */
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return listeners.remove(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	@SuppressWarnings("unchecked")
+	private boolean search(Problem<S, A> p) {
+		clearMetrics();
+		problem = p;
+		inPlaceProblem = (p instanceof InPlaceProblem) ? (InPlaceProblem<S, A>) p : null;
+		path.clear();
+		solution = null;
+		S root = inPlaceProblem != null ? inPlaceProblem.copyState(p.getInitialState()) : p.getInitialState();
+		double limit = evalFn.applyAsDouble(new Node<>(root));
+		try {
+			while (!Tasks.currIsCancelled()) {
+				iterations.increment();
+				fLimit.set(limit);
+				if (table != null)
+					table.nextIteration();
+				double t = depthFirstSearch(root, null, null, 0, limit);
+				if (t == FOUND)
+					return true;
+				if (t == Double.POSITIVE_INFINITY)
+					break;
+				limit = t;
+			}
+			return false;
+		} finally {
+			problem = null;
+			inPlaceProblem = null;
+		}
+	}
+
+	// returns FOUND or the smallest f-value which exceeded the limit
+	private double depthFirstSearch(S state, S parentState, A lastAction, double g, double limit) {
+		Node<S, A> node = new Node<>(state, null, lastAction, g);
+		double f = evalFn.applyAsDouble(node);
+		if (f > limit)
+			return f;
+		if (problem.testSolution(node)) {
+			solution = inPlaceProblem != null ? inPlaceProblem.copyState(state) : state;
+			pathCost.set(g);
+			return FOUND;
+		}
+		if (table != null && !table.visit(fingerprintFn.applyAsLong(state), g)) {
+			transpositionHits.increment();
+			return Double.POSITIVE_INFINITY;
+		}
+		if (Tasks.currIsCancelled())
+			return Double.POSITIVE_INFINITY;
+		nodesExpanded.increment();
+		listeners.forEach(listener -> listener.accept(node));
+
+		double min = Double.POSITIVE_INFINITY;
+		for (A action : problem.getActions(state)) {
+			double t;
+			path.add(action);
+			if (inPlaceProblem != null) {
+				if (inPlaceProblem.isInverse(action, lastAction)) {
+					path.remove(path.size() - 1);
+					continue;
+				}
+				double stepCost = inPlaceProblem.getStepCosts(state, action);
+				inPlaceProblem.doAction(state, action);
+				t = depthFirstSearch(state, null, action, g + stepCost, limit);
+				inPlaceProblem.undoAction(state, action);
+			} else {
+				S successor = problem.getResult(state, action);
+				if (successor.equals(parentState)) {
+					path.remove(path.size() - 1);
+					continue;
+				}
+				t = depthFirstSearch(successor, state, action, g + problem.getStepCosts(state, action, successor),
+						limit);
+			}
+			if (t == FOUND)
+				return FOUND;
+			path.remove(path.size() - 1);
+			if (t < min)
+				min = t;
+		}
+		return min;
+	}
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		iterations.reset();
+		fLimit.set(0);
+		transpositionHits.reset();
+		pathCost.set(0);
+	}
+
+	/**
+	 * Lossy hash table which maps fingerprints to the lowest path cost seen in
+	 * the current iteration. Entries of former iterations are ignored.
+	 */
+	private static class TranspositionTable {
+		private final long[] keys;
+		private final double[] costs;
+		private final int[] stamps;
+		private final int mask;
+		private int iteration;
+
+		TranspositionTable(int size) {
+			int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+			keys = new long[capacity];
+			costs = new double[capacity];
+			stamps = new int[capacity];
+			mask = capacity - 1;
+		}
+
+		void nextIteration() {
+			if (++iteration == 0) { // overflow, invalidate all entries
+				Arrays.fill(stamps, 0);
+				iteration = 1;
+			}
+		}
+
+		// returns false if the key was already visited with lower or equal costs
+		boolean visit(long key, double cost) {
+			long hash = key * 0x9E3779B97F4A7C15L;
+			int slot = (int) (hash ^ (hash >>> 32)) & mask;
+			if (stamps[slot] == iteration && keys[slot] == key && costs[slot] <= cost)
+				return false;
+			keys[slot] = key;
+			costs[slot] = cost;
+			stamps[slot] = iteration;
+			return true;
+		}
+	}
+}
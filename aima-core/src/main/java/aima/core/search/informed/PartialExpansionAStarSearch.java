@@ -0,0 +1,175 @@
+package aima.core.search.informed;
+
+import aima.core.search.framework.IncrementalHeuristicFunction;
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.NodeFactory;
+import aima.core.search.framework.ReachedSet;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.SearchUtils;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.util.Tasks;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Partial Expansion A* (PEA*, Yoshizumi, Miura, Ishida 2000) graph search.
+ * Each frontier entry carries a stored f value, which is initially
+ * f = g + h of its node. When an entry is selected, all children are
+ * generated (lazily, see {@link NodeFactory#iterateSuccessors(Node, Problem)}),
+ * but only children whose f value does not exceed the stored value are added
+ * to the frontier. If other children exist, the entry is put back into the
+ * frontier with the smallest f value of these children as new stored value,
+ * so that they are added when that value is reached. Children which are never
+ * needed to prove optimality are never stored. This reduces the frontier size
+ * significantly on problems with high branching factors, at the price of
+ * generating children several times.
+ * <p>
+ * With a consistent heuristic, solutions are optimal. Expansions are counted
+ * each time an entry is selected. Node listeners are informed about each
+ * expansion too.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class PartialExpansionAStarSearch<S, A> implements SearchForActions<S, A>, SearchForStates<S, A>,
+		Informed<S, A> {
+
+	public static final String METRIC_NODES_GENERATED = "nodesGenerated";
+	public static final String METRIC_NODES_REEXPANDED = "nodesReexpanded";
+
+	private ToDoubleFunction<Node<S, A>> h;
+	private final NodeFactory<S, A> nodeFactory = new NodeFactory<>();
+
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(QueueSearch.METRIC_NODES_EXPANDED);
+	private final Metrics.Counter nodesReexpanded = metrics.counter(METRIC_NODES_REEXPANDED);
+	private final Metrics.Counter nodesGenerated = metrics.counter(METRIC_NODES_GENERATED);
+	private final Metrics.Gauge queueSize = metrics.gauge(QueueSearch.METRIC_QUEUE_SIZE);
+	private final Metrics.Gauge maxQueueSize = metrics.gauge(QueueSearch.METRIC_MAX_QUEUE_SIZE);
+	private final Metrics.Gauge pathCost = metrics.gauge(QueueSearch.METRIC_PATH_COST);
+
+	/**
+	 * @param h
+	 *            a consistent heuristic function, which estimates the cost of
+	 *            the cheapest path from the state of a node to a goal state.
+	 */
+	public PartialExpansionAStarSearch(ToDoubleFunction<Node<S, A>> h) {
+		setHeuristicFunction(h);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void setHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
+		this.h = h;
+		nodeFactory.setIncrementalHeuristicFunction(h instanceof IncrementalHeuristicFunction
+				? (IncrementalHeuristicFunction<S, A>) h : null);
+	}
+
+	@Override
+	public Optional<List<A>> findActions(Problem<S, A> p) {
+		return SearchUtils.toActions(findNode(p));
+	}
+
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		return SearchUtils.toState(findNode(p));
+	}
+
+	/** Returns a goal node with parent links, if a goal was found. */
+	public Optional<Node<S, A>> findNode(Problem<S, A> problem) {
+		clearMetrics();
+		ReachedSet<S> reached = ReachedSet.create(problem, true);
+		PriorityQueue<Entry<S, A>> frontier = new PriorityQueue<>((e1, e2) -> e1.storedF != e2.storedF
+				? Double.compare(e1.storedF, e2.storedF)
+				: Double.compare(e2.node.getPathCost(), e1.node.getPathCost()));
+		Node<S, A> root = nodeFactory.createNode(problem.getInitialState());
+		reached.put(root.getState(), 0);
+		frontier.add(new Entry<>(root, h.applyAsDouble(root)));
+
+		while (!frontier.isEmpty() && !Tasks.currIsCancelled()) {
+			Entry<S, A> entry = frontier.remove();
+			Node<S, A> node = entry.node;
+			if (reached.getPathCost(node.getState()) < node.getPathCost())
+				continue; // a cheaper path has been found after insertion
+			if (problem.testSolution(node)) {
+				pathCost.set(node.getPathCost());
+				return Optional.of(node);
+			}
+			nodesExpanded.increment();
+			if (entry.expanded)
+				nodesReexpanded.increment();
+			double nextF = Double.POSITIVE_INFINITY;
+			Iterator<Node<S, A>> children = nodeFactory.iterateSuccessors(node, problem);
+			while (children.hasNext()) {
+				Node<S, A> child = children.next();
+				nodesGenerated.increment();
+				double reachedCost = reached.getPathCost(child.getState());
+				if (!Double.isNaN(reachedCost) && reachedCost <= child.getPathCost())
+					continue; // already stored with same or lower costs
+				double f = child.getPathCost() + h.applyAsDouble(child);
+				if (f <= entry.storedF) {
+					reached.put(child.getState(), child.getPathCost());
+					frontier.add(new Entry<>(child, f));
+				} else {
+					nextF = Math.min(nextF, f); // collapsed into the parent
+				}
+			}
+			if (nextF < Double.POSITIVE_INFINITY) {
+				entry.storedF = nextF;
+				entry.expanded = true;
+				frontier.add(entry);
+			}
+			queueSize.set(frontier.size());
+			maxQueueSize.updateMax(frontier.size());
+		}
+		return Optional.empty();
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		nodeFactory.addNodeListener(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return nodeFactory.removeNodeListener(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		nodesReexpanded.reset();
+		nodesGenerated.reset();
+		queueSize.set(0);
+		maxQueueSize.set(0);
+		pathCost.set(0);
+	}
+
+	/** Frontier entry with stored f value. */
+	private static class Entry<S, A> {
+		final Node<S, A> node;
+		double storedF;
+		boolean expanded;
+
+		Entry(Node<S, A> node, double storedF) {
+			this.node = node;
+			this.storedF = storedF;
+		}
+	}
+}
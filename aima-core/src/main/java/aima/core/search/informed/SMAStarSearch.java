@@ -0,0 +1,312 @@
+package aima.core.search.informed;
+
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.SearchUtils;
+import aima.core.search.framework.problem.Problem;
+import aima.core.util.Tasks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Simplified memory-bounded A* (SMA*). Works like A* on the search tree, but
+ * keeps at most a fixed number of nodes in memory. Successors are generated
+ * one at a time. When memory is full, the worst leaf (highest f-value,
+ * shallowest on ties) is dropped and its f-value is remembered by its parent,
+ * which regenerates the subtree only if all better alternatives have been
+ * explored. When all successors of a node have been generated, its f-value is
+ * backed up to the minimum f-value of its successors, including the forgotten
+ * ones.
+ * <p>
+ * SMA* finds the optimal solution if it is reachable within the node budget,
+ * i.e. if the depth of the shallowest optimal solution is less than the
+ * maximal number of nodes, otherwise the best reachable solution or none. The
+ * heuristic should be admissible. Moves back to the parent state are skipped.
+ * Node listeners are informed when a node is expanded for the first time.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class SMAStarSearch<S, A> implements SearchForActions<S, A>, SearchForStates<S, A>, Informed<S, A> {
+
+	public static final String METRIC_NODES_EXPANDED = "nodesExpanded";
+	public static final String METRIC_NODES_FORGOTTEN = "nodesForgotten";
+	public static final String METRIC_MAX_NODES_IN_MEMORY = "maxNodesInMemory";
+	public static final String METRIC_PATH_COST = "pathCost";
+
+	/**
+	 * Rough estimate of the heap space needed by a node in addition to its
+	 * state (search tree node, bookkeeping and set entries).
+	 */
+	public static final int NODE_OVERHEAD_BYTES = 200;
+
+	private ToDoubleFunction<Node<S, A>> h;
+	private final int maxNodes;
+	private final List<Consumer<Node<S, A>>> listeners = new ArrayList<>();
+
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(METRIC_NODES_EXPANDED);
+	private final Metrics.Counter nodesForgotten = metrics.counter(METRIC_NODES_FORGOTTEN);
+	private final Metrics.Gauge maxNodesInMemory = metrics.gauge(METRIC_MAX_NODES_IN_MEMORY);
+	private final Metrics.Gauge pathCost = metrics.gauge(METRIC_PATH_COST);
+
+	/**
+	 * @param h
+	 *            a heuristic function, which estimates the cost of the cheapest
+	 *            path from the state of a node to a goal state.
+	 * @param maxNodes
+	 *            maximal number of nodes kept in memory (at least 2).
+	 */
+	public SMAStarSearch(ToDoubleFunction<Node<S, A>> h, int maxNodes) {
+		if (maxNodes < 2)
+			throw new IllegalArgumentException("At least two nodes are needed.");
+		this.h = h;
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * Computes a node budget for the given amount of heap space.
+	 *
+	 * @param heapBytes
+	 *            heap space available for the search.
+	 * @param bytesPerState
+	 *            estimated size of a state object.
+	 */
+	public static int getNodeLimit(long heapBytes, int bytesPerState) {
+		long limit = heapBytes / (NODE_OVERHEAD_BYTES + Math.max(bytesPerState, 0));
+		return (int) Math.max(2, Math.min(limit, Integer.MAX_VALUE));
+	}
+
+	@Override
+	public void setHeuristicFunction(ToDoubleFunction<Node<S, A>> h) {
+		this.h = h;
+	}
+
+	@Override
+	public Optional<List<A>> findActions(Problem<S, A> p) {
+		return SearchUtils.toActions(findNode(p));
+	}
+
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		return SearchUtils.toState(findNode(p));
+	}
+
+	/**
+	 * Searches the problem within the node budget and returns a solution node
+	 * with parent links, if one was found.
+	 */
+	public Optional<Node<S, A>> findNode(Problem<S, A> p) {
+		clearMetrics();
+		Search search = new Search(p);
+		Entry<S, A> result = search.run();
+		if (result != null)
+			pathCost.set(result.node.getPathCost());
+		return result != null ? Optional.of(result.node) : Optional.empty();
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return listeners.remove(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		nodesForgotten.reset();
+		maxNodesInMemory.set(0);
+		pathCost.set(0);
+	}
+
+	/** Successor which has not been generated yet or has been forgotten. */
+	private static class Pending<S, A> {
+		final A action;
+		// computed when the parent is expanded, null after the successor was forgotten
+		final S state;
+		final double f; // lower bound, known after the successor was forgotten
+
+		Pending(A action, S state, double f) {
+			this.action = action;
+			this.state = state;
+			this.f = f;
+		}
+	}
+
+	/** Search tree node with SMA* bookkeeping. */
+	private static class Entry<S, A> {
+		final Node<S, A> node;
+		final Entry<S, A> parent;
+		final int depth;
+		final long id;
+		double f;
+		// null until the node is expanded for the first time
+		Deque<Pending<S, A>> pending;
+		final List<Entry<S, A>> children = new ArrayList<>(4);
+
+		Entry(Node<S, A> node, Entry<S, A> parent, double f, long id) {
+			this.node = node;
+			this.parent = parent;
+			this.depth = parent != null ? parent.depth + 1 : 0;
+			this.f = f;
+			this.id = id;
+		}
+
+		// true if all successors have been generated at least once
+		boolean isCompleted() {
+			return pending != null && pending.stream().allMatch(e -> !Double.isNaN(e.f));
+		}
+
+		boolean hasPending() {
+			return pending == null || !pending.isEmpty();
+		}
+	}
+
+	/** State of one search run. */
+	private class Search {
+		final Problem<S, A> problem;
+		// nodes with successors to be generated, best first (low f, deep)
+		final TreeSet<Entry<S, A>> open = new TreeSet<>(Comparator.<Entry<S, A>>comparingDouble(e -> e.f)
+				.thenComparing(Comparator.<Entry<S, A>>comparingInt(e -> e.depth).reversed())
+				.thenComparingLong(e -> e.id));
+		// nodes without children in memory, worst first (high f, shallow)
+		final TreeSet<Entry<S, A>> leaves = new TreeSet<>(Comparator.<Entry<S, A>>comparingDouble(e -> e.f)
+				.reversed().thenComparingInt(e -> e.depth).thenComparingLong(e -> e.id));
+		int nodesInMemory;
+		long nextId;
+
+		Search(Problem<S, A> problem) {
+			this.problem = problem;
+		}
+
+		Entry<S, A> run() {
+			Node<S, A> rootNode = new Node<>(problem.getInitialState());
+			Entry<S, A> root = new Entry<>(rootNode, null, h.applyAsDouble(rootNode), nextId++);
+			open.add(root);
+			leaves.add(root);
+			nodesInMemory = 1;
+			maxNodesInMemory.set(1);
+
+			while (!open.isEmpty() && !Tasks.currIsCancelled()) {
+				Entry<S, A> best = open.first();
+				if (best.f == Double.POSITIVE_INFINITY)
+					break;
+				if (problem.testSolution(best.node))
+					return best;
+				if (best.pending == null)
+					initSuccessors(best);
+				if (best.pending.isEmpty()) { // dead end
+					setF(best, Double.POSITIVE_INFINITY);
+					backup(best.parent);
+					continue;
+				}
+				nodesExpanded.increment();
+				Entry<S, A> child = generateSuccessor(best, best.pending.poll());
+				if (!best.hasPending())
+					open.remove(best);
+				leaves.remove(best);
+				best.children.add(child);
+				open.add(child);
+				leaves.add(child);
+				nodesInMemory++;
+				backup(best);
+				if (nodesInMemory > maxNodes)
+					forgetWorstLeaf();
+				maxNodesInMemory.updateMax(nodesInMemory);
+			}
+			return null;
+		}
+
+		private void initSuccessors(Entry<S, A> entry) {
+			entry.pending = new ArrayDeque<>();
+			S parentState = entry.parent != null ? entry.parent.node.getState() : null;
+			for (A action : problem.getActions(entry.node.getState())) {
+				S successorState = problem.getResult(entry.node.getState(), action);
+				if (parentState != null && successorState.equals(parentState))
+					continue;
+				entry.pending.add(new Pending<>(action, successorState, Double.NaN));
+			}
+			listeners.forEach(listener -> listener.accept(entry.node));
+		}
+
+		private Entry<S, A> generateSuccessor(Entry<S, A> entry, Pending<S, A> p) {
+			S state = entry.node.getState();
+			S successorState = p.state != null ? p.state : problem.getResult(state, p.action);
+			Node<S, A> node = new Node<>(successorState, entry.node, p.action,
+					entry.node.getPathCost() + problem.getStepCosts(state, p.action, successorState));
+			double f = Math.max(entry.f, node.getPathCost() + h.applyAsDouble(node));
+			if (!Double.isNaN(p.f))
+				f = Math.max(f, p.f);
+			// deeper nodes cannot be part of a solution path in memory
+			if (entry.depth + 2 >= maxNodes && !problem.testSolution(node))
+				f = Double.POSITIVE_INFINITY;
+			return new Entry<>(node, entry, f, nextId++);
+		}
+
+		// drops the leaf with the highest f-value (shallowest on ties)
+		private void forgetWorstLeaf() {
+			Entry<S, A> worst = leaves.first();
+			if (worst.parent == null)
+				return;
+			leaves.remove(worst);
+			open.remove(worst);
+			Entry<S, A> parent = worst.parent;
+			parent.children.remove(worst);
+			// the state is dropped with the subtree and recomputed on regeneration
+			parent.pending.add(new Pending<>(worst.node.getAction(), null, worst.f));
+			if (parent.children.isEmpty())
+				leaves.add(parent);
+			open.add(parent);
+			nodesInMemory--;
+			nodesForgotten.increment();
+		}
+
+		// sets the f-values of completed nodes to the minimum of their successors
+		private void backup(Entry<S, A> entry) {
+			while (entry != null && entry.isCompleted()) {
+				double f = Double.POSITIVE_INFINITY;
+				for (Entry<S, A> child : entry.children)
+					f = Math.min(f, child.f);
+				for (Pending<S, A> p : entry.pending)
+					f = Math.min(f, p.f);
+				if (f <= entry.f)
+					break;
+				setF(entry, f);
+				entry = entry.parent;
+			}
+		}
+
+		// updates the f-value and the position in the sorted sets
+		private void setF(Entry<S, A> entry, double f) {
+			boolean inOpen = open.remove(entry);
+			boolean isLeaf = leaves.remove(entry);
+			entry.f = f;
+			if (inOpen)
+				open.add(entry);
+			if (isLeaf)
+				leaves.add(entry);
+		}
+	}
+}
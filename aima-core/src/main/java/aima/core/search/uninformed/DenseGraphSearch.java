@@ -0,0 +1,296 @@
+package aima.core.search.uninformed;
+
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.SearchUtils;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateIndexer;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.util.Tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Breadth-first or uniform cost graph search for problems with enumerable
+ * state spaces. The problem must provide a {@link StateIndexer}. Instead of
+ * nodes and hash sets, the search keeps a bit set of expanded states, an int
+ * array of parent indices, and a double array of path costs, each with one
+ * entry per index. The frontier contains indices only. For the 8-puzzle, the
+ * whole state space of 181440 states can be searched with about 3 MB.
+ * <p>
+ * Actions are not stored. When a solution is found, the actions are
+ * reconstructed by looking for an action with matching result and step costs
+ * in each parent state. After a search, the path costs of all reached states
+ * can be queried by {@link #getPathCost(Object)}. Breadth-first search tests
+ * goals when nodes are generated (see
+ * {@link QueueSearch#setEarlyGoalTest(boolean)}), uniform cost search when
+ * they are selected for expansion. Node listeners receive expanded nodes
+ * without parent.
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class DenseGraphSearch<S, A> implements SearchForActions<S, A>, SearchForStates<S, A> {
+
+	public enum Strategy {
+		BREADTH_FIRST, UNIFORM_COST
+	}
+
+	public static final String METRIC_STATES_REACHED = "statesReached";
+
+	private static final int UNREACHED = -1;
+
+	private final Strategy strategy;
+	private final List<Consumer<Node<S, A>>> listeners = new ArrayList<>();
+
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(QueueSearch.METRIC_NODES_EXPANDED);
+	private final Metrics.Gauge queueSize = metrics.gauge(QueueSearch.METRIC_QUEUE_SIZE);
+	private final Metrics.Gauge maxQueueSize = metrics.gauge(QueueSearch.METRIC_MAX_QUEUE_SIZE);
+	private final Metrics.Gauge pathCost = metrics.gauge(QueueSearch.METRIC_PATH_COST);
+	private final Metrics.Gauge statesReached = metrics.gauge(METRIC_STATES_REACHED);
+
+	// results of the last search
+	private StateIndexer<S> indexer;
+	private int[] parents;
+	private double[] pathCosts;
+	private BitSet expanded;
+
+	// frontier: FIFO queue or binary heap of indices
+	private int[] queue;
+	private double[] keys;
+	private int head;
+	private int tail;
+
+	public DenseGraphSearch(Strategy strategy) {
+		this.strategy = strategy;
+	}
+
+	@Override
+	public Optional<List<A>> findActions(Problem<S, A> p) {
+		return SearchUtils.toActions(findNode(p));
+	}
+
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		return SearchUtils.toState(findNode(p));
+	}
+
+	/**
+	 * Returns a goal node with parent links, if a goal was found.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the problem does not provide a state indexer.
+	 */
+	public Optional<Node<S, A>> findNode(Problem<S, A> problem) {
+		int goal = search(problem, true);
+		if (goal == UNREACHED)
+			return Optional.empty();
+		pathCost.set(pathCosts[goal]);
+		return Optional.of(createNode(problem, goal));
+	}
+
+	/**
+	 * Expands all states reachable from the initial state without testing
+	 * goals. Afterwards, their path costs can be queried.
+	 *
+	 * @return the number of reached states.
+	 */
+	public int exploreStateSpace(Problem<S, A> problem) {
+		search(problem, false);
+		return (int) statesReached.get();
+	}
+
+	/**
+	 * Returns the costs of the cheapest path found to the state by the last
+	 * search, or NaN if the state has not been reached.
+	 */
+	public double getPathCost(S state) {
+		if (indexer == null)
+			return Double.NaN;
+		int index = indexer.getIndex(state);
+		return parents[index] != UNREACHED ? pathCosts[index] : Double.NaN;
+	}
+
+	/** Releases the arrays of the last search. */
+	public void clear() {
+		indexer = null;
+		parents = null;
+		pathCosts = null;
+		expanded = null;
+		queue = null;
+		keys = null;
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return listeners.remove(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		queueSize.set(0);
+		maxQueueSize.set(0);
+		pathCost.set(0);
+		statesReached.set(0);
+	}
+
+	/** Returns the index of a goal state or UNREACHED. */
+	private int search(Problem<S, A> problem, boolean testGoals) {
+		clearMetrics();
+		indexer = problem.getStateIndexer();
+		if (indexer == null)
+			throw new IllegalArgumentException("Problem does not provide a state indexer.");
+		int count = indexer.getIndexCount();
+		parents = new int[count];
+		Arrays.fill(parents, UNREACHED);
+		pathCosts = new double[count];
+		expanded = new BitSet(count);
+		boolean bfs = strategy == Strategy.BREADTH_FIRST;
+		queue = new int[bfs ? count : 1024];
+		keys = bfs ? null : new double[1024];
+		head = tail = 0;
+
+		S initialState = problem.getInitialState();
+		int root = indexer.getIndex(initialState);
+		parents[root] = root;
+		statesReached.set(1);
+		if (testGoals && problem.testSolution(new Node<>(initialState)))
+			return root;
+		add(root, 0);
+
+		while (tail > head && !Tasks.currIsCancelled()) {
+			int index = remove();
+			double g = pathCosts[index];
+			if (expanded.get(index) || !bfs && keys[tail] > g)
+				continue; // outdated heap entry
+			S state = indexer.getState(index);
+			if (!bfs && testGoals && problem.testSolution(new Node<>(state, null, null, g)))
+				return index;
+			expanded.set(index);
+			nodesExpanded.increment();
+			if (!listeners.isEmpty()) {
+				Node<S, A> node = new Node<>(state, null, null, g);
+				listeners.forEach(listener -> listener.accept(node));
+			}
+			for (A action : problem.getActions(state)) {
+				S successor = problem.getResult(state, action);
+				int successorIndex = indexer.getIndex(successor);
+				double successorG = g + problem.getStepCosts(state, action, successor);
+				boolean isNew = parents[successorIndex] == UNREACHED;
+				if (isNew || !bfs && !expanded.get(successorIndex) && successorG < pathCosts[successorIndex]) {
+					if (isNew)
+						statesReached.add(1);
+					parents[successorIndex] = index;
+					pathCosts[successorIndex] = successorG;
+					if (bfs && testGoals && problem.testSolution(new Node<>(successor, null, action, successorG)))
+						return successorIndex;
+					add(successorIndex, successorG);
+				}
+			}
+			queueSize.set(tail - head);
+			maxQueueSize.updateMax(tail - head);
+		}
+		return UNREACHED;
+	}
+
+	private void add(int index, double g) {
+		if (strategy == Strategy.BREADTH_FIRST) {
+			queue[tail++] = index; // each index is added once
+			return;
+		}
+		if (tail == queue.length) {
+			queue = Arrays.copyOf(queue, 2 * tail);
+			keys = Arrays.copyOf(keys, 2 * tail);
+		}
+		int i = tail++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (keys[parent] <= g)
+				break;
+			queue[i] = queue[parent];
+			keys[i] = keys[parent];
+			i = parent;
+		}
+		queue[i] = index;
+		keys[i] = g;
+	}
+
+	/**
+	 * Removes the next index. For uniform cost search, the key of the removed
+	 * entry is left in keys[tail].
+	 */
+	private int remove() {
+		if (strategy == Strategy.BREADTH_FIRST)
+			return queue[head++];
+		int result = queue[0];
+		double resultKey = keys[0];
+		int last = queue[--tail];
+		double lastKey = keys[tail];
+		int i = 0;
+		int half = tail >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			if (child + 1 < tail && keys[child + 1] < keys[child])
+				child++;
+			if (keys[child] >= lastKey)
+				break;
+			queue[i] = queue[child];
+			keys[i] = keys[child];
+			i = child;
+		}
+		queue[i] = last;
+		keys[i] = lastKey;
+		queue[tail] = result;
+		keys[tail] = resultKey;
+		return result;
+	}
+
+	/** Creates a node with parent links by reconstructing the actions. */
+	private Node<S, A> createNode(Problem<S, A> problem, int index) {
+		List<Integer> path = new ArrayList<>();
+		for (int i = index; parents[i] != i; i = parents[i])
+			path.add(i);
+		int parentIndex = indexer.getIndex(problem.getInitialState());
+		Node<S, A> result = new Node<>(problem.getInitialState());
+		for (int k = path.size() - 1; k >= 0; k--) {
+			int childIndex = path.get(k);
+			S parentState = result.getState();
+			Node<S, A> child = null;
+			for (A action : problem.getActions(parentState)) {
+				S successor = problem.getResult(parentState, action);
+				if (indexer.getIndex(successor) == childIndex && pathCosts[parentIndex]
+						+ problem.getStepCosts(parentState, action, successor) == pathCosts[childIndex]) {
+					child = new Node<>(successor, result, action, pathCosts[childIndex]);
+					break;
+				}
+			}
+			if (child == null)
+				throw new IllegalStateException("Action leading to state " + childIndex + " not found.");
+			result = child;
+			parentIndex = childIndex;
+		}
+		return result;
+	}
+}
@@ -4,6 +4,7 @@ import aima.core.search.framework.*;
 import aima.core.search.framework.problem.Problem;
 import aima.core.util.Tasks;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -106,8 +107,11 @@ public class DepthLimitedSearch<S, A> implements SearchForActions<S, A>, SearchF
 			boolean cutoffOccurred = false;
 			// for each action in problem.ACTIONS(node.STATE) do
 			metrics.incrementInt(METRIC_NODES_EXPANDED);
-			for (Node<S, A> child : nodeFactory.getSuccessors(node, problem)) {
+			// children are generated lazily, so only one child per depth is held
+			Iterator<Node<S, A>> children = nodeFactory.iterateSuccessors(node, problem);
+			while (children.hasNext()) {
 				// child <- CHILD-NODE(problem, node, action)
+				Node<S, A> child = children.next();
 				// result <- RECURSIVE-DLS(child, problem, limit - 1)
 				Node<S, A> result = recursiveDLS(child, problem, limit - 1);
 				// if result = cutoff then cutoff_occurred? <- true
@@ -0,0 +1,429 @@
+package aima.core.search.uninformed;
+
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchForStates;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateCodec;
+import aima.core.util.Tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Breadth-first search with delayed duplicate detection, which keeps the
+ * search layers on disk. States are serialized to fixed-width records by a
+ * {@link StateCodec}. The successors of a layer are collected in a sort buffer
+ * of configurable size. Full buffers are sorted, deduplicated and written to
+ * run files. At the end of the layer, runs are merged and records contained
+ * in previous layers are removed by merging with the (sorted) layer files.
+ * The result is the sorted file of the next layer. Heap usage is bounded by
+ * the sort buffer and the I/O buffers of the merged files.
+ * <p>
+ * By default, new layers are compared with all previous layers. If all
+ * actions are reversible (undirected state spaces like the 8-puzzle), the
+ * last two layers are sufficient and older layer files are deleted.
+ * <p>
+ * The search can be used to find the depth of a goal state (see
+ * {@link #findState(Problem)}) or to enumerate complete state spaces. The
+ * sizes of all layers are available via {@link #getLayerSizes()}. Solution
+ * paths are not available. Node listeners are informed about expanded states
+ * (nodes without parent).
+ *
+ * @param <S> The type used to represent states
+ * @param <A> The type of the actions to be used to navigate through the state space
+ */
+public class ExternalBreadthFirstSearch<S, A> implements SearchForStates<S, A> {
+
+	public static final String METRIC_NODES_EXPANDED = "nodesExpanded";
+	public static final String METRIC_DEPTH = "depth";
+	public static final String METRIC_MAX_LAYER_SIZE = "maxLayerSize";
+	public static final String METRIC_BYTES_WRITTEN = "bytesWritten";
+
+	private static final int IO_BUFFER_SIZE = 1 << 16;
+	private static final int MAX_FAN_IN = 64;
+
+	private final StateCodec<S> codec;
+	private final Path directory;
+	private final int recordSize;
+	private final int recordsPerBuffer;
+	private boolean reversible;
+	private final List<Long> layerSizes = new ArrayList<>();
+	private final List<Consumer<Node<S, A>>> listeners = new ArrayList<>();
+
+	private final Metrics metrics = new Metrics();
+	private final Metrics.Counter nodesExpanded = metrics.counter(METRIC_NODES_EXPANDED);
+	private final Metrics.Gauge depth = metrics.gauge(METRIC_DEPTH);
+	private final Metrics.Gauge maxLayerSize = metrics.gauge(METRIC_MAX_LAYER_SIZE);
+	private final Metrics.Counter bytesWritten = metrics.counter(METRIC_BYTES_WRITTEN);
+
+	/**
+	 * @param codec
+	 *            serializes states to fixed-width records.
+	 * @param directory
+	 *            directory on local disk, in which a temporary working
+	 *            directory is created for each search.
+	 * @param sortBufferBytes
+	 *            size of the in-memory buffer for successor records.
+	 */
+	public ExternalBreadthFirstSearch(StateCodec<S> codec, Path directory, int sortBufferBytes) {
+		this.codec = codec;
+		this.directory = directory;
+		recordSize = codec.getRecordSize();
+		recordsPerBuffer = sortBufferBytes / recordSize;
+		if (recordsPerBuffer < 1)
+			throw new IllegalArgumentException("Sort buffer is smaller than a record.");
+	}
+
+	/**
+	 * Declares whether all actions are reversible. If so, duplicates are only
+	 * searched in the last two layers.
+	 */
+	public void setReversible(boolean reversible) {
+		this.reversible = reversible;
+	}
+
+	/**
+	 * Searches layer by layer until a layer contains a goal state or the state
+	 * space is exhausted. The depth of the goal is reported as metric
+	 * {@link #METRIC_DEPTH}.
+	 */
+	@Override
+	public Optional<S> findState(Problem<S, A> p) {
+		return Optional.ofNullable(search(p, true));
+	}
+
+	/**
+	 * Enumerates all states reachable from the initial state and returns the
+	 * number of states in each layer (goal states are not treated specially).
+	 */
+	public List<Long> exploreStateSpace(Problem<S, A> p) {
+		search(p, false);
+		return getLayerSizes();
+	}
+
+	/**
+	 * Returns the number of states of each layer of the last search, starting
+	 * with the layer of the initial state.
+	 */
+	public List<Long> getLayerSizes() {
+		return Collections.unmodifiableList(layerSizes);
+	}
+
+	@Override
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void addNodeListener(Consumer<Node<S, A>> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public boolean removeNodeListener(Consumer<Node<S, A>> listener) {
+		return listeners.remove(listener);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private S search(Problem<S, A> problem, boolean testGoal) {
+		clearMetrics();
+		Path workDir = null;
+		try {
+			workDir = Files.createTempDirectory(directory, "bfs");
+			List<Path> layers = new ArrayList<>();
+			Path root = workDir.resolve("layer0");
+			try (RecordWriter writer = new RecordWriter(root)) {
+				ByteBuffer record = ByteBuffer.allocate(recordSize);
+				codec.encode(problem.getInitialState(), record);
+				writer.write(record.array(), 0);
+			}
+			layers.add(root);
+			addLayerSize(1);
+
+			byte[] sortBuffer = new byte[recordsPerBuffer * recordSize];
+			while (!Tasks.currIsCancelled()) {
+				int d = layers.size() - 1;
+				depth.set(d);
+				List<Path> runs = new ArrayList<>();
+				int count = 0; // records in sort buffer
+				ByteBuffer out = ByteBuffer.wrap(sortBuffer);
+				try (RecordReader reader = new RecordReader(layers.get(d))) {
+					while (reader.next()) {
+						S state = codec.decode(ByteBuffer.wrap(reader.record));
+						Node<S, A> node = new Node<>(state);
+						if (testGoal && problem.testSolution(node))
+							return state;
+						nodesExpanded.increment();
+						listeners.forEach(listener -> listener.accept(node));
+						for (A action : problem.getActions(state)) {
+							if (count == recordsPerBuffer) {
+								runs.add(writeRun(workDir, sortBuffer, count, runs.size()));
+								count = 0;
+								out.clear();
+							}
+							codec.encode(problem.getResult(state, action), out);
+							count++;
+						}
+					}
+				}
+				if (count > 0)
+					runs.add(writeRun(workDir, sortBuffer, count, runs.size()));
+				while (runs.size() > MAX_FAN_IN)
+					runs = mergeRuns(workDir, runs);
+
+				List<Path> previous = reversible ? layers.subList(Math.max(0, d - 1), d + 1) : layers;
+				Path next = workDir.resolve("layer" + (d + 1));
+				long size = mergeLayer(runs, previous, next);
+				for (Path run : runs)
+					Files.delete(run);
+				if (reversible && d >= 1)
+					Files.deleteIfExists(layers.get(d - 1));
+				if (size == 0) {
+					Files.delete(next);
+					break;
+				}
+				layers.add(next);
+				addLayerSize(size);
+			}
+			return null;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			if (workDir != null)
+				deleteDirectory(workDir);
+		}
+	}
+
+	private void clearMetrics() {
+		nodesExpanded.reset();
+		depth.set(0);
+		maxLayerSize.set(0);
+		bytesWritten.reset();
+		layerSizes.clear();
+	}
+
+	private void addLayerSize(long size) {
+		layerSizes.add(size);
+		maxLayerSize.updateMax(size);
+	}
+
+	// sorts the records of the buffer, removes duplicates and writes them to a new run file
+	private Path writeRun(Path workDir, byte[] buffer, int count, int runNo) throws IOException {
+		int[] order = new int[count];
+		for (int i = 0; i < count; i++)
+			order[i] = i * recordSize;
+		sort(buffer, order, 0, count - 1);
+		Path run = workDir.resolve("run" + runNo + "-" + System.nanoTime());
+		try (RecordWriter writer = new RecordWriter(run)) {
+			for (int i = 0; i < count; i++) {
+				if (i == 0 || compare(buffer, order[i - 1], buffer, order[i]) != 0)
+					writer.write(buffer, order[i]);
+			}
+		}
+		return run;
+	}
+
+	// merges groups of runs until at most MAX_FAN_IN runs remain
+	private List<Path> mergeRuns(Path workDir, List<Path> runs) throws IOException {
+		List<Path> result = new ArrayList<>();
+		for (int i = 0; i < runs.size(); i += MAX_FAN_IN) {
+			List<Path> group = runs.subList(i, Math.min(i + MAX_FAN_IN, runs.size()));
+			Path merged = workDir.resolve("merged" + result.size() + "-" + System.nanoTime());
+			mergeLayer(group, Collections.emptyList(), merged);
+			for (Path run : group)
+				Files.delete(run);
+			result.add(merged);
+		}
+		return result;
+	}
+
+	/**
+	 * Merges the sorted runs into one sorted file without duplicates and
+	 * without records contained in one of the sorted exclusion files.
+	 */
+	private long mergeLayer(List<Path> runs, List<Path> exclusions, Path target) throws IOException {
+		List<RecordReader> readers = new ArrayList<>();
+		PriorityQueue<RecordReader> heads = new PriorityQueue<>((r1, r2) -> compare(r1.record, 0, r2.record, 0));
+		List<RecordReader> excluded = new ArrayList<>();
+		long count = 0;
+		try (RecordWriter writer = new RecordWriter(target)) {
+			for (Path run : runs) {
+				RecordReader reader = new RecordReader(run);
+				readers.add(reader);
+				if (reader.next())
+					heads.add(reader);
+			}
+			for (Path exclusion : exclusions) {
+				RecordReader reader = new RecordReader(exclusion);
+				readers.add(reader);
+				if (reader.next())
+					excluded.add(reader);
+			}
+			byte[] last = null;
+			while (!heads.isEmpty()) {
+				RecordReader reader = heads.poll();
+				byte[] record = reader.record;
+				if (last == null || compare(last, 0, record, 0) != 0) {
+					if (!isContained(record, excluded)) {
+						writer.write(record, 0);
+						count++;
+					}
+					if (last == null)
+						last = new byte[recordSize];
+					System.arraycopy(record, 0, last, 0, recordSize);
+				}
+				if (reader.next())
+					heads.add(reader);
+			}
+		} finally {
+			for (RecordReader reader : readers)
+				reader.close();
+		}
+		return count;
+	}
+
+	// advances the exclusion readers to the record and checks for a match
+	private boolean isContained(byte[] record, List<RecordReader> excluded) throws IOException {
+		boolean result = false;
+		for (int i = excluded.size() - 1; i >= 0; i--) {
+			RecordReader reader = excluded.get(i);
+			int c;
+			while ((c = compare(reader.record, 0, record, 0)) < 0) {
+				if (!reader.next()) {
+					excluded.remove(i);
+					break;
+				}
+			}
+			if (c == 0)
+				result = true;
+		}
+		return result;
+	}
+
+	// lexicographic comparison of unsigned bytes
+	private int compare(byte[] b1, int off1, byte[] b2, int off2) {
+		for (int i = 0; i < recordSize; i++) {
+			int c = (b1[off1 + i] & 0xFF) - (b2[off2 + i] & 0xFF);
+			if (c != 0)
+				return c;
+		}
+		return 0;
+	}
+
+	// quicksort of record offsets
+	private void sort(byte[] buffer, int[] order, int lo, int hi) {
+		while (lo < hi) {
+			int pivot = order[(lo + hi) >>> 1];
+			int i = lo, j = hi;
+			while (i <= j) {
+				while (compare(buffer, order[i], buffer, pivot) < 0)
+					i++;
+				while (compare(buffer, order[j], buffer, pivot) > 0)
+					j--;
+				if (i <= j) {
+					int tmp = order[i];
+					order[i++] = order[j];
+					order[j--] = tmp;
+				}
+			}
+			// recurse into the smaller part to bound the stack depth
+			if (j - lo < hi - i) {
+				sort(buffer, order, lo, j);
+				lo = i;
+			} else {
+				sort(buffer, order, i, hi);
+				hi = j;
+			}
+		}
+	}
+
+	private static void deleteDirectory(Path dir) {
+		try {
+			try (Stream<Path> files = Files.list(dir)) {
+				for (Path file : (Iterable<Path>) files::iterator)
+					Files.deleteIfExists(file);
+			}
+			Files.deleteIfExists(dir);
+		} catch (IOException e) {
+			// leave remaining files for the system to clean up
+		}
+	}
+
+	/** Buffered sequential writer for fixed-width records. */
+	private class RecordWriter implements AutoCloseable {
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE - IO_BUFFER_SIZE % recordSize);
+
+		RecordWriter(Path file) throws IOException {
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+		}
+
+		void write(byte[] src, int offset) throws IOException {
+			if (buffer.remaining() < recordSize)
+				flush();
+			buffer.put(src, offset, recordSize);
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			bytesWritten.add(buffer.remaining());
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+			channel.close();
+		}
+	}
+
+	/** Buffered sequential reader for fixed-width records. */
+	private class RecordReader implements AutoCloseable {
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE - IO_BUFFER_SIZE % recordSize);
+		final byte[] record = new byte[recordSize];
+
+		RecordReader(Path file) throws IOException {
+			channel = FileChannel.open(file, StandardOpenOption.READ);
+			buffer.flip(); // empty
+		}
+
+		/** Reads the next record into {@link #record}, returns false at the end of the file. */
+		boolean next() throws IOException {
+			if (buffer.remaining() < recordSize) {
+				buffer.compact();
+				while (buffer.hasRemaining() && channel.read(buffer) >= 0)
+					;
+				buffer.flip();
+				if (buffer.remaining() < recordSize)
+					return false;
+			}
+			buffer.get(record);
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
@@ -56,6 +56,18 @@ public class UniformCostSearch<S, A> extends QueueBasedSearch<S, A> {
 	 * search execution strategy.
 	 */
 	public UniformCostSearch(QueueSearch<S, A> impl) {
-		super(impl, QueueFactory.createPriorityQueue(Comparator.comparing(Node::getPathCost)));
+		this(impl, false);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Combines UniformCostSearch queue definition with the specified search
+	 * execution strategy. If <code>indexedFrontier</code> is true, an indexed
+	 * priority queue with decrease-key support is used as frontier (see
+	 * {@link QueueFactory#createNodePriorityQueue(Comparator)}).
+	 */
+	public UniformCostSearch(QueueSearch<S, A> impl, boolean indexedFrontier) {
+		super(impl, indexedFrontier
+				? QueueFactory.createNodePriorityQueue(Comparator.comparing(Node::getPathCost))
+				: QueueFactory.createPriorityQueue(Comparator.comparing(Node::getPathCost)));
+	}
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package aima.core.util;
 
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -28,9 +29,32 @@ public class Tasks {
      * Tests whether the current task has been cancelled. Calls of this method can be placed anywhere in the code.
      * They provide safe exits from time-consuming loops if the user is not interested in the result anymore. */
     public static boolean currIsCancelled() {
-        return isCancelledFn.get();
+        if (isCancelledFn.get())
+            return true;
+        BooleanSupplier check = cancellationChecks.get();
+        return check != null && check.getAsBoolean();
     }
 
+    /**
+     * Executes a task in the current thread. While it runs, {@link #currIsCancelled()} also returns true
+     * in this thread if the given check does. This makes it possible to impose limits on code which tests
+     * for cancellation regularly. Calls can be nested.
+     */
+    public static <T> T executeWithCancellationCheck(BooleanSupplier check, Supplier<T> task) {
+        BooleanSupplier outer = cancellationChecks.get();
+        cancellationChecks.set(outer == null ? check : () -> outer.getAsBoolean() || check.getAsBoolean());
+        try {
+            return task.get();
+        } finally {
+            if (outer == null)
+                cancellationChecks.remove();
+            else
+                cancellationChecks.set(outer);
+        }
+    }
+
+    private static final ThreadLocal<BooleanSupplier> cancellationChecks = new ThreadLocal<>();
+
 
     // the default implementation uses CancellableThread
 
@@ -0,0 +1,114 @@
+package aima.core.util.datastructure;
+
+import java.util.AbstractQueue;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Priority queue which uses a {@link BucketPriorityQueue} as long as all
+ * priorities and secondary keys are integers within the bucket range, and
+ * switches to a binary heap ({@link PriorityQueue}) as soon as an element with
+ * a fractional, negative, infinite or too large value is offered. This makes
+ * bucket queues safe for search problems with integer step costs, even if the
+ * evaluation function is not integral (e.g. weighted heuristics). After
+ * switching, elements with equal keys are returned in no particular order.
+ * Note that the smallest element comes first!
+ *
+ * @param <E> The type of the queued elements
+ */
+public class AdaptivePriorityQueue<E> extends AbstractQueue<E> {
+
+	private final ToDoubleFunction<? super E> priorityFn;
+	private final ToDoubleFunction<? super E> tieFn;
+	private final Comparator<E> comparator;
+	private BucketPriorityQueue<E> bucketQueue;
+	private Queue<E> queue;
+
+	/**
+	 * @param priorityFn
+	 *            maps elements to priorities (smallest first).
+	 * @param tieFn
+	 *            maps elements to secondary keys used for tie-breaking.
+	 * @param tieBreaking
+	 *            defines the order of secondary keys.
+	 * @param lifo
+	 *            if true, elements with equal keys are returned in LIFO
+	 *            order as long as buckets are used, otherwise in FIFO order.
+	 */
+	public AdaptivePriorityQueue(ToDoubleFunction<? super E> priorityFn, ToDoubleFunction<? super E> tieFn,
+								 BucketPriorityQueue.TieBreaking tieBreaking, boolean lifo) {
+		this.priorityFn = priorityFn;
+		this.tieFn = tieFn;
+		Comparator<E> c = Comparator.comparingDouble(priorityFn);
+		if (tieBreaking == BucketPriorityQueue.TieBreaking.HIGH_FIRST)
+			c = c.thenComparing(Comparator.<E>comparingDouble(tieFn).reversed());
+		else if (tieBreaking == BucketPriorityQueue.TieBreaking.LOW_FIRST)
+			c = c.thenComparingDouble(tieFn);
+		comparator = c;
+		bucketQueue = new BucketPriorityQueue<>(e -> (int) priorityFn.applyAsDouble(e),
+				e -> (int) tieFn.applyAsDouble(e), tieBreaking, lifo);
+		queue = bucketQueue;
+	}
+
+	/** Returns the comparator which defines the order of this queue. */
+	public Comparator<? super E> comparator() {
+		return comparator;
+	}
+
+	/** Checks whether elements are still stored in buckets. */
+	public boolean usesBuckets() {
+		return bucketQueue != null;
+	}
+
+	@Override
+	public boolean offer(E e) {
+		if (bucketQueue != null) {
+			double p = priorityFn.applyAsDouble(e);
+			double t = tieFn.applyAsDouble(e);
+			if (isBucketKey(p) && isBucketKey(t))
+				return bucketQueue.offer(e, (int) p, (int) t);
+			queue = new PriorityQueue<>(Math.max(11, bucketQueue.size() * 2), comparator);
+			queue.addAll(bucketQueue);
+			bucketQueue = null;
+		}
+		return queue.offer(e);
+	}
+
+	@Override
+	public E poll() {
+		return queue.poll();
+	}
+
+	@Override
+	public E peek() {
+		return queue.peek();
+	}
+
+	@Override
+	public int size() {
+		return queue.size();
+	}
+
+	@Override
+	public void clear() {
+		queue.clear();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return queue.remove(o);
+	}
+
+	/** Iterates over the queued elements in no particular order. */
+	@Override
+	public Iterator<E> iterator() {
+		return queue.iterator();
+	}
+
+	private static boolean isBucketKey(double value) {
+		return value >= 0 && value <= BucketPriorityQueue.MAX_PRIORITY && value == Math.rint(value);
+	}
+}
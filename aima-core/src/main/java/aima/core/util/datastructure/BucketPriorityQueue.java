@@ -0,0 +1,293 @@
+package aima.core.util.datastructure;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Priority queue for elements with small non-negative integer priorities. It
+ * maintains an array of buckets indexed by priority (e.g. f = g + h in A*) and
+ * keeps a cursor on the smallest non-empty bucket, so insertion and removal of
+ * the first element are O(1) amortized. Within a bucket, elements can be
+ * ordered by a secondary integer key (e.g. path cost g) which is used for
+ * tie-breaking. Secondary keys are stored sparsely per bucket, so they may
+ * spread over a wide range. Elements with equal keys are returned in FIFO or
+ * LIFO order.
+ * Note that the smallest element comes first!
+ *
+ * @param <E> The type of the queued elements
+ */
+public class BucketPriorityQueue<E> extends AbstractQueue<E> {
+
+	/** Maximal supported priority (and secondary key) value. */
+	public static final int MAX_PRIORITY = 1 << 22;
+
+	/** Defines how elements with equal priority are ordered. */
+	public enum TieBreaking {
+		/** Elements with high secondary key come first (e.g. deep nodes). */
+		HIGH_FIRST,
+		/** Elements with low secondary key come first. */
+		LOW_FIRST,
+		/** Secondary key is ignored. */
+		NONE
+	}
+
+	private final ToIntFunction<? super E> priorityFn;
+	private final ToIntFunction<? super E> tieFn;
+	private final TieBreaking tieBreaking;
+	private final boolean lifo;
+	private final Comparator<E> comparator;
+
+	private Bucket<E>[] buckets = newBucketArray(16);
+	private int minPriority;
+	private int size;
+
+	/**
+	 * @param priorityFn
+	 *            maps elements to priorities (smallest first).
+	 * @param tieFn
+	 *            maps elements to secondary keys used for tie-breaking.
+	 * @param tieBreaking
+	 *            defines the order of secondary keys.
+	 * @param lifo
+	 *            if true, elements with equal keys are returned in LIFO
+	 *            order, otherwise in FIFO order.
+	 */
+	public BucketPriorityQueue(ToIntFunction<? super E> priorityFn, ToIntFunction<? super E> tieFn,
+							   TieBreaking tieBreaking, boolean lifo) {
+		this.priorityFn = priorityFn;
+		this.tieFn = tieFn;
+		this.tieBreaking = tieBreaking;
+		this.lifo = lifo;
+		Comparator<E> c = Comparator.comparingInt(priorityFn);
+		if (tieBreaking == TieBreaking.HIGH_FIRST)
+			c = c.thenComparing(Comparator.<E>comparingInt(tieFn).reversed());
+		else if (tieBreaking == TieBreaking.LOW_FIRST)
+			c = c.thenComparingInt(tieFn);
+		comparator = c;
+	}
+
+	/**
+	 * Returns a comparator which is consistent with the order of this queue
+	 * (apart from FIFO/LIFO order of elements with equal keys).
+	 */
+	public Comparator<? super E> comparator() {
+		return comparator;
+	}
+
+	/**
+	 * Inserts the element into the bucket of its priority.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if priority or secondary key are negative or greater than
+	 *             {@link #MAX_PRIORITY}.
+	 */
+	@Override
+	public boolean offer(E e) {
+		return offer(e, priorityFn.applyAsInt(e), getTieKey(e));
+	}
+
+	/**
+	 * Inserts the element with precomputed priority and secondary key, which
+	 * must be equal to the values of the functions of this queue.
+	 */
+	public boolean offer(E e, int p, int t) {
+		if (tieBreaking == TieBreaking.NONE)
+			t = 0;
+		if (p < 0 || p > MAX_PRIORITY || t < 0 || t > MAX_PRIORITY)
+			throw new IllegalArgumentException("Priority out of bucket range: " + p + "/" + t);
+		if (p >= buckets.length)
+			buckets = Arrays.copyOf(buckets, Math.max(p + 1, buckets.length * 2));
+		Bucket<E> bucket = buckets[p];
+		if (bucket == null)
+			bucket = buckets[p] = new Bucket<>(tieBreaking == TieBreaking.HIGH_FIRST);
+		bucket.add(e, t, lifo);
+		if (size == 0 || p < minPriority)
+			minPriority = p;
+		size++;
+		return true;
+	}
+
+	@Override
+	public E poll() {
+		if (size == 0)
+			return null;
+		Bucket<E> bucket = firstBucket();
+		E result = bucket.poll();
+		size--;
+		return result;
+	}
+
+	@Override
+	public E peek() {
+		return size > 0 ? firstBucket().peek() : null;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		for (int p = 0; p < buckets.length; p++)
+			if (buckets[p] != null)
+				buckets[p].clear();
+		size = 0;
+		minPriority = 0;
+	}
+
+	/** Removes the specified element. Time is linear in the size of its bucket. */
+	@Override
+	public boolean remove(Object o) {
+		@SuppressWarnings("unchecked")
+		E e = (E) o;
+		int p = priorityFn.applyAsInt(e);
+		if (p < 0 || p >= buckets.length || buckets[p] == null)
+			return false;
+		if (buckets[p].remove(o, getTieKey(e))) {
+			size--;
+			return true;
+		}
+		return false;
+	}
+
+	/** Iterates over the queued elements in no particular order. */
+	@Override
+	public Iterator<E> iterator() {
+		return Arrays.stream(buckets).filter(b -> b != null && b.count > 0)
+				.flatMap(Bucket::stream).iterator();
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private int getTieKey(E e) {
+		return tieBreaking == TieBreaking.NONE ? 0 : tieFn.applyAsInt(e);
+	}
+
+	// moves the cursor to the first non-empty bucket (size must be positive)
+	private Bucket<E> firstBucket() {
+		while (buckets[minPriority] == null || buckets[minPriority].count == 0)
+			minPriority++;
+		return buckets[minPriority];
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> Bucket<E>[] newBucketArray(int length) {
+		return (Bucket<E>[]) new Bucket<?>[length];
+	}
+
+	/**
+	 * Elements of equal priority, grouped by secondary key. Only non-empty
+	 * groups are stored, sorted by key such that the first group to be polled
+	 * is the last one. So memory is linear in the number of distinct keys, and
+	 * polling is O(1).
+	 */
+	private static class Bucket<E> {
+		private final boolean highFirst;
+		private int[] keys = new int[4];
+		private ArrayDeque<E>[] deques = newDequeArray(4);
+		private int length; // number of non-empty deques
+		private int count;
+		private ArrayDeque<E> spare; // emptied deque, which can be reused
+
+		Bucket(boolean highFirst) {
+			this.highFirst = highFirst;
+		}
+
+		void add(E e, int key, boolean lifo) {
+			int i = find(key);
+			ArrayDeque<E> deque;
+			if (i >= 0) {
+				deque = deques[i];
+			} else {
+				i = -i - 1;
+				if (length == keys.length) {
+					keys = Arrays.copyOf(keys, 2 * length);
+					deques = Arrays.copyOf(deques, 2 * length);
+				}
+				System.arraycopy(keys, i, keys, i + 1, length - i);
+				System.arraycopy(deques, i, deques, i + 1, length - i);
+				deque = spare != null ? spare : new ArrayDeque<>();
+				spare = null;
+				keys[i] = key;
+				deques[i] = deque;
+				length++;
+			}
+			if (lifo)
+				deque.addFirst(e);
+			else
+				deque.addLast(e);
+			count++;
+		}
+
+		E peek() {
+			return deques[length - 1].peekFirst();
+		}
+
+		E poll() {
+			ArrayDeque<E> deque = deques[length - 1];
+			E result = deque.pollFirst();
+			if (deque.isEmpty())
+				removeDeque(length - 1);
+			count--;
+			return result;
+		}
+
+		boolean remove(Object o, int key) {
+			int i = find(key);
+			if (i >= 0 && deques[i].remove(o)) {
+				if (deques[i].isEmpty())
+					removeDeque(i);
+				count--;
+				return true;
+			}
+			return false;
+		}
+
+		void clear() {
+			Arrays.fill(deques, 0, length, null);
+			length = 0;
+			count = 0;
+		}
+
+		Stream<E> stream() {
+			return Arrays.stream(deques, 0, length).flatMap(ArrayDeque::stream);
+		}
+
+		// binary search, returns -(insertion point) - 1 if the key is not found
+		private int find(int key) {
+			int low = 0;
+			int high = length - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int cmp = highFirst ? Integer.compare(keys[mid], key) : Integer.compare(key, keys[mid]);
+				if (cmp < 0)
+					low = mid + 1;
+				else if (cmp > 0)
+					high = mid - 1;
+				else
+					return mid;
+			}
+			return -(low + 1);
+		}
+
+		private void removeDeque(int i) {
+			spare = deques[i];
+			System.arraycopy(keys, i + 1, keys, i, length - i - 1);
+			System.arraycopy(deques, i + 1, deques, i, length - i - 1);
+			deques[--length] = null;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <E> ArrayDeque<E>[] newDequeArray(int length) {
+			return (ArrayDeque<E>[]) new ArrayDeque<?>[length];
+		}
+	}
+}
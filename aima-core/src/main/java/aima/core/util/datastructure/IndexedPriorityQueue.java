@@ -0,0 +1,230 @@
+package aima.core.util.datastructure;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Priority queue (4-ary heap) which contains at most one element per key and
+ * maintains an index from keys to heap positions. Offering an element whose
+ * key is already present replaces the queued element if the new element is not
+ * worse with respect to the comparator (decrease-key) and is rejected
+ * otherwise. Insertion, decrease-key, removal of arbitrary elements, and
+ * containment checks are O(log n) or better. Note that the smallest element
+ * comes first!
+ * <p>
+ * Used as frontier in graph search, keys are states. This avoids stale
+ * duplicates of states in the frontier and linear-time node removal.
+ *
+ * @param <E> The type of the queued elements
+ */
+public class IndexedPriorityQueue<E> extends AbstractQueue<E> {
+
+	private static final int D = 4;
+
+	private final Comparator<? super E> comparator;
+	private final Function<? super E, ?> keyFn;
+	private final Map<Object, Entry<E>> index = new HashMap<>();
+	@SuppressWarnings("unchecked")
+	private Entry<E>[] heap = (Entry<E>[]) new Entry<?>[16];
+	private int size;
+
+	/**
+	 * @param comparator
+	 *            defines the priority of elements (smallest first).
+	 * @param keyFn
+	 *            maps elements to keys (e.g. nodes to states).
+	 */
+	public IndexedPriorityQueue(Comparator<? super E> comparator, Function<? super E, ?> keyFn) {
+		this.comparator = comparator;
+		this.keyFn = keyFn;
+	}
+
+	public Comparator<? super E> comparator() {
+		return comparator;
+	}
+
+	/**
+	 * Inserts the element if no element with the same key is queued. Otherwise
+	 * the queued element is replaced if the new one is not worse.
+	 *
+	 * @return true if the queue was modified.
+	 */
+	@Override
+	public boolean offer(E e) {
+		Object key = keyFn.apply(e);
+		Entry<E> entry = index.get(key);
+		if (entry == null) {
+			entry = new Entry<>(e, key);
+			index.put(key, entry);
+			if (size == heap.length)
+				heap = Arrays.copyOf(heap, size * 2);
+			entry.pos = size;
+			heap[size++] = entry;
+			siftUp(entry);
+			return true;
+		} else if (comparator.compare(e, entry.element) <= 0) {
+			entry.element = e;
+			siftUp(entry);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Same as {@link #offer(Object)}. Rejecting a worse element with an already
+	 * queued key is not an error, so no exception is thrown in this case.
+	 *
+	 * @return true if the queue was modified.
+	 */
+	@Override
+	public boolean add(E e) {
+		return offer(e);
+	}
+
+	@Override
+	public E poll() {
+		if (size == 0)
+			return null;
+		Entry<E> result = heap[0];
+		removeAt(0);
+		return result.element;
+	}
+
+	@Override
+	public E peek() {
+		return size > 0 ? heap[0].element : null;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(heap, 0, size, null);
+		size = 0;
+		index.clear();
+	}
+
+	/** Returns the queued element with the given key or null. */
+	public E get(Object key) {
+		Entry<E> entry = index.get(key);
+		return entry != null ? entry.element : null;
+	}
+
+	public boolean containsKey(Object key) {
+		return index.containsKey(key);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean contains(Object o) {
+		Entry<E> entry = index.get(keyFn.apply((E) o));
+		return entry != null && entry.element.equals(o);
+	}
+
+	/** Removes the specified element in O(log n). */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean remove(Object o) {
+		Entry<E> entry = index.get(keyFn.apply((E) o));
+		if (entry != null && entry.element.equals(o)) {
+			removeAt(entry.pos);
+			return true;
+		}
+		return false;
+	}
+
+	/** Iterates over the queued elements in no particular order. */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			@Override
+			public E next() {
+				if (next >= size)
+					throw new NoSuchElementException();
+				return heap[next++].element;
+			}
+		};
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void removeAt(int pos) {
+		Entry<E> removed = heap[pos];
+		index.remove(removed.key);
+		Entry<E> last = heap[--size];
+		heap[size] = null;
+		if (pos < size) {
+			last.pos = pos;
+			heap[pos] = last;
+			siftDown(last);
+			if (last.pos == pos)
+				siftUp(last);
+		}
+	}
+
+	private void siftUp(Entry<E> entry) {
+		int pos = entry.pos;
+		while (pos > 0) {
+			int parentPos = (pos - 1) / D;
+			Entry<E> parent = heap[parentPos];
+			if (comparator.compare(entry.element, parent.element) >= 0)
+				break;
+			parent.pos = pos;
+			heap[pos] = parent;
+			pos = parentPos;
+		}
+		entry.pos = pos;
+		heap[pos] = entry;
+	}
+
+	private void siftDown(Entry<E> entry) {
+		int pos = entry.pos;
+		while (true) {
+			int first = pos * D + 1;
+			if (first >= size)
+				break;
+			int best = first;
+			int end = Math.min(first + D, size);
+			for (int c = first + 1; c < end; c++)
+				if (comparator.compare(heap[c].element, heap[best].element) < 0)
+					best = c;
+			if (comparator.compare(heap[best].element, entry.element) >= 0)
+				break;
+			Entry<E> child = heap[best];
+			child.pos = pos;
+			heap[pos] = child;
+			pos = best;
+		}
+		entry.pos = pos;
+		heap[pos] = entry;
+	}
+
+	private static class Entry<E> {
+		E element;
+		final Object key;
+		int pos;
+
+		Entry(E element, Object key) {
+			this.element = element;
+			this.key = key;
+		}
+	}
+}
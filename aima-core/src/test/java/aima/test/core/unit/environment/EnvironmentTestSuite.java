@@ -6,12 +6,16 @@ import org.junit.runners.Suite;
 import aima.test.core.unit.environment.cellworld.CellWorldTest;
 import aima.test.core.unit.environment.eightpuzzle.EightPuzzleBoardMoveTest;
 import aima.test.core.unit.environment.eightpuzzle.EightPuzzleBoardTest;
+import aima.test.core.unit.environment.eightpuzzle.EightPuzzleDistanceOracleTest;
 import aima.test.core.unit.environment.eightpuzzle.EightPuzzleFunctionsTest;
-import aima.test.core.unit.environment.eightpuzzle.MisplacedTileHeuristicFunctionTest;
+import aima.test.core.unit.environment.eightpuzzle.MisplacedTileHeuristicFunctionTest;
+import aima.test.core.unit.environment.eightpuzzle.PackedPuzzleBoardTest;
+import aima.test.core.unit.environment.eightpuzzle.PatternDatabaseTest;
 import aima.test.core.unit.environment.map.MapAgentTest;
 import aima.test.core.unit.environment.map.MapEnvironmentTest;
 import aima.test.core.unit.environment.map.MapFunctionsTest;
 import aima.test.core.unit.environment.map.MapTest;
+import aima.test.core.unit.environment.nqueens.ConflictCountingNQueensBoardTest;
 import aima.test.core.unit.environment.nqueens.NQueensBoardTest;
 import aima.test.core.unit.environment.nqueens.NQueensGenAlgoUtilTest;
 import aima.test.core.unit.environment.nqueens.NQueensFunctionsTest;
@@ -29,10 +33,12 @@ import aima.test.core.unit.environment.xyenv.XYEnvironmentTest;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ CellWorldTest.class, EightPuzzleBoardMoveTest.class,
 		EightPuzzleBoardTest.class, EightPuzzleFunctionsTest.class,
-		MisplacedTileHeuristicFunctionTest.class, TicTacToeTest.class,
+		MisplacedTileHeuristicFunctionTest.class, PackedPuzzleBoardTest.class, PatternDatabaseTest.class,
+		EightPuzzleDistanceOracleTest.class,
+		TicTacToeTest.class,
 		MapAgentTest.class, MapEnvironmentTest.class,
 		MapFunctionsTest.class, MapTest.class,
-		NQueensBoardTest.class, NQueensGenAlgoUtilTest.class,
+		ConflictCountingNQueensBoardTest.class, NQueensBoardTest.class, NQueensGenAlgoUtilTest.class,
 		NQueensFunctionsTest.class,
 		ModelBasedReflexVacuumAgentTest.class, ReflexVacuumAgentTest.class,
 		SimpleReflexVacuumAgentTest.class, TableDrivenVacuumAgentTest.class,
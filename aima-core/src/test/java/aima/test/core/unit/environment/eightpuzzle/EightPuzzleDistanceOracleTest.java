@@ -0,0 +1,99 @@
+package aima.test.core.unit.environment.eightpuzzle;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.EightPuzzleDistanceOracle;
+import aima.core.environment.eightpuzzle.EightPuzzleFunctions;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.informed.AStarSearch;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+public class EightPuzzleDistanceOracleTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static final EightPuzzleBoard BOARD_15 = new EightPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+	private static final EightPuzzleBoard BOARD_25 = new EightPuzzleBoard(new int[] { 6, 7, 4, 0, 5, 1, 3, 2, 8 });
+	private static final EightPuzzleBoard UNSOLVABLE = new EightPuzzleBoard(new int[] { 7, 1, 8, 0, 4, 6, 2, 3, 5 });
+
+	private static EightPuzzleDistanceOracle oracle;
+
+	@BeforeClass
+	public static void buildOracle() {
+		oracle = EightPuzzleDistanceOracle.build();
+	}
+
+	@Test
+	public void testDistances() {
+		Assert.assertEquals(0, oracle.getDistance(EightPuzzleFunctions.GOAL_STATE));
+		EightPuzzleBoard board = EightPuzzleFunctions.getResult(EightPuzzleFunctions.GOAL_STATE, EightPuzzleBoard.UP);
+		Assert.assertEquals(1, oracle.getDistance(board));
+		Assert.assertEquals(15, oracle.getDistance(BOARD_15));
+		Assert.assertEquals(25, oracle.getDistance(BOARD_25));
+	}
+
+	@Test
+	public void testSolvability() {
+		Assert.assertTrue(EightPuzzleFunctions.isSolvable(BOARD_25));
+		Assert.assertFalse(EightPuzzleFunctions.isSolvable(UNSOLVABLE));
+		try {
+			oracle.getDistance(UNSOLVABLE);
+			Assert.fail("Unsolvable board accepted.");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testOptimalActions() {
+		Assert.assertFalse(oracle.getOptimalAction(EightPuzzleFunctions.GOAL_STATE).isPresent());
+		List<Action> actions = oracle.getOptimalActions(BOARD_25);
+		Assert.assertEquals(25, actions.size());
+		EightPuzzleBoard state = BOARD_25;
+		for (Action action : actions) {
+			Assert.assertTrue(state.canMoveGap(action));
+			state = EightPuzzleFunctions.getResult(state, action);
+		}
+		Assert.assertEquals(EightPuzzleFunctions.GOAL_STATE, state);
+	}
+
+	@Test
+	public void testPerfectHeuristic() {
+		GeneralProblem<EightPuzzleBoard, Action> problem = new GeneralProblem<>(BOARD_25,
+				EightPuzzleFunctions::getActions, EightPuzzleFunctions::getResult,
+				Predicate.isEqual(EightPuzzleFunctions.GOAL_STATE));
+		AStarSearch<EightPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(),
+				oracle.getHeuristicFunction());
+		Optional<List<Action>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(25, actions.get().size());
+		// only nodes on optimal paths are expanded
+		Assert.assertTrue(search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED) < 100);
+	}
+
+	@Test
+	public void testSaveAndLoad() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("8puzzle.dist");
+		EightPuzzleDistanceOracle lazy = EightPuzzleDistanceOracle.lazy(file);
+		Assert.assertFalse(Files.exists(file));
+		Assert.assertEquals(25, lazy.getDistance(BOARD_25));
+		Assert.assertTrue(Files.exists(file));
+		Assert.assertEquals(8 + 181440, Files.size(file));
+		EightPuzzleDistanceOracle loaded = EightPuzzleDistanceOracle.load(file);
+		Assert.assertEquals(oracle.getDistance(BOARD_15), loaded.getDistance(BOARD_15));
+		Assert.assertEquals(oracle.getOptimalActions(BOARD_25), loaded.getOptimalActions(BOARD_25));
+	}
+}
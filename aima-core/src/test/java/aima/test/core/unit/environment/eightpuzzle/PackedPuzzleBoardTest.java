@@ -0,0 +1,76 @@
+package aima.test.core.unit.environment.eightpuzzle;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.EightPuzzleFunctions;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.informed.AStarSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+public class PackedPuzzleBoardTest {
+
+	@Test
+	public void testConversion() {
+		int[] state = { 1, 2, 5, 3, 4, 0, 6, 7, 8 };
+		PackedPuzzleBoard board = new PackedPuzzleBoard(state);
+		Assert.assertArrayEquals(state, board.toArray());
+		Assert.assertEquals(5, board.getGapPosition());
+		Assert.assertEquals(4, board.getPositionOf(4));
+		Assert.assertEquals(7, board.getValueAt(1, 2));
+		Assert.assertEquals(board, PackedPuzzleBoard.valueOf(board.getTiles(), 3));
+		Assert.assertEquals(new EightPuzzleBoard(state), board.toEightPuzzleBoard());
+	}
+
+	@Test
+	public void testSuccessorsMatchEightPuzzleBoard() {
+		EightPuzzleBoard board = new EightPuzzleBoard(new int[] { 1, 2, 5, 3, 4, 0, 6, 7, 8 });
+		PackedPuzzleBoard packed = new PackedPuzzleBoard(board);
+		List<Action> actions = EightPuzzleFunctions.getActions(board);
+		Assert.assertEquals(actions, PackedPuzzleFunctions.getActions(packed));
+		for (Action action : actions) {
+			EightPuzzleBoard expected = EightPuzzleFunctions.getResult(board, action);
+			Assert.assertEquals(new PackedPuzzleBoard(expected), PackedPuzzleFunctions.getResult(packed, action));
+		}
+		Assert.assertSame(packed, packed.moveGap(EightPuzzleBoard.RIGHT));
+	}
+
+	@Test
+	public void testFifteenPuzzleMoves() {
+		PackedPuzzleBoard goal = PackedPuzzleFunctions.GOAL_STATE_4x4;
+		Assert.assertEquals(15, goal.getGapPosition());
+		Assert.assertFalse(goal.canMoveGap(EightPuzzleBoard.DOWN));
+		PackedPuzzleBoard board = goal.moveGap(EightPuzzleBoard.UP).moveGap(EightPuzzleBoard.LEFT);
+		Assert.assertEquals(10, board.getGapPosition());
+		Assert.assertEquals(15, board.getValueAt(14));
+		Assert.assertEquals(12, board.getValueAt(15));
+		Assert.assertEquals(2.0, PackedPuzzleFunctions.getManhattanDistance(new Node<>(board)), 0.0);
+		Assert.assertEquals(goal, board.moveGap(EightPuzzleBoard.RIGHT).moveGap(EightPuzzleBoard.DOWN));
+	}
+
+	@Test
+	public void testManhattanDistance() {
+		EightPuzzleBoard board = new EightPuzzleBoard(new int[] { 7, 1, 8, 0, 4, 6, 2, 3, 5 });
+		Assert.assertEquals(EightPuzzleFunctions.getManhattanDistance(new Node<>(board)),
+				PackedPuzzleFunctions.getManhattanDistance(new Node<>(new PackedPuzzleBoard(board))), 0.0);
+	}
+
+	@Test
+	public void testAStarSearch() {
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(board);
+		SearchForActions<PackedPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(),
+				PackedPuzzleFunctions::getManhattanDistance);
+		Optional<List<Action>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(15, actions.get().size());
+	}
+}
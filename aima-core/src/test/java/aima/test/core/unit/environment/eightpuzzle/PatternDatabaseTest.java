@@ -0,0 +1,72 @@
+package aima.test.core.unit.environment.eightpuzzle;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.AdditivePatternDatabase;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.EightPuzzleFunctions;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.environment.eightpuzzle.PatternDatabase;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.informed.AStarSearch;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+import java.util.Optional;
+
+public class PatternDatabaseTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static final int[] BOARD = { 4, 8, 2, 6, 3, 5, 1, 0, 7 }; // 15 moves
+
+	@Test
+	public void testGoalHasValueZero() {
+		PatternDatabase db = PatternDatabase.build(PackedPuzzleFunctions.GOAL_STATE_3x3, 1, 2, 3, 4);
+		Assert.assertEquals(0, db.getValue(PackedPuzzleFunctions.GOAL_STATE_3x3));
+		PackedPuzzleBoard board = PackedPuzzleFunctions.GOAL_STATE_3x3.moveGap(EightPuzzleBoard.UP);
+		Assert.assertEquals(1, db.getValue(board)); // tile 2 moved
+		Assert.assertEquals(0, PatternDatabase.build(PackedPuzzleFunctions.GOAL_STATE_3x3, 5, 6, 7, 8)
+				.getValue(board));
+	}
+
+	@Test
+	public void testSaveAndLoad() throws Exception {
+		File dir = folder.newFolder("pdb");
+		AdditivePatternDatabase built = AdditivePatternDatabase.loadOrBuildForEightPuzzle(dir.toPath());
+		Assert.assertEquals(2, dir.list().length);
+		AdditivePatternDatabase loaded = AdditivePatternDatabase.loadOrBuildForEightPuzzle(dir.toPath());
+		EightPuzzleBoard board = new EightPuzzleBoard(BOARD);
+		Assert.assertEquals(built.getValue(board), loaded.getValue(board));
+		Assert.assertEquals(loaded.getValue(board), loaded.getValue(new PackedPuzzleBoard(board)));
+	}
+
+	@Test
+	public void testDominatesManhattanAndIsAdmissible() throws Exception {
+		AdditivePatternDatabase pdb = AdditivePatternDatabase.loadOrBuildForEightPuzzle(folder.getRoot().toPath());
+		Node<PackedPuzzleBoard, Action> node = new Node<>(new PackedPuzzleBoard(BOARD));
+		double h = pdb.getPackedHeuristicFunction().applyAsDouble(node);
+		Assert.assertTrue(h >= PackedPuzzleFunctions.getManhattanDistance(node));
+		Assert.assertTrue(h <= 15);
+
+		SearchForActions<PackedPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(),
+				pdb.getPackedHeuristicFunction());
+		Optional<List<Action>> actions = search.findActions(PackedPuzzleFunctions.createProblem(node.getState()));
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(15, actions.get().size());
+	}
+
+	@Test
+	public void testHeuristicForEightPuzzleBoard() throws Exception {
+		AdditivePatternDatabase pdb = AdditivePatternDatabase.loadOrBuildForEightPuzzle(folder.getRoot().toPath());
+		Assert.assertEquals(0.0, pdb.getHeuristicFunction().applyAsDouble
+				(new Node<>(EightPuzzleFunctions.GOAL_STATE)), 0.0);
+	}
+}
@@ -0,0 +1,82 @@
+package aima.test.core.unit.environment.nqueens;
+
+import aima.core.environment.nqueens.ConflictCountingNQueensBoard;
+import aima.core.environment.nqueens.NQueensBoard;
+import aima.core.environment.nqueens.NQueensFunctions;
+import aima.core.environment.nqueens.QueenAction;
+import aima.core.search.framework.problem.Problem;
+import aima.core.util.datastructure.XYLocation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class ConflictCountingNQueensBoardTest {
+
+	@Test
+	public void testCountersMatchCommonBoard() {
+		Random random = new Random(42);
+		ConflictCountingNQueensBoard board = new ConflictCountingNQueensBoard(8);
+		NQueensBoard reference = new NQueensBoard(8);
+		for (int i = 0; i < 500; i++) {
+			XYLocation loc = new XYLocation(random.nextInt(8), random.nextInt(8));
+			if (random.nextInt(4) == 0) {
+				board.removeQueenFrom(loc);
+				reference.removeQueenFrom(loc);
+			} else {
+				long expectedDelta = board.getMoveDelta(loc);
+				long pairs = board.getNumberOfAttackingPairs();
+				board.moveQueenTo(loc);
+				reference.moveQueenTo(loc);
+				Assert.assertEquals(pairs + expectedDelta, board.getNumberOfAttackingPairs());
+			}
+			Assert.assertEquals(reference.getNumberOfQueensOnBoard(), board.getNumberOfQueensOnBoard());
+			Assert.assertEquals(reference.getNumberOfAttackingPairs(), board.getNumberOfAttackingPairs());
+			Assert.assertEquals(reference, board.toNQueensBoard());
+			for (int col = 0; col < 8; col++) {
+				for (int row = 0; row < 8; row++) {
+					XYLocation square = new XYLocation(col, row);
+					Assert.assertEquals(reference.getNumberOfAttacksOn(square), board.getNumberOfAttacksOn(square));
+					Assert.assertEquals(reference.isSquareUnderAttack(square), board.isSquareUnderAttack(square));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCopyAndConversion() {
+		ConflictCountingNQueensBoard board = new ConflictCountingNQueensBoard(new int[] { 0, 4, 7, 5, 2, 6, 1, 3 });
+		Assert.assertEquals(0, board.getNumberOfAttackingPairs());
+		Assert.assertEquals(board, new ConflictCountingNQueensBoard(board.toNQueensBoard()));
+		ConflictCountingNQueensBoard copy = new ConflictCountingNQueensBoard(board);
+		copy.moveQueenTo(new XYLocation(7, 0));
+		Assert.assertEquals(3, board.getQueenRow(7));
+		Assert.assertEquals(2, copy.getNumberOfAttackingPairs());
+		try {
+			board.addQueenAt(new XYLocation(0, 1));
+			Assert.fail("Second queen in column accepted.");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		Assert.assertEquals(28, new ConflictCountingNQueensBoard(8, NQueensBoard.Config.QUEENS_IN_FIRST_ROW)
+				.getNumberOfAttackingPairs());
+	}
+
+	@Test
+	public void testMinConflictsActions() {
+		Problem<ConflictCountingNQueensBoard, QueenAction> problem = NQueensFunctions.createMinConflictsProblem(100,
+				NQueensBoard.Config.QUEEN_IN_EVERY_COL_ROW);
+		ConflictCountingNQueensBoard state = problem.getInitialState();
+		for (int step = 0; step < 10000 && !problem.testGoal(state); step++) {
+			List<QueenAction> actions = problem.getActions(state);
+			Assert.assertEquals(1, actions.size());
+			XYLocation loc = actions.get(0).getLocation();
+			Assert.assertTrue(state.getNumberOfAttacksOn(loc.getX(), state.getQueenRow(loc.getX())) > 0);
+			state = problem.getResult(state, actions.get(0));
+		}
+		Assert.assertTrue(problem.testGoal(state));
+		Assert.assertTrue(problem.getActions(state).isEmpty());
+		Assert.assertEquals(0, state.toNQueensBoard().getNumberOfAttackingPairs());
+	}
+}
@@ -7,12 +7,27 @@ import aima.test.core.unit.search.csp.AssignmentTest;
 import aima.test.core.unit.search.csp.CSPTest;
 import aima.test.core.unit.search.csp.MapCSPTest;
 import aima.test.core.unit.search.csp.TreeCspSolverTest;
+import aima.test.core.unit.search.framework.BatchSolverTest;
+import aima.test.core.unit.search.framework.FingerprintReachedSetTest;
+import aima.test.core.unit.search.framework.IncrementalHeuristicFunctionTest;
 import aima.test.core.unit.search.framework.MetricsTest;
 import aima.test.core.unit.search.framework.NodeTest;
+import aima.test.core.unit.search.framework.SearchBudgetTest;
+import aima.test.core.unit.search.framework.SearchProfilerTest;
+import aima.test.core.unit.search.framework.SearchTraceRecorderTest;
 import aima.test.core.unit.search.framework.SolutionTesterTest;
 import aima.test.core.unit.search.informed.AStarSearchTest;
+import aima.test.core.unit.search.informed.AnytimeRepairingAStarSearchTest;
+import aima.test.core.unit.search.informed.BidirectionalAStarSearchTest;
+import aima.test.core.unit.search.informed.CachedHeuristicFunctionTest;
+import aima.test.core.unit.search.informed.CompactAStarSearchTest;
+import aima.test.core.unit.search.informed.DivideAndConquerFrontierSearchTest;
 import aima.test.core.unit.search.informed.GreedyBestFirstSearchTest;
+import aima.test.core.unit.search.informed.HashDistributedAStarSearchTest;
+import aima.test.core.unit.search.informed.PartialExpansionAStarSearchTest;
+import aima.test.core.unit.search.informed.IterativeDeepeningAStarSearchTest;
 import aima.test.core.unit.search.informed.RecursiveBestFirstSearchTest;
+import aima.test.core.unit.search.informed.SMAStarSearchTest;
 import aima.test.core.unit.search.nondeterministic.AndOrSearchTest;
 import aima.test.core.unit.search.online.LRTAStarAgentTest;
 import aima.test.core.unit.search.online.OnlineDFSAgentTest;
@@ -23,9 +38,15 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({AlphaBetaSearchTest.class, MinimaxSearchTest.class, MonteCarloTreeSearchTest.class, AssignmentTest.class, CSPTest.class, MapCSPTest.class,
 		MetricsTest.class, TreeCspSolverTest.class, AStarSearchTest.class, GreedyBestFirstSearchTest.class, RecursiveBestFirstSearchTest.class,
+		HashDistributedAStarSearchTest.class, IterativeDeepeningAStarSearchTest.class, SMAStarSearchTest.class,
+		BidirectionalAStarSearchTest.class, CompactAStarSearchTest.class, DivideAndConquerFrontierSearchTest.class,
+		CachedHeuristicFunctionTest.class, AnytimeRepairingAStarSearchTest.class,
+		PartialExpansionAStarSearchTest.class,
 		AndOrSearchTest.class, LRTAStarAgentTest.class, OnlineDFSAgentTest.class,
 		BidirectionalSearchTest.class, BreadthFirstSearchTest.class, DepthFirstSearchTest.class,
-		DepthLimitedSearchTest.class, IterativeDeepeningSearchTest.class, UniformCostSearchTest.class, NodeTest.class,
-		SolutionTesterTest.class })
+		DepthLimitedSearchTest.class, IterativeDeepeningSearchTest.class, UniformCostSearchTest.class,
+		ExternalBreadthFirstSearchTest.class, DenseGraphSearchTest.class, NodeTest.class,
+		SolutionTesterTest.class, SearchTraceRecorderTest.class, BatchSolverTest.class,
+		FingerprintReachedSetTest.class, IncrementalHeuristicFunctionTest.class, SearchBudgetTest.class, SearchProfilerTest.class })
 public class SearchTestSuite {
 }
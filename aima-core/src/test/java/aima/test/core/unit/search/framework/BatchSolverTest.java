@@ -0,0 +1,78 @@
+package aima.test.core.unit.search.framework;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.search.framework.BatchSolver;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.informed.AStarSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class BatchSolverTest {
+
+	private static final int[][] BOARDS = {
+			{4, 8, 2, 6, 3, 5, 1, 0, 7},
+			{1, 4, 5, 2, 7, 0, 8, 6, 3},
+			{1, 3, 8, 6, 7, 4, 2, 0, 5},
+			{2, 0, 8, 7, 5, 3, 4, 1, 6},
+			{7, 1, 3, 4, 5, 0, 8, 2, 6},
+			{1, 3, 6, 7, 2, 0, 4, 5, 8},
+			{7, 0, 3, 5, 1, 8, 2, 6, 4},
+			{6, 3, 5, 2, 1, 0, 8, 4, 7},
+			{6, 0, 3, 8, 1, 5, 4, 2, 7},
+			{7, 8, 3, 1, 5, 0, 4, 2, 6}
+	};
+
+	@Test
+	public void testEightPuzzleBatch() throws InterruptedException {
+		List<BatchSolver.Result<PackedPuzzleBoard, Action>> results = Collections.synchronizedList(new ArrayList<>());
+		BatchSolver.Statistics stats;
+		try (BatchSolver<PackedPuzzleBoard, Action> solver = new BatchSolver<>(() -> new AStarSearch<>
+				(new GraphSearch<>(), PackedPuzzleFunctions::getManhattanDistance), 3)) {
+			Stream<Problem<PackedPuzzleBoard, Action>> problems = Arrays.stream(BOARDS)
+					.map(tiles -> PackedPuzzleFunctions.createProblem(new PackedPuzzleBoard(tiles)));
+			stats = solver.solve(problems, results::add);
+		}
+		Assert.assertEquals(BOARDS.length, results.size());
+		boolean[] seen = new boolean[BOARDS.length];
+		for (BatchSolver.Result<PackedPuzzleBoard, Action> result : results) {
+			Assert.assertTrue(result.getActions().isPresent());
+			Assert.assertEquals(15, result.getActions().get().size());
+			Assert.assertEquals(15, result.getMetrics().getDouble("pathCost"), 0);
+			seen[result.getIndex()] = true;
+		}
+		for (boolean s : seen)
+			Assert.assertTrue(s);
+
+		Assert.assertEquals(BOARDS.length, stats.getInstances());
+		Assert.assertEquals(BOARDS.length, stats.getSolved());
+		Assert.assertEquals(0, stats.getFailed());
+		Assert.assertEquals(BOARDS.length, stats.getNodesExpanded().getCount());
+		Assert.assertEquals(15, stats.getPathCost().getMean(), 0);
+		Assert.assertEquals(15, stats.getPathCost().getP99(), 0);
+		Assert.assertTrue(stats.getNodesExpanded().getP50() <= stats.getNodesExpanded().getP99());
+	}
+
+	@Test
+	public void testFailures() throws InterruptedException {
+		BatchSolver.Statistics stats;
+		try (BatchSolver<PackedPuzzleBoard, Action> solver = new BatchSolver<>(() -> new AStarSearch<>
+				(new GraphSearch<>(), node -> {
+					throw new IllegalStateException("heuristic failure");
+				}), 2)) {
+			stats = solver.solve(Stream.of(PackedPuzzleFunctions.createProblem
+					(new PackedPuzzleBoard(BOARDS[0]))), result -> {});
+		}
+		Assert.assertEquals(1, stats.getInstances());
+		Assert.assertEquals(0, stats.getSolved());
+		Assert.assertEquals(1, stats.getFailed());
+	}
+}
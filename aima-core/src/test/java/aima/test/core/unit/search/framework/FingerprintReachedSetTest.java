@@ -0,0 +1,103 @@
+package aima.test.core.unit.search.framework;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.environment.nqueens.NQueensBoard;
+import aima.core.environment.nqueens.NQueensFunctions;
+import aima.core.environment.nqueens.QueenAction;
+import aima.core.search.framework.FingerprintReachedSet;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.GraphSearch4e;
+import aima.core.search.framework.qsearch.GraphSearchBFS;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateFingerprinter;
+import aima.core.search.uninformed.BreadthFirstSearch;
+import aima.core.search.uninformed.UniformCostSearch;
+import aima.core.util.datastructure.XYLocation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+public class FingerprintReachedSetTest {
+
+	@Test
+	public void testPutAndGrow() {
+		FingerprintReachedSet<Long> set = new FingerprintReachedSet<>(Long::longValue, true);
+		for (long i = 0; i < 10000; i++)
+			Assert.assertTrue(set.put(i * 31, i));
+		Assert.assertFalse(set.put(31L, 0.5));
+		Assert.assertEquals(10000, set.size());
+		Assert.assertEquals(0.5, set.getPathCost(31L), 0);
+		Assert.assertEquals(9999, set.getPathCost(9999L * 31), 0);
+		Assert.assertTrue(Double.isNaN(set.getPathCost(1L)));
+		set.clear();
+		Assert.assertEquals(0, set.size());
+		Assert.assertFalse(set.contains(0L));
+	}
+
+	@Test
+	public void testCollisionsAreResolvedByEncodings() {
+		// all states have the same fingerprint
+		StateFingerprinter<String> fingerprinter = new StateFingerprinter<String>() {
+			@Override
+			public long getFingerprint(String state) {
+				return 42;
+			}
+
+			@Override
+			public byte[] getEncoding(String state) {
+				return state.getBytes();
+			}
+		};
+		FingerprintReachedSet<String> set = new FingerprintReachedSet<>(fingerprinter, false);
+		Assert.assertTrue(set.put("a", 1));
+		Assert.assertTrue(set.put("b", 2));
+		Assert.assertFalse(set.put("a", 3));
+		Assert.assertEquals(2, set.size());
+		Assert.assertEquals(0, set.getPathCost("b"), 0);
+		Assert.assertFalse(set.contains("c"));
+	}
+
+	@Test
+	public void testEightPuzzleSearchResultsAreUnchanged() {
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+		Problem<PackedPuzzleBoard, Action> withFingerprints = PackedPuzzleFunctions.createProblem(board);
+		Problem<PackedPuzzleBoard, Action> withStates = new GeneralProblem<>(board,
+				PackedPuzzleFunctions::getActions, PackedPuzzleFunctions::getResult,
+				withFingerprints::testGoal);
+		Assert.assertNotNull(withFingerprints.getStateFingerprinter());
+
+		BreadthFirstSearch<PackedPuzzleBoard, Action> bfs = new BreadthFirstSearch<>(new GraphSearchBFS<>());
+		Optional<List<Action>> actions = bfs.findActions(withFingerprints);
+		int expanded = bfs.getMetrics().getInt("nodesExpanded");
+		Assert.assertEquals(bfs.findActions(withStates), actions);
+		Assert.assertEquals(bfs.getMetrics().getInt("nodesExpanded"), expanded);
+
+		UniformCostSearch<PackedPuzzleBoard, Action> ucs = new UniformCostSearch<>(new GraphSearch<>());
+		Assert.assertEquals(15, ucs.findActions(withFingerprints).get().size());
+		expanded = ucs.getMetrics().getInt("nodesExpanded");
+		Assert.assertEquals(15, ucs.findActions(withStates).get().size());
+		Assert.assertEquals(ucs.getMetrics().getInt("nodesExpanded"), expanded);
+
+		ucs = new UniformCostSearch<>(new GraphSearch4e<>());
+		Assert.assertEquals(15, ucs.findActions(withFingerprints).get().size());
+	}
+
+	@Test
+	public void testNQueensFingerprints() {
+		StateFingerprinter<NQueensBoard> fingerprinter = NQueensFunctions.STATE_FINGERPRINTER;
+		NQueensBoard board = new NQueensBoard(8);
+		board.addQueenAt(new XYLocation(7, 7));
+		Assert.assertNull(fingerprinter.getEncoding(board));
+		Assert.assertEquals(Long.MIN_VALUE, fingerprinter.getFingerprint(board));
+
+		Problem<NQueensBoard, QueenAction> problem = NQueensFunctions.createIncrementalFormulationProblem(10);
+		Assert.assertNotNull(problem.getStateFingerprinter().getEncoding(problem.getInitialState()));
+		BreadthFirstSearch<NQueensBoard, QueenAction> bfs = new BreadthFirstSearch<>(new GraphSearchBFS<>());
+		Assert.assertEquals(10, bfs.findActions(problem).get().size());
+	}
+}
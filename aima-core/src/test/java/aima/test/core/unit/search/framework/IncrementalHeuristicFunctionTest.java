@@ -0,0 +1,113 @@
+package aima.test.core.unit.search.framework;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.BidirectionalEightPuzzleProblem;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.EightPuzzleFunctions;
+import aima.core.environment.nqueens.NQueensBoard;
+import aima.core.environment.nqueens.NQueensFunctions;
+import aima.core.environment.nqueens.QueenAction;
+import aima.core.search.framework.HeuristicNode;
+import aima.core.search.framework.IncrementalHeuristicFunction;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.NodeFactory;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.GreedyBestFirstSearch;
+import aima.core.util.datastructure.XYLocation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+public class IncrementalHeuristicFunctionTest {
+
+	@Test
+	public void testEightPuzzleRandomWalk() {
+		checkRandomWalk(EightPuzzleFunctions.createIncrementalManhattanHeuristicFunction(),
+				EightPuzzleFunctions::getManhattanDistance);
+		checkRandomWalk(EightPuzzleFunctions.createIncrementalWeightedManhattanHeuristicFunction(),
+				EightPuzzleFunctions::getWeightedManhattanDistance);
+		checkRandomWalk(EightPuzzleFunctions.createIncrementalEpsilonWeightedManhattanHeuristicFunction(),
+				EightPuzzleFunctions::getEpsilonWeightedManhattanDistance);
+	}
+
+	@Test
+	public void testNQueensAttackingPairs() {
+		IncrementalHeuristicFunction<NQueensBoard, QueenAction> h =
+				NQueensFunctions.createIncrementalAttackingPairsHeuristicFunction();
+		Random random = new Random(7);
+		int size = 8;
+		NQueensBoard board = new NQueensBoard(size, NQueensBoard.Config.QUEENS_IN_FIRST_ROW);
+		double value = h.evaluate(board);
+		for (int i = 0; i < 300; i++) {
+			XYLocation loc = new XYLocation(random.nextInt(size), random.nextInt(size));
+			String type = i < 200 ? QueenAction.MOVE_QUEEN
+					: random.nextBoolean() ? QueenAction.PLACE_QUEEN : QueenAction.REMOVE_QUEEN;
+			QueenAction action = new QueenAction(type, loc);
+			NQueensBoard next = NQueensFunctions.getResult(board, action);
+			value = h.update(value, board, action, next);
+			Assert.assertEquals(next.getNumberOfAttackingPairs(), value, 0);
+			board = next;
+		}
+	}
+
+	@Test
+	public void testNodeFactory() {
+		IncrementalHeuristicFunction<EightPuzzleBoard, Action> h =
+				EightPuzzleFunctions.createIncrementalManhattanHeuristicFunction();
+		NodeFactory<EightPuzzleBoard, Action> factory = new NodeFactory<>();
+		factory.useParentLinks(false);
+		factory.setIncrementalHeuristicFunction(h);
+		EightPuzzleBoard board = new EightPuzzleBoard(new int[] { 1, 2, 3, 8, 4, 0, 7, 6, 5 });
+		Node<EightPuzzleBoard, Action> root = factory.createNode(board);
+		Assert.assertTrue(root instanceof HeuristicNode);
+		Assert.assertEquals(1, h.applyAsDouble(root), 0);
+		Problem<EightPuzzleBoard, Action> problem = new BidirectionalEightPuzzleProblem(board);
+		for (Node<EightPuzzleBoard, Action> child : factory.getSuccessors(root, problem)) {
+			Assert.assertNull(child.getParent());
+			Assert.assertEquals(EightPuzzleFunctions.getManhattanDistance(child), h.applyAsDouble(child), 0);
+		}
+		// values of other incremental heuristics are not reused
+		IncrementalHeuristicFunction<EightPuzzleBoard, Action> weighted =
+				EightPuzzleFunctions.createIncrementalWeightedManhattanHeuristicFunction();
+		Assert.assertEquals(EightPuzzleFunctions.getWeightedManhattanDistance(root), weighted.applyAsDouble(root), 0);
+	}
+
+	@Test
+	public void testBestFirstSearch() {
+		EightPuzzleBoard board = new EightPuzzleBoard(new int[] { 6, 7, 4, 0, 5, 1, 3, 2, 8 });
+		Problem<EightPuzzleBoard, Action> problem = new BidirectionalEightPuzzleProblem(board);
+		AStarSearch<EightPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(),
+				EightPuzzleFunctions::getManhattanDistance);
+		Optional<List<Action>> expected = search.findActions(problem);
+		String expectedMetrics = search.getMetrics().toString();
+		search.setHeuristicFunction(EightPuzzleFunctions.createIncrementalManhattanHeuristicFunction());
+		Assert.assertEquals(expected, search.findActions(problem));
+		Assert.assertEquals(expectedMetrics.replaceAll("timeTaken=\\d+", ""),
+				search.getMetrics().toString().replaceAll("timeTaken=\\d+", ""));
+
+		GreedyBestFirstSearch<EightPuzzleBoard, Action> greedy = new GreedyBestFirstSearch<>(new GraphSearch<>(),
+				EightPuzzleFunctions.createIncrementalManhattanHeuristicFunction());
+		Assert.assertEquals(Optional.of(EightPuzzleFunctions.GOAL_STATE), greedy.findState(problem));
+	}
+
+	private void checkRandomWalk(IncrementalHeuristicFunction<EightPuzzleBoard, Action> h,
+								 ToDoubleFunction<Node<EightPuzzleBoard, Action>> expected) {
+		Random random = new Random(42);
+		EightPuzzleBoard board = EightPuzzleFunctions.GOAL_STATE;
+		double value = h.evaluate(board);
+		for (int i = 0; i < 1000; i++) {
+			List<Action> actions = EightPuzzleFunctions.getActions(board);
+			Action action = actions.get(random.nextInt(actions.size()));
+			EightPuzzleBoard next = EightPuzzleFunctions.getResult(board, action);
+			value = h.update(value, board, action, next);
+			Assert.assertEquals(expected.applyAsDouble(new Node<>(next)), value, 1e-9);
+			board = next;
+		}
+	}
+}
@@ -48,4 +48,88 @@ public class MetricsTest {
         assertNotEquals("1234",metrics.get("abcd"));
     }
 
+    @Test
+    public void testHandles() throws InterruptedException {
+        Metrics.Counter counter = metrics.counter("nodes");
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++)
+                    counter.increment();
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        metrics.incrementInt("nodes");
+        assertEquals(4001, metrics.getInt("nodes"));
+        assertSame(counter, metrics.counter("nodes"));
+
+        Metrics.Gauge gauge = metrics.gauge("max");
+        gauge.updateMax(5);
+        gauge.updateMax(3);
+        assertEquals("5", metrics.get("max"));
+        metrics.set("max", 2.5);
+        assertEquals("2.5", metrics.get("max"));
+        assertEquals("{max=2.5, nodes=4001}", metrics.toString());
+    }
+
+    @Test
+    public void testSnapshot() {
+        Metrics.Counter counter = metrics.counter("nodes");
+        counter.add(7);
+        metrics.gauge("cost").set(2.5);
+        metrics.timer("time");
+        metrics.set("time", 3L);
+        Metrics snapshot = metrics.snapshot();
+        counter.increment();
+        metrics.set("cost", 4);
+        assertEquals(7, snapshot.getInt("nodes"));
+        assertEquals(2.5, snapshot.getDouble("cost"), 0);
+        assertEquals(3.0, snapshot.getDouble("time"), 0);
+        assertEquals(8, metrics.getInt("nodes"));
+    }
+
+    @Test
+    public void testSetDoubleKeepsHandles() {
+        Metrics.Counter counter = metrics.counter("nodes");
+        Metrics.Timer timer = metrics.timer("time");
+        metrics.set("nodes", 5.0);
+        metrics.set("time", 12.0);
+        counter.increment();
+        assertEquals(6, metrics.getInt("nodes"));
+        assertEquals(12, timer.getMillis());
+        assertSame(counter, metrics.counter("nodes"));
+    }
+
+    @Test
+    public void testHistogram() {
+        Metrics.Histogram histogram = metrics.histogram("nanos");
+        for (int i = 1; i <= 50; i++)
+            histogram.record(i);
+        assertEquals(50, histogram.getCount());
+        assertEquals(25.5, histogram.getMean(), 0);
+        assertEquals(25, histogram.getPercentile(50));
+        assertEquals(50, histogram.getPercentile(100));
+
+        histogram.reset();
+        for (long i = 1; i <= 100000; i++)
+            histogram.record(i * 1000);
+        assertEquals(100000000, histogram.getMax());
+        for (double p : new double[] { 1, 50, 90, 99.9 }) {
+            double exact = p * 1000 * 1000;
+            assertTrue(histogram.getPercentile(p) >= exact);
+            assertTrue(histogram.getPercentile(p) <= exact * 1.035);
+        }
+        Metrics snapshot = metrics.snapshot();
+        histogram.record(0);
+        assertEquals(100000, snapshot.getLong("nanos"));
+        assertEquals(100001, metrics.getLong("nanos"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testHandleTypeMismatch() {
+        metrics.counter("abcd");
+        metrics.gauge("abcd");
+    }
 }
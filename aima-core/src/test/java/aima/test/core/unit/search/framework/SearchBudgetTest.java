@@ -0,0 +1,89 @@
+package aima.test.core.unit.search.framework;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchBudget;
+import aima.core.search.framework.SearchOutcome;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.CompactAStarSearch;
+import aima.core.search.uninformed.BreadthFirstSearch;
+import aima.core.search.uninformed.IterativeDeepeningSearch;
+import aima.core.util.Tasks;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SearchBudgetTest {
+
+	private static final PackedPuzzleBoard BOARD = new PackedPuzzleBoard(new int[] { 6, 7, 4, 0, 5, 1, 3, 2, 8 });
+
+	@Test
+	public void testUnlimited() {
+		AStarSearch<PackedPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(),
+				PackedPuzzleFunctions::getManhattanDistance);
+		SearchOutcome<PackedPuzzleBoard, Action> outcome = new SearchBudget().findActions(search,
+				PackedPuzzleFunctions.createProblem(BOARD), search.getEvaluationFunction());
+		Assert.assertTrue(outcome.isSolved());
+		Assert.assertEquals(25, outcome.getActions().get().size());
+		Assert.assertFalse(outcome.getState().isPresent());
+		Assert.assertEquals(25, outcome.getFBound(), 0);
+		Assert.assertEquals(search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED),
+				outcome.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED));
+	}
+
+	@Test
+	public void testNodeLimit() {
+		AStarSearch<PackedPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(),
+				PackedPuzzleFunctions::getManhattanDistance);
+		SearchOutcome<PackedPuzzleBoard, Action> outcome = new SearchBudget().setMaxNodesExpanded(100)
+				.findActions(search, PackedPuzzleFunctions.createProblem(BOARD),
+						search.getEvaluationFunction());
+		Assert.assertEquals(SearchOutcome.Status.NODE_LIMIT_EXCEEDED, outcome.getStatus());
+		Assert.assertTrue(outcome.isBudgetExceeded());
+		Assert.assertFalse(outcome.getActions().isPresent());
+		Assert.assertEquals(101, outcome.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED));
+		// lower bound of the optimal solution costs
+		Assert.assertTrue(outcome.getFBound() >= PackedPuzzleFunctions.getManhattanDistance(new Node<>(BOARD)));
+		Assert.assertTrue(outcome.getFBound() <= 25);
+		// the budget does not remain active after the run
+		Assert.assertFalse(Tasks.currIsCancelled());
+	}
+
+	@Test
+	public void testFrontierLimitAndStateSearch() {
+		BreadthFirstSearch<PackedPuzzleBoard, Action> search = new BreadthFirstSearch<>(new GraphSearch<>());
+		SearchOutcome<PackedPuzzleBoard, Action> outcome = new SearchBudget().setMaxFrontierSize(1000)
+				.findState(search, PackedPuzzleFunctions.createProblem(BOARD));
+		Assert.assertEquals(SearchOutcome.Status.FRONTIER_LIMIT_EXCEEDED, outcome.getStatus());
+		Assert.assertTrue(Double.isNaN(outcome.getFBound()));
+
+		outcome = new SearchBudget().setMaxFrontierSize(100000).findState(search,
+				PackedPuzzleFunctions.createProblem(BOARD));
+		Assert.assertTrue(outcome.isSolved());
+		Assert.assertEquals(PackedPuzzleFunctions.GOAL_STATE_3x3, outcome.getState().get());
+	}
+
+	@Test
+	public void testDeadline() {
+		// unsolvable
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 7, 1, 8, 0, 4, 6, 2, 3, 5 });
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(board);
+		IterativeDeepeningSearch<PackedPuzzleBoard, Action> search = new IterativeDeepeningSearch<>();
+		SearchOutcome<PackedPuzzleBoard, Action> outcome = new SearchBudget()
+				.setDeadline(System.nanoTime() + 20000000).findActions(search, problem);
+		Assert.assertEquals(SearchOutcome.Status.DEADLINE_EXCEEDED, outcome.getStatus());
+
+		CompactAStarSearch<PackedPuzzleBoard, Action> aStar = new CompactAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance);
+		outcome = new SearchBudget().setTimeLimit(20000000).findActions(aStar, problem);
+		Assert.assertEquals(SearchOutcome.Status.DEADLINE_EXCEEDED, outcome.getStatus());
+		Assert.assertTrue(outcome.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED) < 181440);
+
+		outcome = new SearchBudget().findActions(aStar, problem);
+		Assert.assertEquals(SearchOutcome.Status.FAILED, outcome.getStatus());
+	}
+}
@@ -0,0 +1,66 @@
+package aima.test.core.unit.search.framework;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.QueueFactory;
+import aima.core.search.framework.SearchProfiler;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.informed.AStarSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+
+public class SearchProfilerTest {
+
+	@Test
+	public void testProfiledSearch() {
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(board);
+		ToDoubleFunction<Node<PackedPuzzleBoard, Action>> h = PackedPuzzleFunctions::getManhattanDistance;
+		AStarSearch<PackedPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(), h);
+		Optional<List<Action>> expected = search.findActions(problem);
+
+		SearchProfiler profiler = new SearchProfiler(search.getMetrics());
+		search.setHeuristicFunction(profiler.profile(h));
+		Assert.assertEquals(expected, search.findActions(profiler.profile(problem)));
+
+		int expanded = search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED);
+		Assert.assertEquals(expanded, profiler.getHistogram(SearchProfiler.METRIC_ACTIONS_NANOS).getCount());
+		Assert.assertEquals(expanded + 1, search.getMetrics().getInt(SearchProfiler.METRIC_GOAL_TEST_NANOS));
+		long results = profiler.getHistogram(SearchProfiler.METRIC_RESULT_NANOS).getCount();
+		Assert.assertTrue(results >= expanded);
+		Assert.assertEquals(results, profiler.getHistogram(SearchProfiler.METRIC_STEP_COSTS_NANOS).getCount());
+		Assert.assertTrue(profiler.getHistogram(SearchProfiler.METRIC_FINGERPRINT_NANOS).getCount() > 0);
+		Assert.assertTrue(profiler.getHistogram(SearchProfiler.METRIC_HEURISTIC_NANOS).getCount() > 0);
+		Assert.assertEquals(0, profiler.getHistogram(SearchProfiler.METRIC_FRONTIER_NANOS).getCount());
+
+		String report = profiler.getReport();
+		Assert.assertTrue(report.contains(SearchProfiler.METRIC_ACTIONS_NANOS));
+		Assert.assertFalse(report.contains(SearchProfiler.METRIC_FRONTIER_NANOS));
+
+		profiler.reset();
+		Assert.assertEquals(0, profiler.getHistogram(SearchProfiler.METRIC_ACTIONS_NANOS).getCount());
+	}
+
+	@Test
+	public void testProfiledFrontier() {
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(board);
+		SearchProfiler profiler = new SearchProfiler();
+		GraphSearch<PackedPuzzleBoard, Action> impl = new GraphSearch<>();
+		Optional<Node<PackedPuzzleBoard, Action>> node = impl.findNode(problem, profiler.profile(
+				QueueFactory.createPriorityQueue(Comparator.comparingDouble(Node::getPathCost))));
+		Assert.assertTrue(node.isPresent());
+		Assert.assertEquals(15, node.get().getPathCost(), 0);
+		Assert.assertTrue(profiler.getHistogram(SearchProfiler.METRIC_FRONTIER_NANOS).getCount()
+				> impl.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED));
+	}
+}
@@ -0,0 +1,65 @@
+package aima.test.core.unit.search.framework;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.SearchTraceReader;
+import aima.core.search.framework.SearchTraceRecorder;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.informed.AStarSearch;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public class SearchTraceRecorderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static final PackedPuzzleBoard BOARD = new PackedPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+
+	@Test
+	public void testRecordAndRead() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("trace.bin");
+		SearchForActions<PackedPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(),
+				PackedPuzzleFunctions::getManhattanDistance);
+		try (SearchTraceRecorder<PackedPuzzleBoard, Action> recorder = SearchTraceRecorder.attach(search,
+				PackedPuzzleFunctions::getManhattanDistance, file, 1)) {
+			search.findActions(PackedPuzzleFunctions.createProblem(BOARD));
+			Assert.assertEquals(search.getMetrics().getLong(QueueSearch.METRIC_NODES_EXPANDED),
+					recorder.getRecordCount());
+		}
+		List<SearchTraceReader.Record> records = SearchTraceReader.readAll(file);
+		Assert.assertEquals(search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED), records.size());
+		SearchTraceReader.Record first = records.get(0);
+		Assert.assertEquals(BOARD.hashCode(), first.getStateHash());
+		Assert.assertEquals(0, first.getDepth());
+		Assert.assertEquals(0.0f, first.getG(), 0.0f);
+		for (SearchTraceReader.Record record : records) {
+			Assert.assertEquals(record.getG() + record.getH(), record.getF(), 0.0f);
+			Assert.assertEquals(record.getG(), record.getDepth(), 0.0f);
+			Assert.assertTrue(record.getF() <= 15);
+		}
+	}
+
+	@Test
+	public void testSampling() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("sampled.bin");
+		SearchForActions<PackedPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(),
+				PackedPuzzleFunctions::getManhattanDistance);
+		try (SearchTraceRecorder<PackedPuzzleBoard, Action> recorder = SearchTraceRecorder.attach(search,
+				node -> 0, file, 10)) {
+			search.findActions(PackedPuzzleFunctions.createProblem(BOARD));
+			int expanded = search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED);
+			Assert.assertEquals((expanded + 9) / 10, recorder.getRecordCount());
+		}
+		int expanded = search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED);
+		Assert.assertEquals((expanded + 9) / 10, SearchTraceReader.readAll(file).size());
+	}
+}
@@ -52,6 +52,20 @@ public class AStarSearchTest {
 		}
 	}
 
+	@Test
+	public void testBucketFrontier() {
+		EightPuzzleBoard board = new EightPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+		Problem<EightPuzzleBoard, Action> problem = new BidirectionalEightPuzzleProblem(board);
+		AStarSearch<EightPuzzleBoard, Action> search = new AStarSearch<>(new GraphSearch<>(),
+				EightPuzzleFunctions::getManhattanDistance);
+		AStarSearch<EightPuzzleBoard, Action> bucketSearch = new AStarSearch<>(new GraphSearch<>(),
+				EightPuzzleFunctions::getManhattanDistance, true);
+		Assert.assertTrue(search.findActions(problem).isPresent());
+		Assert.assertTrue(bucketSearch.findActions(problem).isPresent());
+		Assert.assertEquals(search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST),
+				bucketSearch.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+	}
+
 	@Test
 	public void testAIMA3eFigure3_15() throws Exception {
 		Map romaniaMap = new SimplifiedRoadMapOfRomania();
@@ -0,0 +1,92 @@
+package aima.test.core.unit.search.informed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.environment.map.Map;
+import aima.core.environment.map.MapFunctions;
+import aima.core.environment.map.MoveToAction;
+import aima.core.environment.map.SimplifiedRoadMapOfRomania;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.informed.AnytimeRepairingAStarSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class AnytimeRepairingAStarSearchTest {
+
+	@Test
+	public void testImprovingSolutions() {
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 6, 7, 4, 0, 5, 1, 3, 2, 8 });
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(board);
+		AnytimeRepairingAStarSearch<PackedPuzzleBoard, Action> search = new AnytimeRepairingAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance, 5, 1);
+		List<AnytimeRepairingAStarSearch.Solution<Action>> solutions = new ArrayList<>();
+		search.addSolutionListener(solutions::add);
+		Optional<List<Action>> actions = search.findActions(problem);
+
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(25, actions.get().size());
+		Assert.assertFalse(solutions.isEmpty());
+		Assert.assertEquals(5, solutions.get(0).getWeight(), 0);
+		AnytimeRepairingAStarSearch.Solution<Action> last = solutions.get(solutions.size() - 1);
+		Assert.assertEquals(actions.get(), last.getActions());
+		Assert.assertEquals(1, last.getSuboptimalityBound(), 0);
+		for (int i = 0; i < solutions.size(); i++) {
+			AnytimeRepairingAStarSearch.Solution<Action> solution = solutions.get(i);
+			Assert.assertEquals(solution.getPathCost(), solution.getActions().size(), 0);
+			// the bound holds with respect to the optimal costs
+			Assert.assertTrue(solution.getPathCost() <= 25 * solution.getSuboptimalityBound() + 1e-9);
+			Assert.assertTrue(solution.getSuboptimalityBound() <= solution.getWeight());
+			if (i > 0)
+				Assert.assertTrue(solution.getPathCost() <= solutions.get(i - 1).getPathCost());
+		}
+		Assert.assertEquals(25, search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+		Assert.assertEquals(1, search.getMetrics().getDouble(
+				AnytimeRepairingAStarSearch.METRIC_SUBOPTIMALITY_BOUND), 0);
+		Assert.assertTrue(search.getMetrics().getInt(AnytimeRepairingAStarSearch.METRIC_SEARCHES) > 1);
+
+		PackedPuzzleBoard state = board;
+		for (Action action : actions.get())
+			state = state.moveGap(action);
+		Assert.assertEquals(PackedPuzzleFunctions.GOAL_STATE_3x3, state);
+	}
+
+	@Test
+	public void testRomania() {
+		Map map = new SimplifiedRoadMapOfRomania();
+		Problem<String, MoveToAction> problem = new GeneralProblem<>(SimplifiedRoadMapOfRomania.TIMISOARA,
+				MapFunctions.createActionsFunction(map), MapFunctions.createResultFunction(),
+				SimplifiedRoadMapOfRomania.EFORIE::equals, MapFunctions.createDistanceStepCostFunction(map));
+		AnytimeRepairingAStarSearch<String, MoveToAction> search = new AnytimeRepairingAStarSearch<>(
+				MapFunctions.createSLDHeuristicFunction(SimplifiedRoadMapOfRomania.EFORIE, map), 3, 0.5);
+		Assert.assertTrue(search.findActions(problem).isPresent());
+		Assert.assertEquals(805, search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+
+		Problem<String, MoveToAction> unreachable = new GeneralProblem<>(SimplifiedRoadMapOfRomania.ARAD,
+				MapFunctions.createActionsFunction(map), MapFunctions.createResultFunction(), "Nowhere"::equals,
+				MapFunctions.createDistanceStepCostFunction(map));
+		Assert.assertFalse(search.findActions(unreachable).isPresent());
+		// all 20 cities are expanded, some of them again with smaller weight
+		Assert.assertTrue(search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED) >= 20);
+	}
+
+	@Test
+	public void testTimeLimit() {
+		// unsolvable, the whole reachable state space would be explored
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 7, 1, 8, 0, 4, 6, 2, 3, 5 });
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(board);
+		AnytimeRepairingAStarSearch<PackedPuzzleBoard, Action> search = new AnytimeRepairingAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance, 2, 0.5);
+		search.setTimeLimit(20);
+		long start = System.currentTimeMillis();
+		Assert.assertFalse(search.findActions(problem).isPresent());
+		Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+		Assert.assertTrue(search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED) < 181440);
+	}
+}
@@ -0,0 +1,95 @@
+package aima.test.core.unit.search.informed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.BidirectionalEightPuzzleProblem;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.EightPuzzleFunctions;
+import aima.core.environment.map.BidirectionalMapProblem;
+import aima.core.environment.map.Map;
+import aima.core.environment.map.MapFunctions;
+import aima.core.environment.map.MoveToAction;
+import aima.core.environment.map.SimplifiedRoadMapOfRomania;
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.SearchUtils;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.BidirectionalAStarSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+public class BidirectionalAStarSearchTest {
+
+	@Test
+	public void testEightPuzzle() {
+		for (int[] tiles : new int[][] { { 4, 8, 2, 6, 3, 5, 1, 0, 7 }, { 6, 7, 4, 0, 5, 1, 3, 2, 8 } }) {
+			EightPuzzleBoard board = new EightPuzzleBoard(tiles);
+			Problem<EightPuzzleBoard, Action> problem = new BidirectionalEightPuzzleProblem(board);
+			AStarSearch<EightPuzzleBoard, Action> aStar = new AStarSearch<>(new GraphSearch<>(),
+					EightPuzzleFunctions::getManhattanDistance);
+			Assert.assertTrue(aStar.findActions(problem).isPresent());
+
+			BidirectionalAStarSearch<EightPuzzleBoard, Action> search = new BidirectionalAStarSearch<>(
+					EightPuzzleFunctions::getManhattanDistance,
+					EightPuzzleFunctions.createManhattanHeuristicFunction(board));
+			Optional<Node<EightPuzzleBoard, Action>> result = search.findNode(problem);
+			Assert.assertTrue(result.isPresent());
+			Assert.assertEquals(EightPuzzleFunctions.GOAL_STATE, result.get().getState());
+
+			Metrics metrics = search.getMetrics();
+			double cost = metrics.getDouble(BidirectionalAStarSearch.METRIC_PATH_COST);
+			Assert.assertEquals(aStar.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), cost, 0);
+			Assert.assertEquals(getPathCost(problem, board, result.get()), cost, 0);
+			Assert.assertEquals(metrics.getInt(BidirectionalAStarSearch.METRIC_NODES_EXPANDED),
+					metrics.getInt(BidirectionalAStarSearch.METRIC_NODES_EXPANDED_FORWARD)
+							+ metrics.getInt(BidirectionalAStarSearch.METRIC_NODES_EXPANDED_BACKWARD));
+			Assert.assertTrue(metrics.getInt(BidirectionalAStarSearch.METRIC_NODES_EXPANDED)
+					< aStar.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED) / 5);
+		}
+	}
+
+	@Test
+	public void testRomania() {
+		Map map = new SimplifiedRoadMapOfRomania();
+		checkRoute(map, SimplifiedRoadMapOfRomania.ARAD, SimplifiedRoadMapOfRomania.BUCHAREST, 418, 4);
+		checkRoute(map, SimplifiedRoadMapOfRomania.TIMISOARA, SimplifiedRoadMapOfRomania.EFORIE, 805, 8);
+		checkRoute(map, SimplifiedRoadMapOfRomania.ARAD, SimplifiedRoadMapOfRomania.ARAD, 0, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnidirectionalProblem() {
+		Problem<String, String> problem = new GeneralProblem<>("a", s -> Collections.emptyList(), (s, a) -> s, "b"::equals);
+		new BidirectionalAStarSearch<String, String>(n -> 0, n -> 0).findActions(problem);
+	}
+
+	private void checkRoute(Map map, String from, String to, double expectedCost, int expectedSteps) {
+		BidirectionalAStarSearch<String, MoveToAction> search = new BidirectionalAStarSearch<>(
+				MapFunctions.createSLDHeuristicFunction(to, map), MapFunctions.createSLDHeuristicFunction(from, map));
+		Optional<List<MoveToAction>> actions = search.findActions(new BidirectionalMapProblem(map, from, to));
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(expectedSteps, actions.get().size());
+		Assert.assertEquals(expectedCost, search.getMetrics().getDouble(BidirectionalAStarSearch.METRIC_PATH_COST),
+				0);
+	}
+
+	// recomputes the costs of the solution path
+	private double getPathCost(Problem<EightPuzzleBoard, Action> problem, EightPuzzleBoard start,
+							   Node<EightPuzzleBoard, Action> node) {
+		double result = 0;
+		EightPuzzleBoard state = start;
+		for (Action action : SearchUtils.getSequenceOfActions(node)) {
+			EightPuzzleBoard next = problem.getResult(state, action);
+			result += problem.getStepCosts(state, action, next);
+			state = next;
+		}
+		Assert.assertEquals(EightPuzzleFunctions.GOAL_STATE, state);
+		return result;
+	}
+}
@@ -0,0 +1,74 @@
+package aima.test.core.unit.search.informed;
+
+import aima.core.environment.nqueens.NQueensBoard;
+import aima.core.environment.nqueens.NQueensFunctions;
+import aima.core.environment.nqueens.QueenAction;
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.CachedHeuristicFunction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+public class CachedHeuristicFunctionTest {
+
+	@Test
+	public void testHitsAndEviction() {
+		AtomicInteger calls = new AtomicInteger();
+		CachedHeuristicFunction<Integer, String> h = new CachedHeuristicFunction<>(node -> {
+			calls.incrementAndGet();
+			return 2 * node.getState();
+		}, 3);
+		Assert.assertEquals(2, h.applyAsDouble(new Node<>(1)), 0);
+		Assert.assertEquals(4, h.applyAsDouble(new Node<>(2)), 0);
+		Assert.assertEquals(2, h.applyAsDouble(new Node<>(1)), 0);
+		Assert.assertEquals(6, h.applyAsDouble(new Node<>(3)), 0);
+		Assert.assertEquals(3, calls.get());
+		Assert.assertEquals(3, h.size());
+
+		// state 2 is the oldest entry without second chance
+		Assert.assertEquals(8, h.applyAsDouble(new Node<>(4)), 0);
+		Assert.assertEquals(3, h.size());
+		h.applyAsDouble(new Node<>(1));
+		Assert.assertEquals(4, calls.get());
+		h.applyAsDouble(new Node<>(2));
+		Assert.assertEquals(5, calls.get());
+
+		Metrics metrics = h.getMetrics();
+		Assert.assertEquals(2, metrics.getInt(CachedHeuristicFunction.METRIC_CACHE_HITS));
+		Assert.assertEquals(5, metrics.getInt(CachedHeuristicFunction.METRIC_CACHE_MISSES));
+		Assert.assertEquals(2, metrics.getInt(CachedHeuristicFunction.METRIC_CACHE_EVICTIONS));
+
+		h.clear();
+		Assert.assertEquals(0, h.size());
+	}
+
+	@Test
+	public void testNQueens() {
+		Problem<NQueensBoard, QueenAction> problem = NQueensFunctions.createIncrementalFormulationProblem(6);
+		AtomicInteger calls = new AtomicInteger();
+		ToDoubleFunction<Node<NQueensBoard, QueenAction>> h = node -> {
+			calls.incrementAndGet();
+			return NQueensFunctions.getHeuristicProbabilisticEstimationOfSolution(node);
+		};
+		AStarSearch<NQueensBoard, QueenAction> search = new AStarSearch<>(new GraphSearch<>(), h);
+		Optional<List<QueenAction>> expected = search.findActions(problem);
+		int uncachedCalls = calls.get();
+
+		calls.set(0);
+		search.setHeuristicFunction(new CachedHeuristicFunction<>(h, 100000, search.getMetrics()));
+		Assert.assertEquals(expected, search.findActions(problem));
+		Metrics metrics = search.getMetrics();
+		// computed once per distinct state
+		Assert.assertEquals(calls.get(), metrics.getInt(CachedHeuristicFunction.METRIC_CACHE_MISSES));
+		Assert.assertTrue(calls.get() * 10 < uncachedCalls);
+		Assert.assertEquals(uncachedCalls - calls.get(), metrics.getInt(CachedHeuristicFunction.METRIC_CACHE_HITS));
+	}
+}
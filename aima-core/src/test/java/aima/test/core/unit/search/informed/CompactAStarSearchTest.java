@@ -0,0 +1,95 @@
+package aima.test.core.unit.search.informed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.environment.map.Map;
+import aima.core.environment.map.MapFunctions;
+import aima.core.environment.map.MoveToAction;
+import aima.core.environment.map.SimplifiedRoadMapOfRomania;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.NodeStore;
+import aima.core.search.framework.SearchUtils;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch4e;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.CompactAStarSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class CompactAStarSearchTest {
+
+	@Test
+	public void testNodeStore() {
+		NodeStore<Integer, String> store = new NodeStore<>();
+		int parent = store.addRoot(0, 5);
+		for (int i = 1; i <= 5000; i++)
+			parent = store.add(i, parent, i % 2 == 0 ? "even" : "odd", i, 5000 - i);
+		Assert.assertEquals(5001, store.size());
+		Assert.assertEquals(4999, store.getParent(parent));
+		Assert.assertEquals("even", store.getAction(parent));
+		Assert.assertEquals(5000, store.getF(parent), 0);
+
+		Node<Integer, String> node = store.getNode(parent);
+		Assert.assertEquals(Integer.valueOf(5000), node.getState());
+		Assert.assertEquals(5000, node.getPathCost(), 0);
+		List<String> actions = SearchUtils.getSequenceOfActions(node);
+		Assert.assertEquals(5000, actions.size());
+		Assert.assertEquals("odd", actions.get(0));
+		Assert.assertNull(store.getNodeView(parent).getParent());
+
+		store.clear();
+		Assert.assertEquals(0, store.size());
+	}
+
+	@Test
+	public void testEightPuzzle() {
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 6, 7, 4, 0, 5, 1, 3, 2, 8 });
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(board);
+		CompactAStarSearch<PackedPuzzleBoard, Action> search = new CompactAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance);
+		List<Node<PackedPuzzleBoard, Action>> expanded = new ArrayList<>();
+		search.addNodeListener(expanded::add);
+		Optional<List<Action>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(25, actions.get().size());
+		Assert.assertEquals(25, search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+
+		PackedPuzzleBoard state = board;
+		for (Action action : actions.get())
+			state = state.moveGap(action);
+		Assert.assertEquals(PackedPuzzleFunctions.GOAL_STATE_3x3, state);
+
+		// listeners receive nodes with parent links
+		Assert.assertEquals(search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED), expanded.size());
+		Node<PackedPuzzleBoard, Action> last = expanded.get(expanded.size() - 1);
+		Assert.assertEquals(last.getPathCost(), SearchUtils.getSequenceOfActions(last).size(), 0);
+	}
+
+	@Test
+	public void testRomania() {
+		Map map = new SimplifiedRoadMapOfRomania();
+		Problem<String, MoveToAction> problem = new GeneralProblem<>(SimplifiedRoadMapOfRomania.TIMISOARA,
+				MapFunctions.createActionsFunction(map), MapFunctions.createResultFunction(),
+				SimplifiedRoadMapOfRomania.EFORIE::equals, MapFunctions.createDistanceStepCostFunction(map));
+		AStarSearch<String, MoveToAction> aStar = new AStarSearch<>(new GraphSearch4e<>(),
+				MapFunctions.createSLDHeuristicFunction(SimplifiedRoadMapOfRomania.EFORIE, map));
+		CompactAStarSearch<String, MoveToAction> search = new CompactAStarSearch<>(
+				MapFunctions.createSLDHeuristicFunction(SimplifiedRoadMapOfRomania.EFORIE, map));
+		Assert.assertEquals(aStar.findActions(problem), search.findActions(problem));
+		Assert.assertEquals(805, search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+
+		Problem<String, MoveToAction> unreachable = new GeneralProblem<>(SimplifiedRoadMapOfRomania.ARAD,
+				MapFunctions.createActionsFunction(map), MapFunctions.createResultFunction(), "Nowhere"::equals,
+				MapFunctions.createDistanceStepCostFunction(map));
+		Assert.assertFalse(search.findActions(unreachable).isPresent());
+		Assert.assertEquals(20, search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED));
+	}
+}
@@ -0,0 +1,115 @@
+package aima.test.core.unit.search.informed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.BidirectionalEightPuzzleProblem;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.EightPuzzleFunctions;
+import aima.core.environment.map.Map;
+import aima.core.environment.map.MapFunctions;
+import aima.core.environment.map.MoveToAction;
+import aima.core.environment.map.SimplifiedRoadMapOfRomania;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch4e;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.DivideAndConquerFrontierSearch;
+import aima.core.util.datastructure.XYLocation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+public class DivideAndConquerFrontierSearchTest {
+
+	private static final int GRID_SIZE = 30;
+
+	@Test
+	public void testGrid() {
+		XYLocation goal = new XYLocation(GRID_SIZE - 1, 0);
+		Problem<XYLocation, XYLocation.Direction> problem = new GeneralProblem<>(new XYLocation(0, 0),
+				this::getGridActions, XYLocation::locationAt, goal::equals);
+		Function<XYLocation, ToDoubleFunction<Node<XYLocation, XYLocation.Direction>>> hFactory =
+				target -> node -> Math.abs(node.getState().getX() - target.getX())
+						+ Math.abs(node.getState().getY() - target.getY());
+
+		for (DivideAndConquerFrontierSearch<XYLocation, XYLocation.Direction> search : Arrays.asList(
+				new DivideAndConquerFrontierSearch<XYLocation, XYLocation.Direction>(),
+				new DivideAndConquerFrontierSearch<>(hFactory.apply(goal), hFactory))) {
+			Optional<List<XYLocation.Direction>> actions = search.findActions(problem);
+			Assert.assertTrue(actions.isPresent());
+			// around the wall in the middle column
+			Assert.assertEquals(3 * (GRID_SIZE - 1), actions.get().size());
+			XYLocation state = problem.getInitialState();
+			for (XYLocation.Direction direction : actions.get()) {
+				state = state.locationAt(direction);
+				Assert.assertTrue(isFree(state));
+			}
+			Assert.assertEquals(goal, state);
+			Assert.assertEquals(actions.get().size(),
+					search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+			// the frontier is much smaller than the set of reachable locations
+			Assert.assertTrue(search.getMetrics().getInt(DivideAndConquerFrontierSearch.METRIC_MAX_FRONTIER_SIZE)
+					< GRID_SIZE * GRID_SIZE / 4);
+		}
+	}
+
+	@Test
+	public void testEightPuzzle() {
+		EightPuzzleBoard board = new EightPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+		Problem<EightPuzzleBoard, Action> problem = new BidirectionalEightPuzzleProblem(board);
+		AStarSearch<EightPuzzleBoard, Action> aStar = new AStarSearch<>(new GraphSearch4e<>(),
+				EightPuzzleFunctions::getManhattanDistance);
+		aStar.findActions(problem);
+		DivideAndConquerFrontierSearch<EightPuzzleBoard, Action> search = new DivideAndConquerFrontierSearch<>(
+				EightPuzzleFunctions::getManhattanDistance, EightPuzzleFunctions::createManhattanHeuristicFunction);
+		List<Node<EightPuzzleBoard, Action>> expanded = new ArrayList<>();
+		search.addNodeListener(expanded::add);
+		Optional<List<Action>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(15, actions.get().size());
+		Assert.assertEquals(aStar.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST),
+				search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+		Assert.assertEquals(search.getMetrics().getInt(QueueSearch.METRIC_NODES_EXPANDED), expanded.size());
+		Assert.assertEquals(Optional.of(EightPuzzleFunctions.GOAL_STATE), search.findState(problem));
+	}
+
+	@Test
+	public void testRomania() {
+		Map map = new SimplifiedRoadMapOfRomania();
+		Problem<String, MoveToAction> problem = new GeneralProblem<>(SimplifiedRoadMapOfRomania.TIMISOARA,
+				MapFunctions.createActionsFunction(map), MapFunctions.createResultFunction(),
+				SimplifiedRoadMapOfRomania.EFORIE::equals, MapFunctions.createDistanceStepCostFunction(map));
+		DivideAndConquerFrontierSearch<String, MoveToAction> search = new DivideAndConquerFrontierSearch<>(
+				MapFunctions.createSLDHeuristicFunction(SimplifiedRoadMapOfRomania.EFORIE, map),
+				target -> MapFunctions.createSLDHeuristicFunction(target, map));
+		Optional<List<MoveToAction>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals("[Arad, Sibiu, RimnicuVilcea, Pitesti, Bucharest, Urziceni, Hirsova, Eforie]",
+				actions.get().stream().map(MoveToAction::getToLocation).collect(Collectors.toList()).toString());
+		Assert.assertEquals(805, search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+
+		Problem<String, MoveToAction> unreachable = new GeneralProblem<>(SimplifiedRoadMapOfRomania.ARAD,
+				MapFunctions.createActionsFunction(map), MapFunctions.createResultFunction(), "Nowhere"::equals);
+		Assert.assertFalse(new DivideAndConquerFrontierSearch<String, MoveToAction>().findActions(unreachable)
+				.isPresent());
+	}
+
+	// grid with a wall in the middle column, open only in the top row
+	private boolean isFree(XYLocation loc) {
+		return loc.getX() >= 0 && loc.getX() < GRID_SIZE && loc.getY() >= 0 && loc.getY() < GRID_SIZE
+				&& (loc.getX() != GRID_SIZE / 2 || loc.getY() == GRID_SIZE - 1);
+	}
+
+	private List<XYLocation.Direction> getGridActions(XYLocation loc) {
+		return Arrays.stream(XYLocation.Direction.values()).filter(d -> isFree(loc.locationAt(d)))
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,77 @@
+package aima.test.core.unit.search.informed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.environment.map.*;
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.informed.HashDistributedAStarSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+public class HashDistributedAStarSearchTest {
+
+	@Test
+	public void testRomania() {
+		Map romaniaMap = new SimplifiedRoadMapOfRomania();
+		Problem<String, MoveToAction> problem = new GeneralProblem<>(
+				SimplifiedRoadMapOfRomania.ARAD,
+				MapFunctions.createActionsFunction(romaniaMap),
+				MapFunctions.createResultFunction(),
+				Predicate.isEqual(SimplifiedRoadMapOfRomania.BUCHAREST),
+				MapFunctions.createDistanceStepCostFunction(romaniaMap));
+		SearchForActions<String, MoveToAction> search = new HashDistributedAStarSearch<>(
+				MapFunctions.createSLDHeuristicFunction(SimplifiedRoadMapOfRomania.BUCHAREST, romaniaMap), 3);
+		Optional<List<MoveToAction>> actions = search.findActions(problem);
+		Assert.assertEquals(
+				"[Action[name=moveTo, location=Sibiu], Action[name=moveTo, location=RimnicuVilcea], Action[name=moveTo, location=Pitesti], Action[name=moveTo, location=Bucharest]]",
+				String.valueOf(actions.orElse(null)));
+		Assert.assertEquals(418.0, search.getMetrics().getDouble(HashDistributedAStarSearch.METRIC_PATH_COST), 0.0);
+	}
+
+	@Test
+	public void testEightPuzzleIsOptimal() {
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+		HashDistributedAStarSearch<PackedPuzzleBoard, Action> search = new HashDistributedAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance, 4);
+		for (int i = 0; i < 3; i++) {
+			Optional<List<Action>> actions = search.findActions(PackedPuzzleFunctions.createProblem(board));
+			Assert.assertTrue(actions.isPresent());
+			Assert.assertEquals(15, actions.get().size());
+		}
+		Metrics metrics = search.getMetrics();
+		long sum = 0;
+		for (int i = 0; i < 4; i++)
+			sum += metrics.getLong(HashDistributedAStarSearch.METRIC_NODES_EXPANDED_BY_WORKER + i);
+		Assert.assertEquals(metrics.getLong(HashDistributedAStarSearch.METRIC_NODES_EXPANDED), sum);
+	}
+
+	@Test
+	public void testNoSolution() {
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(
+				new PackedPuzzleBoard(new int[] { 2, 1, 3, 8, 0, 4, 7, 6, 5 })); // odd permutation
+		HashDistributedAStarSearch<PackedPuzzleBoard, Action> search = new HashDistributedAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance, 2);
+		Assert.assertFalse(search.findActions(problem).isPresent());
+		// all reachable states are expanded, some possibly more than once
+		Assert.assertTrue(search.getMetrics().getInt(HashDistributedAStarSearch.METRIC_NODES_EXPANDED) >= 181440);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testWorkerExceptionIsRethrown() {
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(
+				new PackedPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 }));
+		new HashDistributedAStarSearch<PackedPuzzleBoard, Action>(node -> {
+			if (node.getPathCost() > 3)
+				throw new IllegalStateException("test");
+			return 0;
+		}, 2).findActions(problem);
+	}
+}
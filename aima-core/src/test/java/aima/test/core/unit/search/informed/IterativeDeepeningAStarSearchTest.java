@@ -0,0 +1,79 @@
+package aima.test.core.unit.search.informed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.EightPuzzleFunctions;
+import aima.core.environment.eightpuzzle.InPlaceEightPuzzleProblem;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.informed.AStarSearch;
+import aima.core.search.informed.IterativeDeepeningAStarSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+public class IterativeDeepeningAStarSearchTest {
+
+	private static final int[] BOARD = { 4, 8, 2, 6, 3, 5, 1, 0, 7 }; // 15 moves
+
+	@Test
+	public void testInPlaceEightPuzzle() {
+		EightPuzzleBoard initial = new EightPuzzleBoard(BOARD);
+		Problem<EightPuzzleBoard, Action> problem = new InPlaceEightPuzzleProblem(initial);
+		IterativeDeepeningAStarSearch<EightPuzzleBoard, Action> search = new IterativeDeepeningAStarSearch<>(
+				AStarSearch.createEvalFn(EightPuzzleFunctions::getManhattanDistance));
+		Optional<List<Action>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(15, actions.get().size());
+		Assert.assertEquals(new EightPuzzleBoard(BOARD), initial); // not modified
+
+		EightPuzzleBoard board = initial.clone();
+		for (Action action : actions.get())
+			board = EightPuzzleFunctions.getResult(board, action);
+		Assert.assertEquals(EightPuzzleFunctions.GOAL_STATE, board);
+		Assert.assertEquals(EightPuzzleFunctions.GOAL_STATE, search.findState(problem).orElse(null));
+	}
+
+	@Test
+	public void testTranspositionTable() {
+		Random random = new Random(3);
+		EightPuzzleBoard board = EightPuzzleFunctions.GOAL_STATE;
+		for (int i = 0; i < 60; i++) {
+			List<Action> actions = EightPuzzleFunctions.getActions(board);
+			board = EightPuzzleFunctions.getResult(board, actions.get(random.nextInt(actions.size())));
+		}
+		Problem<EightPuzzleBoard, Action> problem = new InPlaceEightPuzzleProblem(board);
+		IterativeDeepeningAStarSearch<EightPuzzleBoard, Action> plain = new IterativeDeepeningAStarSearch<>(
+				AStarSearch.createEvalFn(EightPuzzleFunctions::getManhattanDistance));
+		IterativeDeepeningAStarSearch<EightPuzzleBoard, Action> withTable = new IterativeDeepeningAStarSearch<>(
+				AStarSearch.createEvalFn(EightPuzzleFunctions::getManhattanDistance),
+				InPlaceEightPuzzleProblem::getFingerprint, 1 << 12);
+		Assert.assertEquals(plain.findActions(problem).get().size(), withTable.findActions(problem).get().size());
+		Assert.assertTrue(withTable.getMetrics().getInt(IterativeDeepeningAStarSearch.METRIC_TRANSPOSITION_HITS) > 0);
+		Assert.assertTrue(withTable.getMetrics().getInt(IterativeDeepeningAStarSearch.METRIC_NODES_EXPANDED)
+				< plain.getMetrics().getInt(IterativeDeepeningAStarSearch.METRIC_NODES_EXPANDED));
+	}
+
+	@Test
+	public void testFifteenPuzzleIsOptimal() {
+		Random random = new Random(7);
+		PackedPuzzleBoard board = PackedPuzzleFunctions.GOAL_STATE_4x4;
+		for (int i = 0; i < 40; i++) {
+			List<Action> actions = PackedPuzzleFunctions.getActions(board);
+			board = board.moveGap(actions.get(random.nextInt(actions.size())));
+		}
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(board);
+		SearchForActions<PackedPuzzleBoard, Action> aStar = new AStarSearch<>(new GraphSearch<>(),
+				PackedPuzzleFunctions::getManhattanDistance);
+		SearchForActions<PackedPuzzleBoard, Action> idaStar = new IterativeDeepeningAStarSearch<>(
+				AStarSearch.createEvalFn(PackedPuzzleFunctions::getManhattanDistance),
+				PackedPuzzleBoard::getTiles, 1 << 16);
+		Assert.assertEquals(aStar.findActions(problem).get().size(), idaStar.findActions(problem).get().size());
+	}
+}
@@ -0,0 +1,117 @@
+package aima.test.core.unit.search.informed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.environment.map.Map;
+import aima.core.environment.map.MapFunctions;
+import aima.core.environment.map.MoveToAction;
+import aima.core.environment.map.SimplifiedRoadMapOfRomania;
+import aima.core.environment.nqueens.NQueensBoard;
+import aima.core.environment.nqueens.NQueensFunctions;
+import aima.core.environment.nqueens.QueenAction;
+import aima.core.search.framework.Node;
+import aima.core.search.framework.NodeFactory;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.framework.qsearch.TreeSearch;
+import aima.core.search.informed.CompactAStarSearch;
+import aima.core.search.informed.PartialExpansionAStarSearch;
+import aima.core.search.uninformed.BreadthFirstSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class PartialExpansionAStarSearchTest {
+
+	@Test
+	public void testLazySuccessors() {
+		AtomicInteger results = new AtomicInteger();
+		Problem<NQueensBoard, QueenAction> problem = new GeneralProblem<>(new NQueensBoard(8),
+				NQueensFunctions::getIFActions, (state, action) -> {
+			results.incrementAndGet();
+			return NQueensFunctions.getResult(state, action);
+		}, NQueensFunctions::testGoal);
+		NodeFactory<NQueensBoard, QueenAction> factory = new NodeFactory<>();
+		List<Node<NQueensBoard, QueenAction>> expanded = new ArrayList<>();
+		factory.addNodeListener(expanded::add);
+		Node<NQueensBoard, QueenAction> root = factory.createNode(problem.getInitialState());
+
+		Iterator<Node<NQueensBoard, QueenAction>> successors = factory.iterateSuccessors(root, problem);
+		Assert.assertEquals(1, expanded.size());
+		Assert.assertEquals(0, results.get());
+		Node<NQueensBoard, QueenAction> first = successors.next();
+		Assert.assertEquals(1, results.get());
+		Assert.assertEquals(factory.getSuccessors(root, problem).get(0).getState(), first.getState());
+		Assert.assertEquals(root, first.getParent());
+
+		List<NQueensBoard> expected = factory.getSuccessors(root, problem).stream().map(Node::getState)
+				.collect(Collectors.toList());
+		Assert.assertEquals(expected, factory.streamSuccessors(root, problem).map(Node::getState)
+				.collect(Collectors.toList()));
+
+		// the early goal test of breadth first search stops the expansion of the last node
+		problem = new GeneralProblem<>(new NQueensBoard(8), NQueensFunctions::getIFActions, (state, action) -> {
+			results.incrementAndGet();
+			return NQueensFunctions.getResult(state, action);
+		}, state -> state.getNumberOfQueensOnBoard() == 2);
+		results.set(0);
+		AtomicInteger actions = new AtomicInteger();
+		BreadthFirstSearch<NQueensBoard, QueenAction> search = new BreadthFirstSearch<>(new TreeSearch<>());
+		search.addNodeListener(node -> actions.addAndGet(NQueensFunctions.getIFActions(node.getState()).size()));
+		Optional<NQueensBoard> goal = search.findState(problem);
+		Assert.assertTrue(goal.isPresent());
+		Assert.assertEquals(2, goal.get().getNumberOfQueensOnBoard());
+		Assert.assertEquals(8 + 1, results.get());
+		Assert.assertEquals(8 + 6, actions.get());
+	}
+
+	@Test
+	public void testEightPuzzle() {
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 6, 7, 4, 0, 5, 1, 3, 2, 8 });
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(board);
+		PartialExpansionAStarSearch<PackedPuzzleBoard, Action> search = new PartialExpansionAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance);
+		Optional<List<Action>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(25, actions.get().size());
+		Assert.assertEquals(25, search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+		Assert.assertTrue(search.getMetrics().getInt(PartialExpansionAStarSearch.METRIC_NODES_REEXPANDED) > 0);
+
+		PackedPuzzleBoard state = board;
+		for (Action action : actions.get())
+			state = state.moveGap(action);
+		Assert.assertEquals(PackedPuzzleFunctions.GOAL_STATE_3x3, state);
+
+		// children with larger f values are not stored
+		CompactAStarSearch<PackedPuzzleBoard, Action> aStar = new CompactAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance);
+		aStar.findActions(problem);
+		Assert.assertTrue(search.getMetrics().getInt(QueueSearch.METRIC_MAX_QUEUE_SIZE)
+				< aStar.getMetrics().getInt(QueueSearch.METRIC_MAX_QUEUE_SIZE));
+	}
+
+	@Test
+	public void testRomania() {
+		Map map = new SimplifiedRoadMapOfRomania();
+		Problem<String, MoveToAction> problem = new GeneralProblem<>(SimplifiedRoadMapOfRomania.TIMISOARA,
+				MapFunctions.createActionsFunction(map), MapFunctions.createResultFunction(),
+				SimplifiedRoadMapOfRomania.EFORIE::equals, MapFunctions.createDistanceStepCostFunction(map));
+		PartialExpansionAStarSearch<String, MoveToAction> search = new PartialExpansionAStarSearch<>(
+				MapFunctions.createSLDHeuristicFunction(SimplifiedRoadMapOfRomania.EFORIE, map));
+		Assert.assertTrue(search.findActions(problem).isPresent());
+		Assert.assertEquals(805, search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+
+		Problem<String, MoveToAction> unreachable = new GeneralProblem<>(SimplifiedRoadMapOfRomania.ARAD,
+				MapFunctions.createActionsFunction(map), MapFunctions.createResultFunction(), "Nowhere"::equals,
+				MapFunctions.createDistanceStepCostFunction(map));
+		Assert.assertFalse(search.findActions(unreachable).isPresent());
+	}
+}
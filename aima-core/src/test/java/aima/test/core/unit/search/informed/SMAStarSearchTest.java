@@ -0,0 +1,69 @@
+package aima.test.core.unit.search.informed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.environment.map.*;
+import aima.core.search.framework.Metrics;
+import aima.core.search.framework.SearchForActions;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.informed.SMAStarSearch;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+public class SMAStarSearchTest {
+
+	@Test
+	public void testRomania() {
+		Map romaniaMap = new SimplifiedRoadMapOfRomania();
+		Problem<String, MoveToAction> problem = new GeneralProblem<>(
+				SimplifiedRoadMapOfRomania.ARAD,
+				MapFunctions.createActionsFunction(romaniaMap),
+				MapFunctions.createResultFunction(),
+				Predicate.isEqual(SimplifiedRoadMapOfRomania.BUCHAREST),
+				MapFunctions.createDistanceStepCostFunction(romaniaMap));
+		SearchForActions<String, MoveToAction> search = new SMAStarSearch<>(
+				MapFunctions.createSLDHeuristicFunction(SimplifiedRoadMapOfRomania.BUCHAREST, romaniaMap), 8);
+		Optional<List<MoveToAction>> actions = search.findActions(problem);
+		Assert.assertEquals(
+				"[Action[name=moveTo, location=Sibiu], Action[name=moveTo, location=RimnicuVilcea], Action[name=moveTo, location=Pitesti], Action[name=moveTo, location=Bucharest]]",
+				String.valueOf(actions.orElse(null)));
+		Assert.assertEquals(418.0, search.getMetrics().getDouble(SMAStarSearch.METRIC_PATH_COST), 0.0);
+		Assert.assertTrue(search.getMetrics().getInt(SMAStarSearch.METRIC_MAX_NODES_IN_MEMORY) <= 8);
+	}
+
+	@Test
+	public void testEightPuzzleWithinBudget() {
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(
+				new PackedPuzzleBoard(new int[] { 6, 7, 4, 0, 5, 1, 3, 2, 8 }));
+		SMAStarSearch<PackedPuzzleBoard, Action> search = new SMAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance, 100);
+		Optional<List<Action>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(25, actions.get().size());
+		Metrics metrics = search.getMetrics();
+		Assert.assertTrue(metrics.getInt(SMAStarSearch.METRIC_NODES_FORGOTTEN) > 0);
+		Assert.assertEquals(100, metrics.getInt(SMAStarSearch.METRIC_MAX_NODES_IN_MEMORY));
+	}
+
+	@Test
+	public void testBudgetTooSmall() {
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(
+				new PackedPuzzleBoard(new int[] { 6, 7, 4, 0, 5, 1, 3, 2, 8 }));
+		SMAStarSearch<PackedPuzzleBoard, Action> search = new SMAStarSearch<>(
+				PackedPuzzleFunctions::getManhattanDistance, 25);
+		Assert.assertFalse(search.findActions(problem).isPresent());
+		Assert.assertTrue(search.getMetrics().getInt(SMAStarSearch.METRIC_MAX_NODES_IN_MEMORY) <= 25);
+	}
+
+	@Test
+	public void testNodeLimit() {
+		Assert.assertEquals(1000, SMAStarSearch.getNodeLimit(300000, 100));
+		Assert.assertEquals(2, SMAStarSearch.getNodeLimit(0, 100));
+	}
+}
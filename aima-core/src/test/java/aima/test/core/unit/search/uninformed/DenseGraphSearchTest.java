@@ -0,0 +1,151 @@
+package aima.test.core.unit.search.uninformed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.BidirectionalEightPuzzleProblem;
+import aima.core.environment.eightpuzzle.EightPuzzleBoard;
+import aima.core.environment.eightpuzzle.EightPuzzleFunctions;
+import aima.core.environment.nqueens.NQueensBoard;
+import aima.core.environment.nqueens.NQueensFunctions;
+import aima.core.environment.nqueens.QueenAction;
+import aima.core.search.framework.IndexedReachedSet;
+import aima.core.search.framework.problem.GeneralProblem;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.problem.StateIndexer;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.uninformed.BreadthFirstSearch;
+import aima.core.search.uninformed.DenseGraphSearch;
+import aima.core.search.uninformed.UniformCostSearch;
+import aima.core.util.datastructure.XYLocation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+public class DenseGraphSearchTest {
+
+	private static final EightPuzzleBoard BOARD = new EightPuzzleBoard(new int[] { 6, 7, 4, 0, 5, 1, 3, 2, 8 });
+
+	@Test
+	public void testEightPuzzleIndexer() {
+		StateIndexer<EightPuzzleBoard> indexer = EightPuzzleFunctions.createStateIndexer(
+				EightPuzzleFunctions.GOAL_STATE);
+		Assert.assertEquals(181440, indexer.getIndexCount());
+		for (int i = 0; i < indexer.getIndexCount(); i++)
+			Assert.assertEquals(i, indexer.getIndex(indexer.getState(i)));
+		Assert.assertEquals(EightPuzzleFunctions.GOAL_STATE,
+				indexer.getState(indexer.getIndex(EightPuzzleFunctions.GOAL_STATE)));
+		// unreachable boards with the gap at an odd and an even position
+		for (int[] tiles : new int[][] { { 7, 1, 8, 0, 4, 6, 2, 3, 5 }, { 2, 1, 3, 8, 0, 4, 7, 6, 5 } }) {
+			try {
+				indexer.getIndex(new EightPuzzleBoard(tiles));
+				Assert.fail("Unreachable board accepted.");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testNQueensIndexer() {
+		StateIndexer<NQueensBoard> indexer = NQueensFunctions.createIncrementalFormulationStateIndexer(4);
+		Assert.assertEquals(1 + 4 + 12 + 24 + 24, indexer.getIndexCount());
+		Assert.assertEquals(986410, NQueensFunctions.createIncrementalFormulationStateIndexer(9).getIndexCount());
+		Assert.assertEquals(0, indexer.getIndex(new NQueensBoard(4)));
+		for (int i = 0; i < indexer.getIndexCount(); i++)
+			Assert.assertEquals(i, indexer.getIndex(indexer.getState(i)));
+		NQueensBoard board = new NQueensBoard(4);
+		board.addQueenAt(new XYLocation(0, 2));
+		board.addQueenAt(new XYLocation(1, 3));
+		Assert.assertEquals(1 + 4 + 2 * 3 + 2, indexer.getIndex(board));
+		board.addQueenAt(new XYLocation(2, 3));
+		try {
+			indexer.getIndex(board);
+			Assert.fail("Board with two queens in a row accepted.");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testIndexedReachedSet() {
+		IndexedReachedSet<NQueensBoard> reached = new IndexedReachedSet<>(
+				NQueensFunctions.createIncrementalFormulationStateIndexer(8), true);
+		NQueensBoard board = new NQueensBoard(8);
+		Assert.assertTrue(Double.isNaN(reached.getPathCost(board)));
+		Assert.assertTrue(reached.put(board, 2));
+		Assert.assertFalse(reached.put(board, 1));
+		Assert.assertEquals(1, reached.getPathCost(board), 0);
+		Assert.assertEquals(1, reached.size());
+		reached.clear();
+		Assert.assertFalse(reached.contains(board));
+	}
+
+	@Test
+	public void testBreadthFirstSearch() {
+		GeneralProblem<EightPuzzleBoard, Action> problem = new GeneralProblem<>(BOARD,
+				EightPuzzleFunctions::getActions, EightPuzzleFunctions::getResult,
+				Predicate.isEqual(EightPuzzleFunctions.GOAL_STATE));
+		problem.setStateIndexer(EightPuzzleFunctions.createStateIndexer(BOARD));
+		DenseGraphSearch<EightPuzzleBoard, Action> search = new DenseGraphSearch<>(
+				DenseGraphSearch.Strategy.BREADTH_FIRST);
+		Optional<List<Action>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(25, actions.get().size());
+		Assert.assertEquals(25, search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+		EightPuzzleBoard state = BOARD;
+		for (Action action : actions.get())
+			state = EightPuzzleFunctions.getResult(state, action);
+		Assert.assertEquals(EightPuzzleFunctions.GOAL_STATE, state);
+
+		// the whole state space
+		problem = new GeneralProblem<>(EightPuzzleFunctions.GOAL_STATE, EightPuzzleFunctions::getActions,
+				EightPuzzleFunctions::getResult, s -> false);
+		problem.setStateIndexer(EightPuzzleFunctions.createStateIndexer(EightPuzzleFunctions.GOAL_STATE));
+		Assert.assertEquals(181440, search.exploreStateSpace(problem));
+		Assert.assertEquals(25, search.getPathCost(BOARD), 0);
+		StateIndexer<EightPuzzleBoard> indexer = problem.getStateIndexer();
+		double max = 0;
+		for (int i = 0; i < indexer.getIndexCount(); i++)
+			max = Math.max(max, search.getPathCost(indexer.getState(i)));
+		Assert.assertEquals(30, max, 0);
+	}
+
+	@Test
+	public void testUniformCostSearch() {
+		// step costs depend on the moved tile
+		Problem<EightPuzzleBoard, Action> problem = new BidirectionalEightPuzzleProblem(
+				new EightPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 }));
+		UniformCostSearch<EightPuzzleBoard, Action> expected = new UniformCostSearch<>(new GraphSearch<>());
+		expected.findActions(problem);
+		DenseGraphSearch<EightPuzzleBoard, Action> search = new DenseGraphSearch<>(
+				DenseGraphSearch.Strategy.UNIFORM_COST);
+		Optional<List<Action>> actions = search.findActions(problem);
+		Assert.assertTrue(actions.isPresent());
+		Assert.assertEquals(expected.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST),
+				search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+		double cost = 0;
+		EightPuzzleBoard state = problem.getInitialState();
+		for (Action action : actions.get()) {
+			EightPuzzleBoard next = EightPuzzleFunctions.getResult(state, action);
+			cost += EightPuzzleFunctions.stepCostFunction(state, action, next);
+			state = next;
+		}
+		Assert.assertEquals(EightPuzzleFunctions.GOAL_STATE, state);
+		Assert.assertEquals(cost, search.getMetrics().getDouble(QueueSearch.METRIC_PATH_COST), 0);
+	}
+
+	@Test
+	public void testNQueens() {
+		Problem<NQueensBoard, QueenAction> problem = NQueensFunctions.createIncrementalFormulationProblem(6);
+		DenseGraphSearch<NQueensBoard, QueenAction> search = new DenseGraphSearch<>(
+				DenseGraphSearch.Strategy.BREADTH_FIRST);
+		Optional<NQueensBoard> state = search.findState(problem);
+		Assert.assertTrue(state.isPresent());
+		Assert.assertTrue(NQueensFunctions.testGoal(state.get()));
+		Assert.assertEquals(new BreadthFirstSearch<>(new GraphSearch<NQueensBoard, QueenAction>())
+				.findState(problem), state);
+	}
+}
@@ -0,0 +1,65 @@
+package aima.test.core.unit.search.uninformed;
+
+import aima.core.agent.Action;
+import aima.core.environment.eightpuzzle.PackedPuzzleBoard;
+import aima.core.environment.eightpuzzle.PackedPuzzleFunctions;
+import aima.core.search.framework.problem.Problem;
+import aima.core.search.uninformed.ExternalBreadthFirstSearch;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+import java.util.Optional;
+
+public class ExternalBreadthFirstSearchTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testFindState() throws Exception {
+		PackedPuzzleBoard board = new PackedPuzzleBoard(new int[] { 4, 8, 2, 6, 3, 5, 1, 0, 7 });
+		ExternalBreadthFirstSearch<PackedPuzzleBoard, Action> search = new ExternalBreadthFirstSearch<>(
+				PackedPuzzleFunctions.createStateCodec(3), folder.getRoot().toPath(), 4096);
+		Optional<PackedPuzzleBoard> result = search.findState(PackedPuzzleFunctions.createProblem(board));
+		Assert.assertEquals(Optional.of(PackedPuzzleFunctions.GOAL_STATE_3x3), result);
+		Assert.assertEquals(15, search.getMetrics().getInt(ExternalBreadthFirstSearch.METRIC_DEPTH));
+		Assert.assertEquals(16, search.getLayerSizes().size());
+		assertWorkFilesDeleted();
+	}
+
+	@Test
+	public void testExploreStateSpace() throws Exception {
+		Problem<PackedPuzzleBoard, Action> problem = PackedPuzzleFunctions.createProblem(
+				PackedPuzzleFunctions.GOAL_STATE_3x3);
+		for (boolean reversible : new boolean[] { false, true }) {
+			// small sort buffer, which forces many runs per layer
+			ExternalBreadthFirstSearch<PackedPuzzleBoard, Action> search = new ExternalBreadthFirstSearch<>(
+					PackedPuzzleFunctions.createStateCodec(3), folder.getRoot().toPath(), 8 * 100);
+			search.setReversible(reversible);
+			List<Long> sizes = search.exploreStateSpace(problem);
+			Assert.assertEquals(31, sizes.size()); // depth 0 to 30 (gap in the center)
+			Assert.assertEquals(Long.valueOf(1), sizes.get(0));
+			Assert.assertEquals(Long.valueOf(4), sizes.get(1));
+			Assert.assertEquals(Long.valueOf(148), sizes.get(30));
+			Assert.assertEquals(181440, sizes.stream().mapToLong(Long::longValue).sum());
+			Assert.assertEquals(181440, search.getMetrics().getInt(ExternalBreadthFirstSearch.METRIC_NODES_EXPANDED));
+			assertWorkFilesDeleted();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSortBufferTooSmall() {
+		new ExternalBreadthFirstSearch<PackedPuzzleBoard, Action>(PackedPuzzleFunctions.createStateCodec(3),
+				folder.getRoot().toPath(), 4);
+	}
+
+	private void assertWorkFilesDeleted() {
+		File[] files = folder.getRoot().listFiles();
+		Assert.assertNotNull(files);
+		Assert.assertEquals(0, files.length);
+	}
+}
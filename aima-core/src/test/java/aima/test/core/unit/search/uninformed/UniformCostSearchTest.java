@@ -9,11 +9,15 @@ import aima.core.search.agent.SearchAgent;
 import aima.core.search.framework.SearchForActions;
 import aima.core.search.framework.problem.GeneralProblem;
 import aima.core.search.framework.problem.Problem;
+import aima.core.search.framework.qsearch.GraphSearch;
+import aima.core.search.framework.qsearch.GraphSearchReducedFrontier;
 import aima.core.search.framework.qsearch.QueueSearch;
+import aima.core.search.framework.qsearch.TreeSearch;
 import aima.core.search.uninformed.UniformCostSearch;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -100,4 +104,45 @@ public class UniformCostSearchTest {
 				actions.toString());
 		Assert.assertEquals("5.5", search.getMetrics().get(QueueSearch.METRIC_PATH_COST));
 	}
+
+	@Test
+	public void testIndexedFrontier() throws Exception {
+		ExtendableMap map = new ExtendableMap();
+		map.addBidirectionalLink("start", "b", 2.5);
+		map.addBidirectionalLink("start", "c", 1.0);
+		map.addBidirectionalLink("b", "d", 2.0);
+		map.addBidirectionalLink("c", "d", 4.0);
+		map.addBidirectionalLink("c", "e", 1.0);
+		map.addBidirectionalLink("d", "goal", 1.0);
+		map.addBidirectionalLink("e", "goal", 5.0);
+		Problem<String, MoveToAction> problem = new GeneralProblem<>("start", MapFunctions.createActionsFunction(map),
+				MapFunctions.createResultFunction(), Predicate.isEqual("goal"),
+				MapFunctions.createDistanceStepCostFunction(map));
+
+		for (QueueSearch<String, MoveToAction> impl : Arrays.<QueueSearch<String, MoveToAction>>asList
+				(new GraphSearch<>(), new GraphSearchReducedFrontier<>())) {
+			SearchForActions<String, MoveToAction> search = new UniformCostSearch<>(impl, true);
+			List<MoveToAction> actions = search.findActions(problem).orElse(null);
+			Assert.assertEquals(
+					"[Action[name=moveTo, location=b], Action[name=moveTo, location=d], Action[name=moveTo, location=goal]]",
+					String.valueOf(actions));
+			Assert.assertEquals("5.5", search.getMetrics().get(QueueSearch.METRIC_PATH_COST));
+		}
+	}
+
+	@Test
+	public void testIndexedFrontierWithTreeSearch() {
+		Map romaniaMap = new SimplifiedRoadMapOfRomania();
+		Problem<String, MoveToAction> problem = new GeneralProblem<>(SimplifiedRoadMapOfRomania.ARAD,
+				MapFunctions.createActionsFunction(romaniaMap), MapFunctions.createResultFunction(),
+				Predicate.isEqual(SimplifiedRoadMapOfRomania.BUCHAREST),
+				MapFunctions.createDistanceStepCostFunction(romaniaMap));
+		// worse duplicates of queued states are rejected by the frontier
+		SearchForActions<String, MoveToAction> search = new UniformCostSearch<>(new TreeSearch<>(), true);
+		List<MoveToAction> actions = search.findActions(problem).orElse(null);
+		Assert.assertEquals(
+				"[Action[name=moveTo, location=Sibiu], Action[name=moveTo, location=RimnicuVilcea], Action[name=moveTo, location=Pitesti], Action[name=moveTo, location=Bucharest]]",
+				String.valueOf(actions));
+		Assert.assertEquals("418.0", search.getMetrics().get(QueueSearch.METRIC_PATH_COST));
+	}
 }
@@ -0,0 +1,107 @@
+package aima.test.core.unit.util.datastructure;
+
+import aima.core.util.datastructure.AdaptivePriorityQueue;
+import aima.core.util.datastructure.BucketPriorityQueue;
+import aima.core.util.datastructure.BucketPriorityQueue.TieBreaking;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BucketPriorityQueueTest {
+
+	// elements are {priority, tie key, id}
+	private static BucketPriorityQueue<int[]> createQueue(TieBreaking tieBreaking, boolean lifo) {
+		BucketPriorityQueue<int[]> queue = new BucketPriorityQueue<>(e -> e[0], e -> e[1], tieBreaking, lifo);
+		queue.add(new int[] { 5, 2, 0 });
+		queue.add(new int[] { 3, 1, 1 });
+		queue.add(new int[] { 3, 2, 2 });
+		queue.add(new int[] { 3, 1, 3 });
+		queue.add(new int[] { 7, 0, 4 });
+		return queue;
+	}
+
+	private static List<Integer> pollIds(BucketPriorityQueue<int[]> queue) {
+		List<Integer> result = new ArrayList<>();
+		while (!queue.isEmpty())
+			result.add(queue.poll()[2]);
+		return result;
+	}
+
+	@Test
+	public void testTieBreaking() {
+		Assert.assertEquals(Arrays.asList(2, 1, 3, 0, 4), pollIds(createQueue(TieBreaking.HIGH_FIRST, false)));
+		Assert.assertEquals(Arrays.asList(2, 3, 1, 0, 4), pollIds(createQueue(TieBreaking.HIGH_FIRST, true)));
+		Assert.assertEquals(Arrays.asList(1, 3, 2, 0, 4), pollIds(createQueue(TieBreaking.LOW_FIRST, false)));
+		Assert.assertEquals(Arrays.asList(1, 2, 3, 0, 4), pollIds(createQueue(TieBreaking.NONE, false)));
+	}
+
+	@Test
+	public void testInsertBelowCursor() {
+		BucketPriorityQueue<int[]> queue = createQueue(TieBreaking.NONE, false);
+		Assert.assertEquals(1, queue.poll()[2]);
+		queue.add(new int[] { 1, 0, 5 });
+		Assert.assertEquals(5, queue.peek()[2]);
+		Assert.assertEquals(5, queue.size());
+		Assert.assertEquals(5, queue.poll()[2]);
+	}
+
+	@Test
+	public void testRemoveAndClear() {
+		BucketPriorityQueue<int[]> queue = createQueue(TieBreaking.HIGH_FIRST, false);
+		int[] element = queue.peek();
+		Assert.assertTrue(queue.remove(element));
+		Assert.assertFalse(queue.remove(element));
+		Assert.assertEquals(4, queue.size());
+		int count = 0;
+		for (int[] e : queue)
+			count++;
+		Assert.assertEquals(4, count);
+		queue.clear();
+		Assert.assertNull(queue.poll());
+		queue.add(new int[] { 4, 0, 6 });
+		Assert.assertEquals(6, queue.poll()[2]);
+	}
+
+	@Test
+	public void testSparseTieKeys() {
+		for (TieBreaking tieBreaking : new TieBreaking[] { TieBreaking.HIGH_FIRST, TieBreaking.LOW_FIRST }) {
+			BucketPriorityQueue<int[]> queue = new BucketPriorityQueue<>(e -> e[0], e -> e[1], tieBreaking, false);
+			queue.add(new int[] { 2, 4096, 0 });
+			queue.add(new int[] { 2, 3, 1 });
+			queue.add(new int[] { 2, BucketPriorityQueue.MAX_PRIORITY, 2 });
+			queue.add(new int[] { 2, 3, 3 });
+			int[] element = new int[] { 2, 512, 4 };
+			queue.add(element);
+			Assert.assertTrue(queue.remove(element));
+			List<Integer> expected = tieBreaking == TieBreaking.HIGH_FIRST
+					? Arrays.asList(2, 0, 1, 3) : Arrays.asList(1, 3, 0, 2);
+			Assert.assertEquals(expected, pollIds(queue));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativePriority() {
+		createQueue(TieBreaking.NONE, false).add(new int[] { -1, 0, 0 });
+	}
+
+	@Test
+	public void testAdaptiveFallback() {
+		// elements are {priority, tie key, id}
+		AdaptivePriorityQueue<double[]> queue = new AdaptivePriorityQueue<>(e -> e[0], e -> e[1],
+				TieBreaking.HIGH_FIRST, true);
+		queue.add(new double[] { 3, 1, 0 });
+		queue.add(new double[] { 3, 2, 1 });
+		queue.add(new double[] { 1, 0, 2 });
+		Assert.assertTrue(queue.usesBuckets());
+		queue.add(new double[] { Double.POSITIVE_INFINITY, 0, 3 });
+		queue.add(new double[] { 2.5, 0, 4 });
+		Assert.assertFalse(queue.usesBuckets());
+		List<Integer> ids = new ArrayList<>();
+		while (!queue.isEmpty())
+			ids.add((int) queue.poll()[2]);
+		Assert.assertEquals(Arrays.asList(2, 4, 1, 0, 3), ids);
+	}
+}
@@ -0,0 +1,68 @@
+package aima.test.core.unit.util.datastructure;
+
+import aima.core.util.datastructure.IndexedPriorityQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class IndexedPriorityQueueTest {
+
+	private static IndexedPriorityQueue<String> createQueue() {
+		// elements are "key:priority", keys are compared by the first character
+		return new IndexedPriorityQueue<>(Comparator.comparingInt(IndexedPriorityQueueTest::priority),
+				s -> s.charAt(0));
+	}
+
+	private static int priority(String s) {
+		return Integer.parseInt(s.substring(2));
+	}
+
+	@Test
+	public void testDecreaseKey() {
+		IndexedPriorityQueue<String> queue = createQueue();
+		queue.add("a:5");
+		queue.add("b:3");
+		queue.add("c:4");
+		Assert.assertFalse(queue.offer("a:7"));
+		Assert.assertTrue(queue.offer("a:1"));
+		Assert.assertEquals(3, queue.size());
+		Assert.assertEquals("a:1", queue.get('a'));
+		Assert.assertEquals("a:1", queue.poll());
+		Assert.assertEquals("b:3", queue.poll());
+		Assert.assertEquals("c:4", queue.poll());
+		Assert.assertNull(queue.poll());
+	}
+
+	@Test
+	public void testRemove() {
+		IndexedPriorityQueue<String> queue = createQueue();
+		queue.add("a:5");
+		queue.add("b:3");
+		queue.add("c:4");
+		Assert.assertFalse(queue.remove("b:4"));
+		Assert.assertTrue(queue.contains("b:3"));
+		Assert.assertTrue(queue.remove("b:3"));
+		Assert.assertFalse(queue.containsKey('b'));
+		Assert.assertEquals("c:4", queue.peek());
+		Assert.assertEquals(2, queue.size());
+	}
+
+	@Test
+	public void testHeapOrder() {
+		Random random = new Random(42);
+		IndexedPriorityQueue<Integer> queue = new IndexedPriorityQueue<>(Comparator.naturalOrder(), i -> i);
+		for (int i = 0; i < 1000; i++)
+			queue.add(random.nextInt(500));
+		for (int i = 0; i < 100; i++)
+			queue.remove(random.nextInt(500));
+		List<Integer> polled = new ArrayList<>();
+		while (!queue.isEmpty())
+			polled.add(queue.poll());
+		for (int i = 1; i < polled.size(); i++)
+			Assert.assertTrue(polled.get(i - 1) < polled.get(i));
+	}
+}
@@ -4,6 +4,7 @@ import aima.core.agent.Action;
 import aima.core.environment.eightpuzzle.*;
 import aima.core.search.framework.Node;
 import aima.core.search.agent.SearchAgent;
+import aima.core.search.framework.BatchSolver;
 import aima.core.search.framework.SearchForActions;
 import aima.core.search.framework.problem.Problem;
 import aima.core.search.framework.qsearch.GraphSearch;
@@ -13,6 +14,7 @@ import aima.core.search.local.SimulatedAnnealingSearch;
 import aima.core.search.uninformed.DepthLimitedSearch;
 import aima.core.search.uninformed.IterativeDeepeningSearch;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.function.ToDoubleFunction;
@@ -109,6 +111,7 @@ public class EightPuzzleDemo {
 		//eightPuzzleAStarManhattanDemo();
 		//eightPuzzleAStarEpsilonWeightedManhattanDemo();
 		//eightPuzzleSimulatedAnnealingDemo();
+		//eightPuzzleBatchDemo();
 		
 		for (int[] board : boards) {
 			inicial = new EightPuzzleBoard(board);
@@ -116,6 +119,19 @@ public class EightPuzzleDemo {
 			runTest(EightPuzzleFunctions::getEpsilonWeightedManhattanDistance);
 		}
 	}
+
+	private static void eightPuzzleBatchDemo() {
+		System.out.println("\nEightPuzzleDemo AStar Search (EpsilonWeightedManhattanHeursitic), all boards in parallel");
+		int threads = Runtime.getRuntime().availableProcessors();
+		try (BatchSolver<EightPuzzleBoard, Action> solver = new BatchSolver<>(() -> new AStarSearch<>
+				(new GraphSearch<>(), EightPuzzleFunctions::getEpsilonWeightedManhattanDistance), threads)) {
+			BatchSolver.Statistics stats = solver.solve(Arrays.stream(boards).map(board ->
+					new BidirectionalEightPuzzleProblem(new EightPuzzleBoard(board))), System.out::println);
+			System.out.println(stats);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
 	
 	private static void runTest(ToDoubleFunction<Node<EightPuzzleBoard, Action>> heuristicFunc) {
 		try {
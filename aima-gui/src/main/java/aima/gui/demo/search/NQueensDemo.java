@@ -1,5 +1,6 @@
 package aima.gui.demo.search;
 
+import aima.core.environment.nqueens.ConflictCountingNQueensBoard;
 import aima.core.environment.nqueens.NQueensBoard;
 import aima.core.environment.nqueens.NQueensBoard.Config;
 import aima.core.environment.nqueens.NQueensFunctions;
@@ -45,6 +46,7 @@ public class NQueensDemo {
 		//solveNQueensWithIterativeDeepeningSearch();
 		//solveNQueensWithSimulatedAnnealingSearch();
 		//solveNQueensWithHillClimbingSearch();
+		//solveLargeNQueensWithMinConflictsSimulatedAnnealing(10000);
 		//solveNQueensWithGeneticAlgorithmSearch();
 		//solveNQueensWithRandomWalk();
 		
@@ -162,6 +164,20 @@ public class NQueensDemo {
 		System.out.println("Final State:\n" + search.getLastState());
 	}
 
+	private static void solveLargeNQueensWithMinConflictsSimulatedAnnealing(int size) {
+		System.out.println("\n--- NQueensDemo Simulated Annealing (min-conflicts, " + size + " queens) ---");
+
+		Problem<ConflictCountingNQueensBoard, QueenAction> problem =
+				NQueensFunctions.createMinConflictsProblem(size, Config.QUEEN_IN_EVERY_COL_ROW);
+		SimulatedAnnealingSearch<ConflictCountingNQueensBoard, QueenAction> search =
+				new SimulatedAnnealingSearch<>(NQueensFunctions::getNumberOfConflicts,
+						new Scheduler(20, 0.045, 100000));
+		Optional<ConflictCountingNQueensBoard> state = search.findState(problem);
+
+		System.out.println(search.getMetrics());
+		System.out.println("Solved: " + state.isPresent());
+	}
+
 	private static void solveNQueensWithHillClimbingSearch() {
 		System.out.println("\n--- NQueensDemo HillClimbing ---");
 